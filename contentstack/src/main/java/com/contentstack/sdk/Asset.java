@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Asset class to fetch files details on Contentstack server.
@@ -34,7 +35,10 @@ public class Asset {
     protected ArrayMap<String, Object> headerGroupLocal;
     protected Stack stackInstance;
     private CachePolicy cachePolicyForCall = CachePolicy.IGNORE_CACHE;
-    private final long MAX_CACHE_TIME_FOR_CALL = 0;
+    protected long deadline = 0;
+    protected long cacheTTL = 0;
+    private FetchResultCallback updateListener;
+    protected boolean revalidating = false;
 
     protected Asset() {
         this.headerGroupLocal = new ArrayMap<>();
@@ -357,6 +361,75 @@ public class Asset {
         this.cachePolicyForCall = cachePolicy;
     }
 
+    /**
+     * Sets a deadline for the next network call of this {@link Asset}. When it expires the request is cancelled;
+     * with {@link CachePolicy#NETWORK_ELSE_CACHE} or {@link CachePolicy#CACHE_ELSE_NETWORK} the cached response
+     * is delivered instead, otherwise the callback receives a timeout error.
+     *
+     * @param duration deadline, 0 for the {@link Config} timeouts.
+     * @param timeUnit unit of the deadline.
+     * @return {@link Asset} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * Asset assetObject = stack.asset("assetUid");
+     * assetObject.setCachePolicy(NETWORK_ELSE_CACHE);
+     * assetObject.setDeadline(2, TimeUnit.SECONDS);
+     * </pre>
+     */
+    public Asset setDeadline(long duration, TimeUnit timeUnit) {
+        this.deadline = timeUnit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets how long the cached response of this {@link Asset} stays fresh for {@link CachePolicy#CACHE_ELSE_NETWORK}
+     * and {@link CachePolicy#CACHE_ONLY}, and how long the cache file is kept. It overrides the TTL set
+     * with {@link Config#setCacheTTL(long, TimeUnit)}.
+     *
+     * @param duration time to live, 0 for the {@link Config} TTL.
+     * @param timeUnit unit of the duration.
+     * @return {@link Asset} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * Asset assetObject = stack.asset("assetUid");
+     * assetObject.setCachePolicy(CACHE_ELSE_NETWORK);
+     * assetObject.setCacheTTL(7, TimeUnit.DAYS);
+     * </pre>
+     */
+    public Asset setCacheTTL(long duration, TimeUnit timeUnit) {
+        this.cacheTTL = timeUnit.toMillis(Math.max(0, duration));
+        return this;
+    }
+
+    long getCacheTTL() {
+        return cacheTTL > 0 ? cacheTTL : stackInstance.getCacheTTL(null);
+    }
+
+    /**
+     * Sets the callback notified when {@link CachePolicy#STALE_WHILE_REVALIDATE} has served {@link #fetch(FetchResultCallback)}
+     * from the cache and the background network call brings a different asset. It is not called when the asset is unchanged.
+     *
+     * @param listener {@link FetchResultCallback} instance notified once this {@link Asset} holds the changed asset.
+     * @return {@link Asset} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * Asset asset = stack.asset("assetUid");
+     * asset.setCachePolicy(STALE_WHILE_REVALIDATE);
+     * asset.setUpdateListener(new FetchResultCallback() {
+     * &#64;Override
+     * public void onCompletion(ResponseType responseType, Error error) {
+     * }
+     * });
+     * </pre>
+     */
+    public Asset setUpdateListener(FetchResultCallback listener) {
+        this.updateListener = listener;
+        return this;
+    }
+
     /**
      * Fetch a particular asset using uid.
      *
@@ -384,13 +457,12 @@ public class Asset {
             if (headers.containsKey("environment")) {
                 urlQueries.put("environment", headers.get("environment"));
             }
-            String mainStringForMD5 = urlEndpoint + new JSONObject().toString() + headers.toString();
-            String shaValue = new SDKUtil().getSHAFromString(mainStringForMD5.trim());
-            File cacheFile = new File(SDKConstant.cacheFolderName + File.separator + shaValue);
+            File cacheFile = CacheKey.file(urlEndpoint, urlQueries, headers);
 
             switch (cachePolicyForCall) {
                 case IGNORE_CACHE:
                 case NETWORK_ONLY:
+                case LOCAL_STORE_ELSE_NETWORK:
                     fetchFromNetwork(urlEndpoint, urlQueries, headers, cacheFile.getPath(), callback);
                     break;
                 case CACHE_ONLY:
@@ -399,7 +471,7 @@ public class Asset {
                 case CACHE_ELSE_NETWORK:
                     if (cacheFile.exists()) {
                         boolean needToSendCall = false;
-                        needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) MAX_CACHE_TIME_FOR_CALL);
+                        needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
                         if (needToSendCall) {
                             fetchFromNetwork(urlEndpoint, urlQueries, headers, cacheFile.getPath(), callback);
                         } else {
@@ -416,6 +488,15 @@ public class Asset {
                     fetchFromNetwork(urlEndpoint, urlQueries, headers, cacheFile.getPath(), callback);
                     break;
 
+                case STALE_WHILE_REVALIDATE:
+                    if (cacheFile.exists() && !ModelCache.getInstance().isExpired(cacheFile, getCacheTTL())) {
+                        setCacheModel(cacheFile, callback);
+                        revalidate(urlEndpoint, headers, cacheFile);
+                    } else {
+                        fetchFromNetwork(urlEndpoint, urlQueries, headers, cacheFile.getPath(), callback);
+                    }
+                    break;
+
                 case NETWORK_ELSE_CACHE:
                     if (SDKConstant.IS_NETWORK_AVAILABLE) {
                         fetchFromNetwork(urlEndpoint, urlQueries, headers, cacheFile.getPath(), callback);
@@ -440,11 +521,27 @@ public class Asset {
     }
 
 
+    /**
+     * Refreshes the cache file served by {@link CachePolicy#STALE_WHILE_REVALIDATE}; a changed asset goes to the update listener.
+     */
+    private void revalidate(String URL, ArrayMap<String, Object> headers, File cacheFile) {
+        if (!SDKConstant.IS_NETWORK_AVAILABLE) {
+            return;
+        }
+        revalidating = true;
+        try {
+            HashMap<String, Object> urlParams = getUrlParams(urlQueries);
+            new CSBackgroundTask(this, stackInstance, SDKController.GET_ASSETS, URL, headers, urlParams, new JSONObject(), cacheFile.getPath(), SDKConstant.callController.ASSET.toString(), false, SDKConstant.RequestMethod.GET, updateListener);
+        } finally {
+            revalidating = false;
+        }
+    }
+
     private void fetchFromCache(File cacheFile, FetchResultCallback callback) {
         Error error = null;
         if (cacheFile.exists()) {
             boolean needToSendCall = false;
-            needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) MAX_CACHE_TIME_FOR_CALL);
+            needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
             if (needToSendCall) {
                 error = new Error();
                 error.setErrorMessage(SDKConstant.ENTRY_IS_NOT_PRESENT_IN_CACHE);
@@ -461,9 +558,17 @@ public class Asset {
         }
     }
 
+    boolean fallBackToCache(File cacheFile, FetchResultCallback callback) {
+        if ((cachePolicyForCall == CachePolicy.NETWORK_ELSE_CACHE || cachePolicyForCall == CachePolicy.CACHE_ELSE_NETWORK) && cacheFile.exists()) {
+            setCacheModel(cacheFile, callback);
+            return true;
+        }
+        return false;
+    }
+
     //Asset modeling from cache.
     private void setCacheModel(File cacheFile, FetchResultCallback callback) {
-        AssetModel model = new AssetModel(SDKUtil.getJsonFromCacheFile(cacheFile), false, true);
+        AssetModel model = ModelCache.getInstance().load(cacheFile, cacheJSON -> new AssetModel(cacheJSON, false, true));
         this.contentType = model.contentType;
         this.fileSize = model.fileSize;
         this.uploadUrl = model.uploadUrl;
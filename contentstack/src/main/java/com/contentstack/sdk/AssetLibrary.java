@@ -14,6 +14,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * AssetLibrary class to fetch all files details on Conentstack server.
@@ -30,8 +31,10 @@ public class AssetLibrary implements INotifyClass {
     private FetchAssetsCallback assetsCallback;
     private int count;
     private static CachePolicy cachePolicyForCall = CachePolicy.IGNORE_CACHE;
-    private long maxCacheTimeForCall = 0;
-    private final long defaultCacheTimeInterval = 0;
+    protected long deadline = 0;
+    protected long cacheTTL = 0;
+    private FetchAssetsCallback updateListener;
+    protected boolean revalidating = false;
 
     /**
      * Sorting order enum for {@link AssetLibrary}.
@@ -187,6 +190,74 @@ public class AssetLibrary implements INotifyClass {
         this.cachePolicyForCall = cachePolicy;
     }
 
+    /**
+     * Sets a deadline for the next network call of this {@link AssetLibrary}. When it expires the request is cancelled;
+     * with {@link CachePolicy#NETWORK_ELSE_CACHE} or {@link CachePolicy#CACHE_ELSE_NETWORK} the cached response
+     * is delivered instead, otherwise the callback receives a timeout error.
+     *
+     * @param duration deadline, 0 for the {@link Config} timeouts.
+     * @param timeUnit unit of the deadline.
+     * @return {@link AssetLibrary} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * AssetLibrary assetLibObject = stack.assetLibrary();
+     * assetLibObject.setCachePolicy(NETWORK_ELSE_CACHE);
+     * assetLibObject.setDeadline(2, TimeUnit.SECONDS);
+     * </pre>
+     */
+    public AssetLibrary setDeadline(long duration, TimeUnit timeUnit) {
+        this.deadline = timeUnit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets how long the cached response of this {@link AssetLibrary} stays fresh for {@link CachePolicy#CACHE_ELSE_NETWORK}
+     * and {@link CachePolicy#CACHE_ONLY}, and how long the cache file is kept. It overrides the TTL set
+     * with {@link Config#setCacheTTL(long, TimeUnit)}.
+     *
+     * @param duration time to live, 0 for the {@link Config} TTL.
+     * @param timeUnit unit of the duration.
+     * @return {@link AssetLibrary} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * AssetLibrary assetLibObject = stack.assetLibrary();
+     * assetLibObject.setCachePolicy(CACHE_ELSE_NETWORK);
+     * assetLibObject.setCacheTTL(1, TimeUnit.HOURS);
+     * </pre>
+     */
+    public AssetLibrary setCacheTTL(long duration, TimeUnit timeUnit) {
+        this.cacheTTL = timeUnit.toMillis(Math.max(0, duration));
+        return this;
+    }
+
+    long getCacheTTL() {
+        return cacheTTL > 0 ? cacheTTL : stackInstance.getCacheTTL(null);
+    }
+
+    /**
+     * Sets the callback notified when {@link CachePolicy#STALE_WHILE_REVALIDATE} has served {@link #fetchAll(FetchAssetsCallback)}
+     * from the cache and the background network call brings different assets. It is not called when the assets are unchanged.
+     *
+     * @param listener {@link FetchAssetsCallback} instance notified with the changed assets.
+     * @return {@link AssetLibrary} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * AssetLibrary assetLibObject = stack.assetLibrary();
+     * assetLibObject.setCachePolicy(STALE_WHILE_REVALIDATE);
+     * assetLibObject.setUpdateListener(new FetchAssetsCallback() {
+     * public void onCompletion(ResponseType responseType, List<Asset> assets, Error error) {
+     * }
+     * });
+     * </pre>
+     */
+    public AssetLibrary setUpdateListener(FetchAssetsCallback listener) {
+        this.updateListener = listener;
+        return this;
+    }
+
     /**
      * Fetch a all asset.
      *
@@ -214,14 +285,13 @@ public class AssetLibrary implements INotifyClass {
             if (headers.containsKey("environment")) {
                 urlQueries.put("environment", headers.get("environment"));
             }
-            String mainStringForMD5 = URL + new JSONObject().toString() + headers.toString();
-            String shaValue = new SDKUtil().getSHAFromString(mainStringForMD5.trim());
-            File cacheFile = new File(SDKConstant.cacheFolderName + File.separator + shaValue);
+            File cacheFile = CacheKey.file(URL, urlQueries, headers);
             switch (cachePolicyForCall) {
                 case IGNORE_CACHE:
                     fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
                     break;
                 case NETWORK_ONLY:
+                case LOCAL_STORE_ELSE_NETWORK:
                     fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
                     break;
                 case CACHE_ONLY:
@@ -230,7 +300,7 @@ public class AssetLibrary implements INotifyClass {
                 case CACHE_ELSE_NETWORK:
                     if (cacheFile.exists()) {
                         boolean needToSendCall = false;
-                        needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
+                        needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
                         if (needToSendCall) {
                             fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
                         } else {
@@ -246,6 +316,14 @@ public class AssetLibrary implements INotifyClass {
                     }
                     fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
                     break;
+                case STALE_WHILE_REVALIDATE:
+                    if (cacheFile.exists() && !ModelCache.getInstance().isExpired(cacheFile, getCacheTTL())) {
+                        setCacheModel(cacheFile, assetsCallback);
+                        revalidate(URL, headers, cacheFile);
+                    } else {
+                        fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
+                    }
+                    break;
                 case NETWORK_ELSE_CACHE:
                     if (SDKConstant.IS_NETWORK_AVAILABLE) {
                         fetchFromNetwork(URL, urlQueries, headers, cacheFile.getPath(), assetsCallback);
@@ -260,10 +338,67 @@ public class AssetLibrary implements INotifyClass {
         }
     }
 
+    /**
+     * Fetch all assets, delivering each {@link Asset} as soon as it is read from the response.
+     * <br>
+     * The response is parsed as a stream, so large pages never sit in memory as a whole. Streaming calls
+     * always go to the network and are not written to the cache.
+     *
+     * @param callback {@link AssetStreamCallback} instance for each asset and the final result.
+     *
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 AssetLibrary assetLibObject = Contentstack.stack(context, "apiKey", "deliveryToken",  config).assetLibrary();
+     *                 assetLibObject.fetchAllStreaming(new AssetStreamCallback() {
+     *                 public void onAsset(Asset asset) {
+     *                 //Called once per asset.
+     *                 }
+     *                 public void onCompletion(ResponseType responseType, int count, Error error) {
+     *                 if (error == null) {
+     *                 //Success Block.
+     *                 } else {
+     *                 //Error Block.
+     *                 }
+     *                 }
+     *                 });
+     *                 </pre>
+     */
+    public void fetchAllStreaming(AssetStreamCallback callback) {
+        try {
+            String URL = "/" + stackInstance.VERSION + "/assets";
+            ArrayMap<String, Object> headers = getHeader(localHeader);
+            if (headers.containsKey("environment")) {
+                urlQueries.put("environment", headers.get("environment"));
+            }
+            if (callback != null) {
+                HashMap<String, Object> urlParams = getUrlParams(urlQueries);
+                new CSBackgroundTask(this, stackInstance, SDKController.GET_ALL_ASSETS_STREAM, URL, headers, urlParams, new JSONObject(), null, SDKConstant.callController.ASSET_LIBRARY.toString(), false, SDKConstant.RequestMethod.GET, callback);
+            }
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.toString());
+        }
+    }
+
     private void fetchFromNetwork(String URL, JSONObject urlQueries, ArrayMap<String, Object> headers, String cacheFilePath, FetchAssetsCallback callback) {
         if (callback != null) {
             HashMap<String, Object> urlParams = getUrlParams(urlQueries);
-            new CSBackgroundTask(this, stackInstance, SDKController.GET_ALL_ASSETS, URL, headers, urlParams, new JSONObject(), cacheFilePath, SDKConstant.callController.ASSET_LIBRARY.toString(), false, SDKConstant.RequestMethod.GET, assetsCallback);
+            new CSBackgroundTask(this, stackInstance, SDKController.GET_ALL_ASSETS, URL, headers, urlParams, new JSONObject(), cacheFilePath, SDKConstant.callController.ASSET_LIBRARY.toString(), false, SDKConstant.RequestMethod.GET, callback);
+        }
+    }
+
+    /**
+     * Refreshes the cache file served by {@link CachePolicy#STALE_WHILE_REVALIDATE}; changed assets go to the update listener.
+     */
+    private void revalidate(String URL, ArrayMap<String, Object> headers, File cacheFile) {
+        if (!SDKConstant.IS_NETWORK_AVAILABLE) {
+            return;
+        }
+        revalidating = true;
+        try {
+            HashMap<String, Object> urlParams = getUrlParams(urlQueries);
+            new CSBackgroundTask(this, stackInstance, SDKController.GET_ALL_ASSETS, URL, headers, urlParams, new JSONObject(), cacheFile.getPath(), SDKConstant.callController.ASSET_LIBRARY.toString(), false, SDKConstant.RequestMethod.GET, updateListener);
+        } finally {
+            revalidating = false;
         }
     }
 
@@ -271,7 +406,7 @@ public class AssetLibrary implements INotifyClass {
         Error error = null;
         if (cacheFile.exists()) {
             boolean needToSendCall = false;
-            needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
+            needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
             if (needToSendCall) {
                 error = new Error();
                 error.setErrorMessage(SDKConstant.ENTRY_IS_NOT_PRESENT_IN_CACHE);
@@ -288,37 +423,53 @@ public class AssetLibrary implements INotifyClass {
         }
     }
 
+    boolean fallBackToCache(File cacheFile, FetchAssetsCallback callback) {
+        if ((cachePolicyForCall == CachePolicy.NETWORK_ELSE_CACHE || cachePolicyForCall == CachePolicy.CACHE_ELSE_NETWORK) && cacheFile.exists()) {
+            setCacheModel(cacheFile, callback);
+            return true;
+        }
+        return false;
+    }
+
     //Asset modeling from cache.
     private void setCacheModel(File cacheFile, FetchAssetsCallback callback) {
 
-        AssetsModel assetsModel = new AssetsModel(SDKUtil.getJsonFromCacheFile(cacheFile), true);
+        AssetsModel assetsModel = ModelCache.getInstance().load(cacheFile, cacheJSON -> new AssetsModel(cacheJSON, true));
         List<Object> objectList = assetsModel.objects;
         assetsModel = null;
         count = objectList.size();
         List<Asset> assets = new ArrayList<Asset>();
         if (objectList.size() > 0) {
             for (Object object : objectList) {
-                AssetModel model = (AssetModel) object;
-                Asset asset = stackInstance.asset();
-
-                asset.contentType = model.contentType;
-                asset.fileSize = model.fileSize;
-                asset.uploadUrl = model.uploadUrl;
-                asset.fileName = model.fileName;
-                asset.json = model.json;
-                asset.assetUid = model.uploadedUid;
-                asset.setTags(model.tags);
-                model = null;
-                assets.add(asset);
+                assets.add(getAsset((AssetModel) object));
             }
         }
 
-        if (assetsCallback != null) {
-            assetsCallback.onRequestFinish(ResponseType.CACHE, assets);
+        if (callback != null) {
+            callback.onRequestFinish(ResponseType.CACHE, assets);
         }
     }
 
 
+    Asset getAsset(AssetModel model) {
+        Asset asset = stackInstance.asset();
+        asset.contentType = model.contentType;
+        asset.fileSize = model.fileSize;
+        asset.uploadUrl = model.uploadUrl;
+        asset.fileName = model.fileName;
+        asset.json = model.json;
+        asset.assetUid = model.uploadedUid;
+        asset.setTags(model.tags);
+        return asset;
+    }
+
+    void getStreamResult(JSONObject jsonObject, int streamedCount, AssetStreamCallback callback) {
+        count = jsonObject != null && jsonObject.has("count") ? jsonObject.optInt("count") : streamedCount;
+        if (callback != null) {
+            callback.onRequestFinish(ResponseType.NETWORK, streamedCount);
+        }
+    }
+
     private HashMap<String, Object> getUrlParams(JSONObject urlQueriesJSON) {
 
         HashMap<String, Object> hashMap = new HashMap<>();
@@ -389,6 +540,13 @@ public class AssetLibrary implements INotifyClass {
 
     @Override
     public void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry) {
+        getResultObject(objects, jsonObject, assetsCallback);
+    }
+
+    /**
+     * Delivers a network result to the callback of the request it answers.
+     */
+    void getResultObject(List<Object> objects, JSONObject jsonObject, ResultCallBack callback) {
 
         if (jsonObject != null && jsonObject.has("count")) {
             count = jsonObject.optInt("count");
@@ -396,23 +554,12 @@ public class AssetLibrary implements INotifyClass {
         List<Asset> assets = new ArrayList<Asset>();
         if (objects != null && objects.size() > 0) {
             for (Object object : objects) {
-                AssetModel model = (AssetModel) object;
-                Asset asset = stackInstance.asset();
-
-                asset.contentType = model.contentType;
-                asset.fileSize = model.fileSize;
-                asset.uploadUrl = model.uploadUrl;
-                asset.fileName = model.fileName;
-                asset.json = model.json;
-                asset.assetUid = model.uploadedUid;
-                asset.setTags(model.tags);
-                model = null;
-                assets.add(asset);
+                assets.add(getAsset((AssetModel) object));
             }
         }
 
-        if (assetsCallback != null) {
-            assetsCallback.onRequestFinish(ResponseType.NETWORK, assets);
+        if (callback instanceof FetchAssetsCallback) {
+            ((FetchAssetsCallback) callback).onRequestFinish(ResponseType.NETWORK, assets);
         }
     }
 
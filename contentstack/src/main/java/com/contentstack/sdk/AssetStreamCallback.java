@@ -0,0 +1,34 @@
+package com.contentstack.sdk;
+
+/**
+ * Callback for {@link AssetLibrary#fetchAllStreaming(AssetStreamCallback)}.
+ * <br>
+ * {@link #onAsset(Asset)} is called once per asset as soon as it is read from the response,
+ * followed by a single {@link #onCompletion(ResponseType, int, Error)}.
+ *
+ * @author Contentstack.com, Inc
+ */
+public abstract class AssetStreamCallback extends ResultCallBack {
+
+    public abstract void onAsset(Asset asset);
+
+    public abstract void onCompletion(ResponseType responseType, int count, Error error);
+
+    void onRequestItem(Asset asset) {
+        onAsset(asset);
+    }
+
+    void onRequestFinish(ResponseType responseType, int count) {
+        onCompletion(responseType, count, null);
+    }
+
+    @Override
+    void onRequestFail(ResponseType responseType, Error error) {
+        onCompletion(responseType, 0, error);
+    }
+
+    @Override
+    void always() {
+
+    }
+}
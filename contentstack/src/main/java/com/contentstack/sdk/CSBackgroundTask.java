@@ -21,6 +21,7 @@ class CSBackgroundTask {
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(queryInstance);
                 csConnectionRequest.setQueryInstance(queryInstance);
                 csConnectionRequest.setURLQueries(urlQueries);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -39,6 +40,7 @@ class CSBackgroundTask {
 
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(entryInstance);
                 csConnectionRequest.setURLQueries(urlQueries);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callBack);
 
             } else {
@@ -56,7 +58,9 @@ class CSBackgroundTask {
                 String URL = stackInstance.PROTOCOL + stackInstance.URL + url;
 
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(assetLibrary);
+                csConnectionRequest.setAssetLibraryInstance(assetLibrary);
                 csConnectionRequest.setURLQueries(urlQueries);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -75,6 +79,7 @@ class CSBackgroundTask {
 
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(asset);
                 csConnectionRequest.setURLQueries(urlQueries);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -96,6 +101,7 @@ class CSBackgroundTask {
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(stack);
                 csConnectionRequest.setStackInstance(stack);
                 csConnectionRequest.setURLQueries(urlParams);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -117,6 +123,7 @@ class CSBackgroundTask {
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(contentType);
                 csConnectionRequest.setContentTypeInstance(contentType);
                 csConnectionRequest.setURLQueries(urlParams);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -137,6 +144,7 @@ class CSBackgroundTask {
                 CSConnectionRequest csConnectionRequest = new CSConnectionRequest(globalField);
                 csConnectionRequest.setGlobalFieldInstance(globalField);
                 csConnectionRequest.setURLQueries(urlParams);
+                csConnectionRequest.setTransport(stackInstance.getTransport());
                 csConnectionRequest.setParams(URL, method, controller, jsonMain, headers, cacheFilePath, requestInfo, callback);
 
             } else {
@@ -6,7 +6,7 @@ import android.util.ArrayMap;
 import org.json.JSONObject;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.net.HttpURLConnection;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,9 +31,11 @@ class CSConnectionRequest implements IRequestModelHTTP {
     private String requestInfo;
     private ResultCallBack callBackObject;
     private CSHttpConnection connection;
+    private IHttpTransport transport;
     private JSONObject responseJSON;
     private INotifyClass notifyClass;
     private INotifyClass assetLibrary;
+    private AssetLibrary assetLibraryInstance;
 
     private Stack stackInstance;
     private Entry entryInstance;
@@ -44,6 +46,9 @@ class CSConnectionRequest implements IRequestModelHTTP {
     private GlobalField globalFieldInstance;
     private JSONObject errorJObject;
     private Error errorObject = new Error();
+    private int streamedCount = 0;
+    private boolean revalidation = false;
+    private boolean unchanged = false;
 
     public CSConnectionRequest() {
     }
@@ -76,6 +81,10 @@ class CSConnectionRequest implements IRequestModelHTTP {
         this.queryInstance = queryInstance;
     }
 
+    public void setAssetLibraryInstance(AssetLibrary assetLibraryInstance) {
+        this.assetLibraryInstance = assetLibraryInstance;
+    }
+
     public void setURLQueries(HashMap<String, Object> urlQueries) {
         this.urlQueries = urlQueries;
     }
@@ -117,6 +126,10 @@ class CSConnectionRequest implements IRequestModelHTTP {
         sendRequest();
     }
 
+    public void setTransport(IHttpTransport transport) {
+        this.transport = transport;
+    }
+
     @Override
     public void sendRequest() {
         connection = new CSHttpConnection(urlToCall, this);
@@ -131,12 +144,170 @@ class CSConnectionRequest implements IRequestModelHTTP {
         }
 
         connection.setRequestMethod(method);
+        connection.setTransport(transport);
+        connection.setDeadline(getDeadline());
+        revalidation = isRevalidation();
+        if (controller.equalsIgnoreCase(SDKController.GET_QUERY_ENTRIES_STREAM)) {
+            connection.setStreamListener("entries", this::onStreamItem);
+        } else if (controller.equalsIgnoreCase(SDKController.GET_ALL_ASSETS_STREAM)) {
+            connection.setStreamListener("assets", this::onStreamItem);
+        }
+        if (cacheFileName != null && method == SDKConstant.RequestMethod.GET) {
+            setValidatorsFromCache();
+        }
         connection.send();
 
     }
 
+    /**
+     * Revalidates the cached response instead of downloading it again: its <code>ETag</code> and
+     * <code>Last-Modified</code> are sent with the request, and on a 304 the cached response is kept.
+     * Only the header of the cache record is read here; the cached response is loaded on a 304.
+     */
+    private void setValidatorsFromCache() {
+        File cacheFile = new File(cacheFileName);
+        JSONObject pending = CacheWriter.getInstance().getPending(cacheFile);
+        String eTag;
+        String lastModified;
+        if (pending != null) {
+            eTag = pending.optString(CacheRecord.ETAG, null);
+            lastModified = pending.optString(CacheRecord.LAST_MODIFIED, null);
+        } else {
+            CacheRecord header = cacheFile.exists() ? CacheRecord.readHeader(cacheFile) : null;
+            if (header == null) {
+                return;
+            }
+            eTag = header.eTag;
+            lastModified = header.lastModified;
+        }
+        if (eTag != null || lastModified != null) {
+            connection.setValidators(eTag, lastModified);
+        }
+    }
+
+    /**
+     * @return the response in the cache file, or null if there is none.
+     */
+    private JSONObject readCachedResponse() {
+        File cacheFile = new File(cacheFileName);
+        JSONObject cacheJSON = CacheWriter.getInstance().getPending(cacheFile) != null || cacheFile.exists()
+                ? CacheRecord.readJSON(cacheFile) : null;
+        return cacheJSON != null ? cacheJSON.optJSONObject("response") : null;
+    }
+
+    private void onStreamItem(JSONObject item) {
+        streamedCount++;
+        if (controller.equalsIgnoreCase(SDKController.GET_QUERY_ENTRIES_STREAM)) {
+            EntryModel model = new EntryModel(item, null, true, false, false);
+            if (queryInstance != null && callBackObject != null) {
+                ((EntryStreamCallback) callBackObject).onRequestItem(queryInstance.getEntry(model));
+            }
+        } else if (controller.equalsIgnoreCase(SDKController.GET_ALL_ASSETS_STREAM)) {
+            AssetModel model = new AssetModel(item, true, false);
+            if (assetLibraryInstance != null && callBackObject != null) {
+                ((AssetStreamCallback) callBackObject).onRequestItem(assetLibraryInstance.getAsset(model));
+            }
+        }
+    }
+
+    private long getDeadline() {
+        if (queryInstance != null) {
+            return queryInstance.deadline;
+        } else if (entryInstance != null) {
+            return entryInstance.deadline;
+        } else if (assetInstance != null) {
+            return assetInstance.deadline;
+        } else if (assetLibraryInstance != null) {
+            return assetLibraryInstance.deadline;
+        } else if (stackInstance != null && SDKController.GET_SYNC.equalsIgnoreCase(controller)) {
+            return stackInstance.syncDeadline;
+        }
+        return 0;
+    }
+
+    /**
+     * @return TTL set on the call, 0 if the {@link Config} TTLs apply.
+     */
+    private long getCacheTTL() {
+        if (queryInstance != null) {
+            return queryInstance.cacheTTL;
+        } else if (entryInstance != null) {
+            return entryInstance.cacheTTL;
+        } else if (assetInstance != null) {
+            return assetInstance.cacheTTL;
+        } else if (assetLibraryInstance != null) {
+            return assetLibraryInstance.cacheTTL;
+        }
+        return 0;
+    }
+
+    /**
+     * @return true if this request refreshes a response {@link CachePolicy#STALE_WHILE_REVALIDATE} already served from the cache.
+     */
+    private boolean isRevalidation() {
+        if (queryInstance != null) {
+            return queryInstance.revalidating;
+        } else if (entryInstance != null) {
+            return entryInstance.revalidating;
+        } else if (assetInstance != null) {
+            return assetInstance.revalidating;
+        } else if (assetLibraryInstance != null) {
+            return assetLibraryInstance.revalidating;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the response is the one in the cache, by its validators or else by its content.
+     */
+    private boolean isUnchanged(CSHttpConnection request) {
+        if (request.isNotModified()) {
+            return true;
+        }
+        JSONObject cachedResponse = cacheFileName != null && responseJSON != null ? readCachedResponse() : null;
+        return cachedResponse != null && responseJSON != null && cachedResponse.toString().equals(responseJSON.toString());
+    }
+
+    private boolean isTimeout(JSONObject error) {
+        JSONObject errors = error != null ? error.optJSONObject("errors") : null;
+        return errors != null && errors.optString("errors").endsWith("TimeoutError");
+    }
+
+    /**
+     * Serves a timed out request from its cache file when the caller's {@link CachePolicy} allows it.
+     *
+     * @return true if the cached response was delivered instead of the error.
+     */
+    private boolean fallBackToCache() {
+        if (cacheFileName == null) {
+            return false;
+        }
+        File cacheFile = new File(cacheFileName);
+        if (!cacheFile.exists()) {
+            return false;
+        }
+        if (queryInstance != null) {
+            return queryInstance.fallBackToCache(cacheFile, callBackObject);
+        } else if (entryInstance != null) {
+            return entryInstance.fallBackToCache(cacheFile, (EntryResultCallBack) callBackObject);
+        } else if (assetInstance != null) {
+            return assetInstance.fallBackToCache(cacheFile, (FetchResultCallback) callBackObject);
+        } else if (assetLibraryInstance != null) {
+            return assetLibraryInstance.fallBackToCache(cacheFile, (FetchAssetsCallback) callBackObject);
+        }
+        return false;
+    }
+
     @Override
     public void onRequestFailed(JSONObject error, int statusCode, ResultCallBack callBackObject) {
+        if (revalidation) {
+            // the cached response was delivered already and stays in place
+            SDKUtil.showLog(TAG, "revalidation of " + urlToCall + " failed: " + statusCode);
+            return;
+        }
+        if (isTimeout(error) && fallBackToCache()) {
+            return;
+        }
 
         String errorMessage = null;
         int errorCode = statusCode;
@@ -186,21 +357,48 @@ class CSConnectionRequest implements IRequestModelHTTP {
 
     @Override
     public void onRequestFinished(CSHttpConnection request) {
-        responseJSON = request.getResponse();
+        if (request.isNotModified()) {
+            // 304, the cached response is still current; rewriting it below refreshes its timestamp
+            responseJSON = cacheFileName != null ? readCachedResponse() : null;
+            if (responseJSON == null) {
+                request.generateBuiltError(HttpURLConnection.HTTP_NOT_MODIFIED, null, "ServerError", null);
+                return;
+            }
+        } else {
+            responseJSON = request.getResponse();
+        }
+        unchanged = revalidation && isUnchanged(request);
         String controller = request.getController();
         if (cacheFileName != null) {
             createFileIntoCacheDir(responseJSON);
         }
+        if (unchanged) {
+            // served from the cache already, the update listener only hears about changes
+            return;
+        }
         if (controller.equalsIgnoreCase(SDKController.GET_QUERY_ENTRIES)) {
             EntriesModel model = new EntriesModel(responseJSON, null, false);
             notifyClass.getResult(model.formName, null);
-            notifyClass.getResultObject(model.objectList, responseJSON, false);
+            if (queryInstance != null) {
+                queryInstance.getResultObject(model.objectList, responseJSON, false, request.getCallBackObject());
+            } else {
+                notifyClass.getResultObject(model.objectList, responseJSON, false);
+            }
             model = null;
 
+        } else if (controller.equalsIgnoreCase(SDKController.GET_QUERY_ENTRIES_STREAM)) {
+            if (queryInstance != null) {
+                queryInstance.getStreamResult(responseJSON, streamedCount, (EntryStreamCallback) request.getCallBackObject());
+            }
+
         } else if (controller.equalsIgnoreCase(SDKController.SINGLE_QUERY_ENTRIES)) {
             EntriesModel model = new EntriesModel(responseJSON, null, false);
             notifyClass.getResult(model.formName, null);
-            notifyClass.getResultObject(model.objectList, responseJSON, true);
+            if (queryInstance != null) {
+                queryInstance.getResultObject(model.objectList, responseJSON, true, request.getCallBackObject());
+            } else {
+                notifyClass.getResultObject(model.objectList, responseJSON, true);
+            }
             model = null;
 
         } else if (controller.equalsIgnoreCase(SDKController.GET_ENTRY)) {
@@ -229,7 +427,15 @@ class CSConnectionRequest implements IRequestModelHTTP {
             AssetsModel assetsModel = new AssetsModel(responseJSON, false);
             List<Object> objectList = assetsModel.objects;
             assetsModel = null;
-            assetLibrary.getResultObject(objectList, responseJSON, false);
+            if (assetLibraryInstance != null) {
+                assetLibraryInstance.getResultObject(objectList, responseJSON, request.getCallBackObject());
+            } else {
+                assetLibrary.getResultObject(objectList, responseJSON, false);
+            }
+        } else if (controller.equalsIgnoreCase(SDKController.GET_ALL_ASSETS_STREAM)) {
+            if (assetLibraryInstance != null) {
+                assetLibraryInstance.getStreamResult(responseJSON, streamedCount, (AssetStreamCallback) request.getCallBackObject());
+            }
         } else if (controller.equalsIgnoreCase(SDKController.GET_ASSETS)) {
             AssetModel model = new AssetModel(responseJSON, false, false);
             assetInstance.contentType = model.contentType;
@@ -286,21 +492,35 @@ class CSConnectionRequest implements IRequestModelHTTP {
             if (requestInfo != null) {
                 mainJsonObj.put("classUID", requestInfo);
             }
+            if (queryInstance != null) {
+                mainJsonObj.putOpt("content_type_uid", queryInstance.getContentType());
+            } else if (entryInstance != null) {
+                mainJsonObj.putOpt("content_type_uid", entryInstance.getContentType());
+            }
+            if (getCacheTTL() > 0) {
+                mainJsonObj.put("ttl", getCacheTTL());
+            }
 
             for (Map.Entry<String, Object> entry : header.entrySet()) {
                 String key = entry.getKey();
                 headerJson.put(key, entry.getValue());
             }
             mainJsonObj.put("header", headerJson);
+            if (connection != null && connection.getETag() != null) {
+                mainJsonObj.put("etag", connection.getETag());
+            }
+            if (connection != null && connection.getLastModified() != null) {
+                mainJsonObj.put("last_modified", connection.getLastModified());
+            }
             File cacheFile = new File(cacheFileName);
-            if (cacheFile.exists()) {
-                cacheFile.delete();
+            if (unchanged || (connection != null && connection.isNotModified())) {
+                ModelCache.getInstance().touch(cacheFile, gmtTime);
+                CacheWriter.getInstance().write(cacheFile, mainJsonObj, null);
+            } else {
+                // dropped again once written, in case the old file was modeled in between
+                ModelCache.getInstance().remove(cacheFile);
+                CacheWriter.getInstance().write(cacheFile, mainJsonObj, () -> ModelCache.getInstance().remove(cacheFile));
             }
-            // deepcode ignore DontCloseInTry: <please specify a reason of ignoring this>
-            FileWriter file = new FileWriter(cacheFile);
-            file.write(mainJsonObj.toString());
-            file.flush();
-            file.close();
         } catch (Exception e) {
             Error error = new Error();
             error.setErrorMessage(SDKConstant.NETWORK_CALL_RESPONSE);
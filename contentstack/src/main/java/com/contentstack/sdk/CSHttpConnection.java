@@ -1,18 +1,16 @@
 package com.contentstack.sdk;
 
-import android.text.TextUtils;
 import android.util.ArrayMap;
 
-import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.VolleyError;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * A class that defines a query that is used to query for {@link Entry} instance.
@@ -41,8 +39,19 @@ class CSHttpConnection implements IURLRequestHTTP {
     }
 
     private HashMap<String, Object> formParams;
-    private JSONUTF8Request jsonObjectRequest;
     private boolean treatDuplicateKeysAsArrayItems;
+    private IHttpTransport transport;
+    private String url;
+    private Map<String, String> requestHeaders;
+    private String streamKey;
+    private JSONStreamParser.ItemListener streamListener;
+    private RequestCoalescer coalescer;
+    private long deadline;
+    private String requestKey;
+    private String eTag;
+    private String lastModified;
+    private boolean notModified;
+    private Runnable completionListener;
 
     public CSHttpConnection(String urlToCall, IRequestModelHTTP csConnectionRequest) {
         this.urlPath = urlToCall;
@@ -122,27 +131,19 @@ class CSHttpConnection implements IURLRequestHTTP {
 
     public String setFormParamsGET(HashMap<String, java.lang.Object> params) {
         if (params != null && params.size() > 0) {
-            String urlParams = null;
-
-            urlParams = info.equalsIgnoreCase(SDKConstant.callController.QUERY.name()) || info.equalsIgnoreCase(SDKConstant.callController.ENTRY.name()) ? getParams(params) : null;
-            if (TextUtils.isEmpty(urlParams)) {
-                for (Map.Entry<String, Object> e : params.entrySet()) {
-
-                    if (urlParams == null) {
-                        urlParams = "?" + e.getKey() + "=" + e.getValue();
-                    } else {
-                        urlParams += "&" + e.getKey() + "=" + e.getValue();
-                    }
-                }
-            }
-            return urlParams;
+            UrlBuilder builder = appendParams(new UrlBuilder("", params.size() * 32), params);
+            return builder.isEmpty() ? null : builder.build();
         }
         return null;
     }
 
 
-    private String getParams(HashMap<String, Object> params) {
-        String urlParams = "?";
+    /**
+     * Appends the params to the builder. For queries and entries the <code>include[]</code>,
+     * <code>only</code> and <code>except</code> params are expanded to one parameter per field.
+     */
+    private UrlBuilder appendParams(UrlBuilder builder, HashMap<String, Object> params) {
+        boolean expand = info != null && (info.equalsIgnoreCase(SDKConstant.callController.QUERY.name()) || info.equalsIgnoreCase(SDKConstant.callController.ENTRY.name()));
         for (Map.Entry<String, Object> e : params.entrySet()) {
 
             String key = e.getKey();
@@ -150,61 +151,20 @@ class CSHttpConnection implements IURLRequestHTTP {
 
             try {
 
-                if (key.equalsIgnoreCase("include[]")) {
-                    key = URLEncoder.encode(key, "UTF-8");
-                    JSONArray array = (JSONArray) value;
-
-                    for (int i = 0; i < array.length(); i++) {
-                        urlParams += urlParams.equals("?") ? key + "=" + array.opt(i) : "&" + key + "=" + array.opt(i);
-                    }
-
-                } else if (key.equalsIgnoreCase("only[BASE][]")) {
-                    key = URLEncoder.encode(key, "UTF-8");
-                    JSONArray array = (JSONArray) value;
-
-                    for (int i = 0; i < array.length(); i++) {
-                        urlParams += urlParams.equals("?") ? key + "=" + array.opt(i) : "&" + key + "=" + array.opt(i);
-                    }
-                } else if (key.equalsIgnoreCase("except[BASE][]")) {
-                    key = URLEncoder.encode(key, "UTF-8");
-                    JSONArray array = (JSONArray) value;
-
-                    for (int i = 0; i < array.length(); i++) {
-                        urlParams += urlParams.equals("?") ? key + "=" + array.opt(i) : "&" + key + "=" + array.opt(i);
-                    }
-                } else if (key.equalsIgnoreCase("only")) {
-                    JSONObject onlyJSON = (JSONObject) value;
+                if (expand && (key.equalsIgnoreCase("include[]") || key.equalsIgnoreCase("only[BASE][]") || key.equalsIgnoreCase("except[BASE][]"))) {
+                    appendArray(builder, key, (JSONArray) value);
 
-                    Iterator<String> iter = onlyJSON.keys();
-                    while (iter.hasNext()) {
-                        String innerKey = iter.next();
-                        JSONArray array = (JSONArray) onlyJSON.optJSONArray(innerKey);
-                        innerKey = URLEncoder.encode("only[" + innerKey + "][]", "UTF-8");
-                        for (int i = 0; i < array.length(); i++) {
-                            urlParams += urlParams.equals("?") ? innerKey + "=" + array.opt(i) : "&" + innerKey + "=" + array.opt(i);
-                        }
-                    }
+                } else if (expand && (key.equalsIgnoreCase("only") || key.equalsIgnoreCase("except"))) {
+                    JSONObject fieldsJSON = (JSONObject) value;
 
-                } else if (key.equalsIgnoreCase("except")) {
-                    JSONObject onlyJSON = (JSONObject) value;
-
-                    Iterator<String> iter = onlyJSON.keys();
+                    Iterator<String> iter = fieldsJSON.keys();
                     while (iter.hasNext()) {
                         String innerKey = iter.next();
-                        JSONArray array = (JSONArray) onlyJSON.optJSONArray(innerKey);
-                        innerKey = URLEncoder.encode("except[" + innerKey + "][]", "UTF-8");
-                        for (int i = 0; i < array.length(); i++) {
-                            urlParams += urlParams.equals("?") ? innerKey + "=" + array.opt(i) : "&" + innerKey + "=" + array.opt(i);
-                        }
+                        appendArray(builder, key + "[" + innerKey + "][]", fieldsJSON.optJSONArray(innerKey));
                     }
 
-                } else if (key.equalsIgnoreCase("query")) {
-                    JSONObject queryJSON = (JSONObject) value;
-
-                    urlParams += urlParams.equals("?") ? key + "=" + URLEncoder.encode(queryJSON.toString(), "UTF-8") : "&" + key + "=" + URLEncoder.encode(queryJSON.toString(), "UTF-8");
-
                 } else {
-                    urlParams += urlParams.equals("?") ? key + "=" + value : "&" + key + "=" + value;
+                    builder.append(key, value);
                 }
 
             } catch (Exception e1) {
@@ -212,22 +172,22 @@ class CSHttpConnection implements IURLRequestHTTP {
             }
         }
 
-        return urlParams;
+        return builder;
+    }
+
+    private void appendArray(UrlBuilder builder, String key, JSONArray array) {
+        for (int i = 0; i < array.length(); i++) {
+            builder.append(key, array.opt(i));
+        }
     }
 
 
     @Override
     public void send() {
         String url = null;
-        int requestId = getRequestId(requestMethod);
         final HashMap<String, String> headers = new HashMap<>();
-        if (requestMethod == SDKConstant.RequestMethod.GET) {
-            String params = setFormParamsGET(formParams);
-            if (params != null) {
-                url = urlPath + params;
-            } else {
-                url = urlPath;
-            }
+        if (requestMethod == SDKConstant.RequestMethod.GET && formParams != null && formParams.size() > 0) {
+            url = appendParams(new UrlBuilder(urlPath, formParams.size() * 32), formParams).build();
         } else {
             url = urlPath;
         }
@@ -239,90 +199,286 @@ class CSHttpConnection implements IURLRequestHTTP {
         headers.put("Content-Type", "application/json");
         headers.put("User-Agent", defaultUserAgent());
         headers.put("X-User-Agent", "contentstack-delivery-android/" + SDKConstant.SDK_VERSION);
-        jsonObjectRequest = new JSONUTF8Request(requestId, url, requestJSON, response -> {
-            this.responseJSON = response;
-            if (this.responseJSON != null) {
-                connectionRequest.onRequestFinished(CSHttpConnection.this);
+        if (requestMethod == SDKConstant.RequestMethod.GET) {
+            if (eTag != null) {
+                headers.put("If-None-Match", eTag);
             }
-        }, this::generateBuiltError) {
-            @Override
-            public Map<String, String> getHeaders() {
-                return headers;
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
             }
-        };
-        jsonObjectRequest.setRetryPolicy(new DefaultRetryPolicy(SDKConstant.TimeOutDuration, SDKConstant.NumRetry, SDKConstant.BackOFMultiplier));
-        jsonObjectRequest.setShouldCache(false);
-        Contentstack.addToRequestQueue(SDKConstant.PROTOCOL, jsonObjectRequest, info);
+        }
+        this.url = url;
+        this.requestHeaders = headers;
+        getTransport().execute(this);
+    }
+
+    protected void setTransport(IHttpTransport transport) {
+        this.transport = transport;
+    }
+
+    protected IHttpTransport getTransport() {
+        return transport != null ? transport : OkHttpTransport.getDefault();
     }
 
+    protected String getUrl() {
+        return url;
+    }
+
+    protected Map<String, String> getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    protected JSONObject getRequestJSON() {
+        return requestJSON;
+    }
+
+    /**
+     * Streams the given top level array of the response to the listener instead of keeping it in
+     * {@link #getResponse()}.
+     *
+     * @param streamKey top level array to stream, for example <code>entries</code>.
+     * @param listener  receives each element of the array on the delivery thread.
+     */
+    protected void setStreamListener(String streamKey, JSONStreamParser.ItemListener listener) {
+        this.streamKey = streamKey;
+        this.streamListener = listener;
+    }
+
+    protected String getStreamKey() {
+        return streamKey;
+    }
+
+    /**
+     * Total time allowed for this request, after which it is cancelled and reported as a TimeoutError.
+     *
+     * @param deadline deadline in milliseconds, 0 for the transport's default.
+     */
+    protected void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    protected long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Key identifying identical requests: method, url, headers and body.
+     *
+     * @return SHA-256 of the request, available once {@link #send()} was called.
+     */
+    protected String getRequestKey() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(requestMethod).append(' ').append(url);
+        if (requestHeaders != null) {
+            builder.append(new TreeMap<>(requestHeaders));
+        }
+        if (requestMethod != SDKConstant.RequestMethod.GET && requestJSON != null) {
+            builder.append(requestJSON);
+        }
+        return new SDKUtil().getSHAFromString(builder.toString());
+    }
+
+    /**
+     * Validators of the cached response, sent as <code>If-None-Match</code> and <code>If-Modified-Since</code>
+     * so the server can answer 304 instead of the full body. Only used for GET requests.
+     *
+     * @param eTag         <code>ETag</code> of the cached response, or null.
+     * @param lastModified <code>Last-Modified</code> of the cached response, or null.
+     */
+    protected void setValidators(String eTag, String lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return <code>ETag</code> of the response, to be stored with it in the cache.
+     */
+    protected String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return <code>Last-Modified</code> of the response, to be stored with it in the cache.
+     */
+    protected String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return true if the server answered 304 and the cached response is still current.
+     */
+    protected boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Called by the {@link IHttpTransport} with the validators of a full response, before it is delivered.
+     */
+    void setResponseValidators(String eTag, String lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Runs once when the response, a 304 or an error is delivered, before the request is notified.
+     */
+    void setCompletionListener(Runnable completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    private void complete() {
+        Runnable listener = completionListener;
+        completionListener = null;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    void setCoalescer(RequestCoalescer coalescer, String requestKey) {
+        this.coalescer = coalescer;
+        this.requestKey = requestKey;
+    }
+
+    /**
+     * Called by a streaming {@link IHttpTransport} on the delivery thread for each element of the streamed array.
+     *
+     * @param item one element of the array named by {@link #getStreamKey()}
+     */
+    void onTransportItem(JSONObject item) {
+        if (streamListener != null) {
+            streamListener.onItem(item);
+        }
+    }
+
+    /**
+     * Called by the {@link IHttpTransport} on the delivery thread once the response body is parsed.
+     * Transports that do not stream deliver the full response here; the streamed array is then
+     * split out so the listener sees the same calls either way.
+     *
+     * @param response parsed response body
+     */
+    void onTransportResponse(JSONObject response) {
+        complete();
+        if (coalescer != null && response != null) {
+            coalescer.onResponse(this, requestKey, response);
+        }
+        if (streamKey != null && response != null && response.opt(streamKey) instanceof JSONArray) {
+            JSONArray items = (JSONArray) response.remove(streamKey);
+            for (int i = 0; i < items.length(); i++) {
+                if (items.opt(i) instanceof JSONObject) {
+                    onTransportItem(items.optJSONObject(i));
+                }
+            }
+        }
+        this.responseJSON = response;
+        if (this.responseJSON != null) {
+            connectionRequest.onRequestFinished(CSHttpConnection.this);
+        }
+    }
+
+
+    /**
+     * Called by the {@link IHttpTransport} on the delivery thread when the request was cancelled with
+     * {@link IHttpTransport#cancelAll(String)}. The request is not notified.
+     */
+    void onTransportCancelled() {
+        complete();
+    }
+
+    /**
+     * Called by the {@link IHttpTransport} on the delivery thread when the server answered 304 Not Modified.
+     * The validators sent with the request stay valid unless the server sent new ones.
+     *
+     * @param eTag         <code>ETag</code> of the 304 response, or null.
+     * @param lastModified <code>Last-Modified</code> of the 304 response, or null.
+     */
+    void onTransportNotModified(String eTag, String lastModified) {
+        complete();
+        if (coalescer != null) {
+            coalescer.onNotModified(this, requestKey, eTag, lastModified);
+        }
+        if (eTag != null) {
+            this.eTag = eTag;
+        }
+        if (lastModified != null) {
+            this.lastModified = lastModified;
+        }
+        this.notModified = true;
+        connectionRequest.onRequestFinished(CSHttpConnection.this);
+    }
 
     private String defaultUserAgent() {
         String agent = System.getProperty("http.agent");
         return agent != null ? agent : ("Android" + System.getProperty("java.version"));
     }
 
-    private int getRequestId(SDKConstant.RequestMethod requestMethod) {
-        switch (requestMethod) {
-            case GET:
-                return 0;
-            case POST:
-                return 1;
-            case PUT:
-                return 2;
-            case DELETE:
-                return 3;
-            default:
-                return 1;
+    void generateBuiltError(VolleyError error) {
+        if (error == null) {
+            generateBuiltError(0, null, null, null);
+        } else if (error.networkResponse != null) {
+            generateBuiltError(error.networkResponse.statusCode, error.networkResponse.data, error.toString(), error.getMessage());
+        } else {
+            generateBuiltError(0, null, error.toString(), error.getMessage());
         }
     }
 
-    private void generateBuiltError(VolleyError error) {
+    /**
+     * Builds the error JSON passed to {@link IRequestModelHTTP#onRequestFailed(JSONObject, int, ResultCallBack)}.
+     *
+     * @param statusCode http status code, 0 when no response was received
+     * @param data       raw error response body, if any
+     * @param errorType  transport error name such as NoConnectionError or TimeoutError, null when unknown
+     * @param message    transport error message
+     */
+    void generateBuiltError(int statusCode, byte[] data, String errorType, String message) {
+        complete();
+        if (coalescer != null) {
+            coalescer.onError(this, requestKey, statusCode, data, errorType, message);
+        }
         try {
-            int statusCode = 0;
             responseJSON = new JSONObject();
             responseJSON.put("error_message", SDKConstant.ERROR_MESSAGE_DEFAULT);
 
-            if (error != null) {
+            if (errorType != null || data != null) {
 
                 try {
-                    if (error.networkResponse != null && error.networkResponse.data != null) {
-                        statusCode = error.networkResponse.statusCode;
-                        String responseBody = new String(error.networkResponse.data, "utf-8");
-                        responseJSON = responseBody != null ? new JSONObject(responseBody) : new JSONObject();
+                    if (data != null) {
+                        String responseBody = new String(data, "utf-8");
+                        responseJSON = new JSONObject(responseBody);
 
                     } else {
-                        if (error.toString().equalsIgnoreCase("NoConnectionError")) {
+                        if (errorType.equalsIgnoreCase("NoConnectionError")) {
 
                             responseJSON.put("error_message", SDKConstant.CONNECTION_ERROR);
 
-                        } else if (error.toString().equalsIgnoreCase("AuthFailureError")) {
+                        } else if (errorType.equalsIgnoreCase("AuthFailureError")) {
 
                             responseJSON.put("error_message", SDKConstant.AUTHENTICATION_NOT_PRESENT);
 
-                        } else if (error.toString().equalsIgnoreCase("NetworkError")) {
+                        } else if (errorType.equalsIgnoreCase("NetworkError")) {
 
                             responseJSON.put("error_message", SDKConstant.NOT_AVAILABLE);
 
-                        } else if (error.toString().equalsIgnoreCase("ParseError")) {
+                        } else if (errorType.equalsIgnoreCase("ParseError")) {
 
                             responseJSON.put("error_message", SDKConstant.PARSING_ERROR);
 
-                        } else if (error.toString().equalsIgnoreCase("ServerError")) {
+                        } else if (errorType.equalsIgnoreCase("ServerError")) {
 
                             responseJSON.put("error_message", SDKConstant.TRY_AGAIN);
 
-                        } else if (error.toString().equalsIgnoreCase("TimeoutError")) {
+                        } else if (errorType.equalsIgnoreCase("TimeoutError")) {
 
                             responseJSON.put("error_message", SDKConstant.TRY_AGAIN);
 
                         } else {
-                            if (error.getMessage() != null) {
-                                responseJSON.put("error_message", error.getMessage());
+                            if (message != null) {
+                                responseJSON.put("error_message", message);
                             }
                         }
 
                         JSONObject jsonObject = new JSONObject();
-                        jsonObject.put("errors", error.toString());
+                        jsonObject.put("errors", errorType);
                         responseJSON.put("errors", jsonObject);
 
                     }
@@ -0,0 +1,297 @@
+package com.contentstack.sdk;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the <code>ContentstackCache</code> folder within a size budget.
+ * <p>
+ * A small in-memory index holds the size, timestamp and content type of every cache file, ordered by last
+ * access. It is built once from the record headers and then kept up to date as files are written and read,
+ * so the folder is never scanned again. After every write the files past their TTL are deleted, looked up
+ * in expiry order, and, while the folder is over {@link Config#setDiskCacheSize(long)}, the least recently
+ * used ones.
+ * <p>
+ * Reads of cache files are recorded without waiting for the index, and applied to the access order before
+ * the next eviction. A sweep scans the folder and migrates plain JSON files without holding the index.
+ * <p>
+ * The TTL of a file is the one set on the call, such as {@link Query#setCacheTTL(long, TimeUnit)}, which is
+ * stored in the record; else the one set with {@link Config#setCacheTTL(String, long, TimeUnit)} for its
+ * content type; else {@link Config#setCacheTTL(long, TimeUnit)}.
+ *
+ * @author contentstack.com, Inc
+ */
+class CacheEvictor {
+
+    private static final String TAG = CacheEvictor.class.getSimpleName();
+    static final long DEFAULT_MAX_SIZE = 20 * 1024 * 1024;
+    static final long DEFAULT_TTL = TimeUnit.HOURS.toMillis(24);
+    private static final long TEMP_FILE_AGE = TimeUnit.HOURS.toMillis(1);
+
+    private static CacheEvictor instance;
+
+    private long maxSize;
+    private long defaultTTL = DEFAULT_TTL;
+    private Map<String, Long> ttlByContentType = new HashMap<>();
+    private volatile File folder;
+    private LinkedHashMap<String, IndexEntry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final TreeSet<IndexEntry> byExpiry = new TreeSet<>(new Comparator<IndexEntry>() {
+        @Override
+        public int compare(IndexEntry a, IndexEntry b) {
+            int compared = Long.compare(a.expiresAt, b.expiresAt);
+            return compared != 0 ? compared : a.file.getName().compareTo(b.file.getName());
+        }
+    });
+    // reads not yet applied to the access order, by file name, with the order they happened in
+    private final ConcurrentHashMap<String, Long> accessed = new ConcurrentHashMap<>();
+    private final AtomicLong accesses = new AtomicLong();
+    private long size = 0;
+
+    private static class IndexEntry {
+        final File file;
+        final long size;
+        final long timestamp;
+        final long ttl;
+        final String contentTypeUid;
+        final boolean record;
+        long expiresAt;
+
+        IndexEntry(File file, long size, CacheRecord header, boolean record) {
+            this.file = file;
+            this.size = size;
+            this.timestamp = header.timestamp;
+            this.ttl = header.ttl;
+            this.contentTypeUid = header.contentTypeUid;
+            this.record = record;
+        }
+    }
+
+    CacheEvictor(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    static synchronized CacheEvictor getInstance() {
+        if (instance == null) {
+            instance = new CacheEvictor(DEFAULT_MAX_SIZE);
+        }
+        return instance;
+    }
+
+    /**
+     * Applies the budget and TTLs of a {@link Config}; the last stack configured wins.
+     */
+    synchronized void configure(long maxSize, long defaultTTL, Map<String, Long> ttlByContentType) {
+        this.maxSize = maxSize;
+        this.defaultTTL = defaultTTL;
+        this.ttlByContentType = new HashMap<>(ttlByContentType);
+        byExpiry.clear();
+        for (IndexEntry entry : index.values()) {
+            entry.expiresAt = expiresAt(entry);
+            byExpiry.add(entry);
+        }
+    }
+
+    /**
+     * Indexes the folder again from the file headers, evicts what is expired or over budget and migrates
+     * the plain JSON files that are kept. Only installing the new index and evicting hold the index; the
+     * folder is read and the files migrated without it.
+     *
+     * @param folder cache folder.
+     */
+    void sweep(File folder) {
+        File absolute = folder.getAbsoluteFile();
+        List<IndexEntry> scanned = scan(absolute);
+        List<File> legacy = new ArrayList<>();
+        synchronized (this) {
+            install(absolute, scanned);
+            evict();
+            for (IndexEntry entry : index.values()) {
+                if (!entry.record) {
+                    legacy.add(entry.file);
+                }
+            }
+        }
+        for (File file : legacy) {
+            // files cached before the binary format are rewritten once
+            if (file.exists() && CacheRecord.migrate(file)) {
+                ModelCache.getInstance().remove(file);
+                CacheRecord header = CacheRecord.readHeader(file);
+                synchronized (this) {
+                    if (index.containsKey(file.getName())) {
+                        remove(file.getName());
+                        if (header != null) {
+                            put(new IndexEntry(file, file.length(), header, true));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Called once a cache file is written; evicts what the write made expired or over budget.
+     *
+     * @param file   cache file.
+     * @param record record written to it.
+     */
+    synchronized void onWritten(File file, CacheRecord record) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (folder == null || !folder.equals(parent)) {
+            install(parent, scan(parent));
+        } else {
+            remove(file.getName());
+            File absolute = file.getAbsoluteFile();
+            put(new IndexEntry(absolute, absolute.length(), record, true));
+        }
+        evict();
+    }
+
+    /**
+     * Marks a cache file as used, moving it to the end of the eviction order before the next eviction.
+     * Never waits for the index.
+     */
+    void onAccess(File file) {
+        File indexed = folder;
+        if (indexed != null && indexed.equals(file.getAbsoluteFile().getParentFile())) {
+            accessed.put(file.getName(), accesses.incrementAndGet());
+        }
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized int count() {
+        return index.size();
+    }
+
+    /**
+     * @param contentTypeUid content type of a cached response; null for assets and other calls.
+     * @return TTL of the response in milliseconds.
+     */
+    synchronized long getTTL(String contentTypeUid) {
+        Long ttl = contentTypeUid != null ? ttlByContentType.get(contentTypeUid) : null;
+        return ttl != null ? ttl : defaultTTL;
+    }
+
+    /**
+     * Reads the headers of the cache files in a folder, least recently written first, as the access order of
+     * earlier runs is not known. Temp files left behind by interrupted writes are deleted.
+     */
+    private static List<IndexEntry> scan(File folder) {
+        List<IndexEntry> scanned = new ArrayList<>();
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return scanned;
+        }
+        List<File> sorted = new ArrayList<>();
+        Collections.addAll(sorted, files);
+        Collections.sort(sorted, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        long now = System.currentTimeMillis();
+        for (File file : sorted) {
+            if (file.getName().endsWith(CacheRecord.TEMP_SUFFIX) && now - file.lastModified() > TEMP_FILE_AGE) {
+                // left behind by a write that was interrupted
+                file.delete();
+            }
+            if (!isCacheFile(file)) {
+                continue;
+            }
+            CacheRecord header = CacheRecord.readHeader(file);
+            if (header != null) {
+                scanned.add(new IndexEntry(file, file.length(), header, CacheRecord.isRecord(file)));
+            }
+        }
+        return scanned;
+    }
+
+    private void install(File folder, List<IndexEntry> scanned) {
+        index = new LinkedHashMap<>(16, 0.75f, true);
+        byExpiry.clear();
+        accessed.clear();
+        size = 0;
+        for (IndexEntry entry : scanned) {
+            put(entry);
+        }
+        this.folder = folder;
+    }
+
+    private static boolean isCacheFile(File file) {
+        String name = file.getName();
+        return file.isFile() && !name.endsWith(CacheRecord.TEMP_SUFFIX)
+                && !name.equalsIgnoreCase("Session") && !name.equalsIgnoreCase("Installation");
+    }
+
+    private void put(IndexEntry entry) {
+        entry.expiresAt = expiresAt(entry);
+        index.put(entry.file.getName(), entry);
+        byExpiry.add(entry);
+        size += entry.size;
+    }
+
+    private void remove(String name) {
+        IndexEntry entry = index.remove(name);
+        if (entry != null) {
+            byExpiry.remove(entry);
+            size -= entry.size;
+        }
+    }
+
+    private long expiresAt(IndexEntry entry) {
+        long ttl = entry.ttl > 0 ? entry.ttl : getTTL(entry.contentTypeUid);
+        return ttl > Long.MAX_VALUE - entry.timestamp ? Long.MAX_VALUE : entry.timestamp + ttl;
+    }
+
+    /**
+     * Applies the recorded reads to the access order, in the order they happened.
+     */
+    private void applyAccesses() {
+        if (accessed.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> reads = new ArrayList<>(accessed.entrySet());
+        Collections.sort(reads, (a, b) -> Long.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<String, Long> read : reads) {
+            accessed.remove(read.getKey(), read.getValue());
+            index.get(read.getKey());
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        while (!byExpiry.isEmpty() && byExpiry.first().expiresAt <= now) {
+            IndexEntry entry = byExpiry.pollFirst();
+            index.remove(entry.file.getName());
+            delete(entry, "expired");
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        applyAccesses();
+        Iterator<IndexEntry> iterator = index.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            IndexEntry entry = iterator.next();
+            iterator.remove();
+            byExpiry.remove(entry);
+            delete(entry, "over budget");
+        }
+    }
+
+    private void delete(IndexEntry entry, String reason) {
+        size -= entry.size;
+        ModelCache.getInstance().remove(entry.file);
+        if (entry.file.delete()) {
+            SDKUtil.showLog(TAG, "evicted " + entry.file.getName() + ", " + reason);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Canonical fingerprint of a request, naming its file in the <code>ContentstackCache</code> folder.
+ * <p>
+ * Requests for the same content get the same key: parameters are ordered by name, repeated URL parameters
+ * such as <code>include[]</code> by value, and numbers are written alike whatever their type. Only headers
+ * that change the response are part of the key, so tokens and custom headers don't split the cache.
+ *
+ * @author contentstack.com, Inc
+ */
+class CacheKey {
+
+    static final Set<String> HEADERS = new HashSet<>(Arrays.asList(
+            "api_key", "environment", "branch", "locale", "x-cs-variant-uid", "x-header-ea"));
+
+    private CacheKey() {
+    }
+
+    /**
+     * @param url     endpoint of the request.
+     * @param params  URL parameters of the request, or null.
+     * @param headers headers of the request, or null.
+     * @return the cache file of the request.
+     */
+    static File file(String url, JSONObject params, Map<String, Object> headers) {
+        return new File(SDKConstant.cacheFolderName + File.separator + of(url, params, headers));
+    }
+
+    /**
+     * @return SHA-256 of the canonical form of the request.
+     */
+    static String of(String url, JSONObject params, Map<String, Object> headers) {
+        return new SDKUtil().getSHAFromString(canonical(url, params, headers));
+    }
+
+    static String canonical(String url, JSONObject params, Map<String, Object> headers) {
+        StringBuilder builder = new StringBuilder(url);
+        builder.append('?');
+        if (params != null) {
+            TreeMap<String, Object> sorted = new TreeMap<>();
+            Iterator<String> keys = params.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                sorted.put(key, params.opt(key));
+            }
+            for (Map.Entry<String, Object> param : sorted.entrySet()) {
+                builder.append(JSONObject.quote(param.getKey())).append('=');
+                appendParam(builder, param.getValue());
+                builder.append('&');
+            }
+        }
+        builder.append('\n');
+        if (headers != null) {
+            TreeMap<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<String, Object> header : headers.entrySet()) {
+                String name = header.getKey().toLowerCase(Locale.ROOT);
+                if (HEADERS.contains(name) && header.getValue() != null) {
+                    sorted.put(name, String.valueOf(header.getValue()).trim());
+                }
+            }
+            for (Map.Entry<String, String> header : sorted.entrySet()) {
+                builder.append(JSONObject.quote(header.getKey())).append(':').append(JSONObject.quote(header.getValue())).append('\n');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A top level parameter, which is sent as text; an array is sent as one parameter per value.
+     */
+    private static void appendParam(StringBuilder builder, Object value) {
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                values.add(text(array.opt(i)));
+            }
+            Collections.sort(values);
+            builder.append(values);
+        } else {
+            builder.append(text(value));
+        }
+    }
+
+    private static String text(Object value) {
+        if (value instanceof JSONObject || value instanceof JSONArray) {
+            StringBuilder builder = new StringBuilder();
+            appendJSON(builder, value);
+            return builder.toString();
+        }
+        return JSONObject.quote(value instanceof Number ? number((Number) value) : String.valueOf(value));
+    }
+
+    /**
+     * A value sent as JSON, like the <code>query</code> parameter, where the type of a value matters.
+     */
+    private static void appendJSON(StringBuilder builder, Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            TreeMap<String, Object> sorted = new TreeMap<>();
+            Iterator<String> keys = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                sorted.put(key, object.opt(key));
+            }
+            builder.append('{');
+            for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+                builder.append(JSONObject.quote(entry.getKey())).append(':');
+                appendJSON(builder, entry.getValue());
+                builder.append(',');
+            }
+            builder.append('}');
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            builder.append('[');
+            for (int i = 0; i < array.length(); i++) {
+                appendJSON(builder, array.opt(i));
+                builder.append(',');
+            }
+            builder.append(']');
+        } else if (value instanceof Number) {
+            builder.append(number((Number) value));
+        } else if (value instanceof String) {
+            builder.append(JSONObject.quote((String) value));
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * Writes 10, 10L and 10.0 alike.
+     */
+    private static String number(Number number) {
+        double value = number.doubleValue();
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
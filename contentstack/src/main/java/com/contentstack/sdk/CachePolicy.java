@@ -30,6 +30,17 @@ public enum CachePolicy {
     /**
      * To fetch data from network call and response will not be saved cache.
      */
-    IGNORE_CACHE;
+    IGNORE_CACHE,
+
+    /**
+     * To fetch data from cache while it is within its TTL and send a network call in the background ; the update listener is notified only if the response changed.
+     * If data not available in cache or it is older than its TTL then it will send a network call and response will be saved in cache.
+     */
+    STALE_WHILE_REVALIDATE,
+
+    /**
+     * To fetch entries from the {@link LocalStore} kept by sync ; if the store is disabled, not synced yet or does not support the query then it will send a network call and response will be saved in cache.
+     */
+    LOCAL_STORE_ELSE_NETWORK;
 
 }
@@ -0,0 +1,453 @@
+package com.contentstack.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary record a cached response is stored in, in the <code>ContentstackCache</code> folder.
+ * <p>
+ * A record starts with a fixed header: magic, format version, timestamp, TTL, length, uncompressed length
+ * and CRC32 of the payload. The validators, the class uid and the content type uid follow, and then the payload, which is
+ * the rest of the cache JSON (<code>url</code>, <code>params</code>, <code>response</code>,
+ * <code>header</code>) deflated. Freshness checks only read the fixed header.
+ * <p>
+ * Files written before this format are plain JSON; they are still read, and {@link #migrate(File)}
+ * rewrites them as records.
+ *
+ * @author contentstack.com, Inc
+ */
+class CacheRecord {
+
+    private static final String TAG = CacheRecord.class.getSimpleName();
+
+    static final int MAGIC = 0x43534352; // "CSCR"
+    static final int VERSION = 2;
+    static final int MAP_THRESHOLD = 64 * 1024;
+    static final String TEMP_SUFFIX = ".tmp";
+
+    static final String TIMESTAMP = "timestamp";
+    static final String TTL = "ttl";
+    static final String ETAG = "etag";
+    static final String LAST_MODIFIED = "last_modified";
+    static final String CLASS_UID = "classUID";
+    static final String CONTENT_TYPE_UID = "content_type_uid";
+
+    long timestamp;
+    long ttl;
+    String eTag;
+    String lastModified;
+    String classUID;
+    String contentTypeUid;
+    int payloadLength;
+    JSONObject payload;
+
+    /**
+     * Splits a cache JSON into a record: the header keys go to the header, everything else to the payload.
+     *
+     * @param cacheJSON cache JSON as built by {@link CSConnectionRequest}.
+     * @return the record.
+     */
+    static CacheRecord fromJSON(JSONObject cacheJSON) throws Exception {
+        CacheRecord record = new CacheRecord();
+        record.payload = copy(cacheJSON);
+        record.timestamp = record.payload.optLong(TIMESTAMP);
+        record.ttl = record.payload.optLong(TTL);
+        record.eTag = optString(record.payload, ETAG);
+        record.lastModified = optString(record.payload, LAST_MODIFIED);
+        record.classUID = optString(record.payload, CLASS_UID);
+        record.contentTypeUid = optString(record.payload, CONTENT_TYPE_UID);
+        record.payload.remove(TIMESTAMP);
+        record.payload.remove(TTL);
+        record.payload.remove(ETAG);
+        record.payload.remove(LAST_MODIFIED);
+        record.payload.remove(CLASS_UID);
+        record.payload.remove(CONTENT_TYPE_UID);
+        return record;
+    }
+
+    /**
+     * @return the cache JSON the record was made from, in the shape plain JSON cache files have.
+     */
+    JSONObject toJSON() throws Exception {
+        JSONObject cacheJSON = copy(payload);
+        cacheJSON.put(TIMESTAMP, timestamp);
+        if (ttl > 0) {
+            cacheJSON.put(TTL, ttl);
+        }
+        cacheJSON.putOpt(ETAG, eTag);
+        cacheJSON.putOpt(LAST_MODIFIED, lastModified);
+        cacheJSON.putOpt(CLASS_UID, classUID);
+        cacheJSON.putOpt(CONTENT_TYPE_UID, contentTypeUid);
+        return cacheJSON;
+    }
+
+    /**
+     * Writes the record next to the given file and renames it into place, so a crash during the write never
+     * leaves a truncated cache file behind.
+     *
+     * @param file cache file.
+     * @throws IOException if the record can't be written or renamed.
+     */
+    void write(File file) throws IOException {
+        File temp = new File(file.getPath() + TEMP_SUFFIX);
+        try {
+            writeTo(temp);
+            if (!temp.renameTo(file)) {
+                throw new IOException("can't rename " + temp.getName() + " to " + file.getName());
+            }
+        } finally {
+            if (temp.exists()) {
+                temp.delete();
+            }
+        }
+    }
+
+    private void writeTo(File file) throws IOException {
+        byte[] bytes = payload.toString().getBytes(StandardCharsets.UTF_8);
+        payloadLength = bytes.length;
+        byte[] compressed = deflate(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(compressed, 0, compressed.length);
+        FileOutputStream output = new FileOutputStream(file);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(timestamp);
+            out.writeLong(ttl);
+            out.writeInt(compressed.length);
+            out.writeInt(payloadLength);
+            out.writeInt((int) crc.getValue());
+            out.writeUTF(eTag == null ? "" : eTag);
+            out.writeUTF(lastModified == null ? "" : lastModified);
+            out.writeUTF(classUID == null ? "" : classUID);
+            out.writeUTF(contentTypeUid == null ? "" : contentTypeUid);
+            out.write(compressed);
+            out.flush();
+            output.getFD().sync();
+        }
+    }
+
+    /**
+     * Reads a record written by {@link #write(File)}.
+     *
+     * @param file cache file.
+     * @return the record, or null if the file is not a record, has an unknown version or fails its checksum.
+     */
+    static CacheRecord read(File file) {
+        try {
+            return read(map(file), file.getName());
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private static CacheRecord read(ByteBuffer buffer, String name) throws IOException, JSONException {
+        if (buffer.remaining() < 5 || buffer.getInt() != MAGIC || (buffer.get() & 0xFF) != VERSION) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer));
+        CacheRecord record = new CacheRecord();
+        record.timestamp = in.readLong();
+        record.ttl = in.readLong();
+        int length = in.readInt();
+        record.payloadLength = in.readInt();
+        int checksum = in.readInt();
+        record.eTag = emptyToNull(in.readUTF());
+        record.lastModified = emptyToNull(in.readUTF());
+        record.classUID = emptyToNull(in.readUTF());
+        record.contentTypeUid = emptyToNull(in.readUTF());
+        if (length != buffer.remaining()) {
+            SDKUtil.showLog(TAG, "truncated record " + name);
+            return null;
+        }
+        ByteBuffer compressed = buffer.slice();
+        if (checksum(compressed.duplicate()) != checksum) {
+            SDKUtil.showLog(TAG, "checksum mismatch in " + name);
+            return null;
+        }
+        record.payload = parse(new InflaterInputStream(new ByteBufferInputStream(compressed)));
+        return record;
+    }
+
+    /**
+     * Reads everything but the payload: for a record only its header, for a plain JSON cache file the whole file.
+     *
+     * @param file cache file.
+     * @return the record without payload, or null if the file is not a cache file.
+     */
+    static CacheRecord readHeader(File file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 512))) {
+            if (in.readInt() == MAGIC) {
+                if (in.readUnsignedByte() != VERSION) {
+                    return null;
+                }
+                CacheRecord record = new CacheRecord();
+                record.timestamp = in.readLong();
+                record.ttl = in.readLong();
+                in.readInt();
+                record.payloadLength = in.readInt();
+                in.readInt();
+                record.eTag = emptyToNull(in.readUTF());
+                record.lastModified = emptyToNull(in.readUTF());
+                record.classUID = emptyToNull(in.readUTF());
+                record.contentTypeUid = emptyToNull(in.readUTF());
+                return record;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        JSONObject cacheJSON = readJSON(file);
+        if (cacheJSON == null || !cacheJSON.has(TIMESTAMP)) {
+            return null;
+        }
+        try {
+            CacheRecord record = fromJSON(cacheJSON);
+            record.payload = null;
+            record.payloadLength = (int) file.length();
+            return record;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param file cache file.
+     * @return true if the file starts with the record magic; false for plain JSON and unreadable files.
+     */
+    static boolean isRecord(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the time a response was cached. For a record only the fixed header is read; plain JSON files are parsed.
+     * A write still queued in {@link CacheWriter} is used instead of the file.
+     *
+     * @param file cache file.
+     * @return the timestamp in milliseconds, or -1 if the file can't be read.
+     */
+    static long readTimestamp(File file) {
+        JSONObject pending = CacheWriter.getInstance().getPending(file);
+        if (pending != null) {
+            return pending.optLong(TIMESTAMP, -1);
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() == MAGIC) {
+                return in.readUnsignedByte() == VERSION ? in.readLong() : -1;
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        JSONObject cacheJSON = readJSON(file);
+        if (cacheJSON == null || !cacheJSON.has(TIMESTAMP)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(cacheJSON.optString(TIMESTAMP));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the length of the cached JSON before it was deflated, the heap its model takes being proportional to
+     * it. For a record only the fixed header is read; a plain JSON file is its own length.
+     * A write still queued in {@link CacheWriter} is measured instead of the file.
+     *
+     * @param file cache file.
+     * @return the length in bytes, or 0 if the file can't be read.
+     */
+    static long readPayloadLength(File file) {
+        JSONObject pending = CacheWriter.getInstance().getPending(file);
+        if (pending != null) {
+            return pending.toString().length();
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() == MAGIC) {
+                if (in.readUnsignedByte() != VERSION) {
+                    return 0;
+                }
+                in.readLong();
+                in.readLong();
+                in.readInt();
+                return in.readInt();
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+        return file.length();
+    }
+
+    /**
+     * Rewrites a plain JSON cache file as a record. Records and files that are not cache JSON are left as they are.
+     *
+     * @param file cache file.
+     * @return true if the file was rewritten.
+     */
+    static boolean migrate(File file) {
+        if (isRecord(file) || CacheWriter.getInstance().getPending(file) != null) {
+            return false;
+        }
+        JSONObject cacheJSON = readJSON(file);
+        if (cacheJSON == null || !cacheJSON.has(TIMESTAMP) || !cacheJSON.has("response")) {
+            return false;
+        }
+        try {
+            fromJSON(cacheJSON).write(file);
+            return true;
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads a cache file in either format as cache JSON; a write still queued in {@link CacheWriter} is
+     * returned instead of the file. Large files are memory mapped, and the JSON is
+     * parsed straight from the file's bytes without building the whole file as a string.
+     *
+     * @param file cache file.
+     * @return the cache JSON, or null if the file can't be read.
+     */
+    static JSONObject readJSON(File file) {
+        JSONObject pending = CacheWriter.getInstance().getPending(file);
+        if (pending != null) {
+            return pending;
+        }
+        try {
+            ByteBuffer buffer = map(file);
+            if (buffer.remaining() >= 4 && buffer.getInt(0) == MAGIC) {
+                CacheRecord record = read(buffer, file.getName());
+                return record == null ? null : record.toJSON();
+            }
+            return parse(new ByteBufferInputStream(buffer));
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Maps files of at least {@link #MAP_THRESHOLD} bytes; smaller ones are cheaper to read into the heap.
+     */
+    static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = new RandomAccessFile(file, "r").getChannel()) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    private static JSONObject parse(InputStream input) throws IOException, JSONException {
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            return new JSONStreamParser(null, null).parse(reader);
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[Math.min(8192, Math.max(1, buffer.remaining()))];
+        while (buffer.hasRemaining()) {
+            int count = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, count);
+            crc.update(chunk, 0, count);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static JSONObject copy(JSONObject json) throws JSONException {
+        JSONObject copy = new JSONObject();
+        Iterator<String> keys = json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            copy.put(key, json.opt(key));
+        }
+        return copy;
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+            out.write(data);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Reads a {@link ByteBuffer}, mapped or not, as a stream, so it can be inflated and parsed in place.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static String optString(JSONObject json, String key) {
+        Object value = json.opt(key);
+        return value == null || value == JSONObject.NULL ? null : value.toString();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,140 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for the <code>ContentstackCache</code> files.
+ * <p>
+ * Responses are handed over as cache JSON and serialised and written as a {@link CacheRecord} on a single
+ * background thread, so the thread delivering the response never waits on the disk. Until it is written
+ * a queued response is what {@link CacheRecord#readJSON(File)} returns for the file. Writes for a file
+ * that is already queued replace the queued response instead of adding another write, so at most one
+ * write per file waits, however many responses arrive for it.
+ * <p>
+ * Writes and maintenance tasks always run on the writer thread, never on the caller's thread.
+ *
+ * @author contentstack.com, Inc
+ */
+class CacheWriter {
+
+    private static final String TAG = CacheWriter.class.getSimpleName();
+
+    private static CacheWriter instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    private static class Pending {
+        final File file;
+        final JSONObject cacheJSON;
+        final Runnable onWritten;
+
+        Pending(File file, JSONObject cacheJSON, Runnable onWritten) {
+            this.file = file;
+            this.cacheJSON = cacheJSON;
+            this.onWritten = onWritten;
+        }
+    }
+
+    CacheWriter() {
+        executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+            Thread thread = new Thread(runnable, "contentstack-cache-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    static synchronized CacheWriter getInstance() {
+        if (instance == null) {
+            instance = new CacheWriter();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a response to be written to its cache file.
+     *
+     * @param file      cache file.
+     * @param cacheJSON cache JSON; not modified after this call.
+     * @param onWritten run on the writer thread once the file is in place; may be null.
+     */
+    void write(File file, JSONObject cacheJSON, Runnable onWritten) {
+        String key = file.getPath();
+        synchronized (pending) {
+            boolean queued = pending.containsKey(key);
+            pending.put(key, new Pending(file, cacheJSON, onWritten));
+            if (queued) {
+                return;
+            }
+        }
+        executor.execute(() -> flush(key));
+    }
+
+    /**
+     * @param file cache file.
+     * @return the cache JSON queued for the file, or null if nothing is waiting to be written.
+     */
+    JSONObject getPending(File file) {
+        synchronized (pending) {
+            Pending queued = pending.get(file.getPath());
+            return queued == null ? null : queued.cacheJSON;
+        }
+    }
+
+    /**
+     * Runs cache maintenance on the writer thread, after the writes queued so far.
+     */
+    void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Blocks until every write queued before this call is on disk.
+     */
+    void awaitIdle() throws InterruptedException {
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+        }
+    }
+
+    private void flush(String key) {
+        while (true) {
+            Pending next;
+            synchronized (pending) {
+                next = pending.get(key);
+            }
+            if (next == null) {
+                return;
+            }
+            try {
+                CacheRecord record = CacheRecord.fromJSON(next.cacheJSON);
+                record.write(next.file);
+                CacheEvictor.getInstance().onWritten(next.file, record);
+            } catch (Exception e) {
+                SDKUtil.showLog(TAG, "can't write " + next.file.getName() + ": " + e.getLocalizedMessage());
+            }
+            if (next.onWritten != null) {
+                next.onWritten.run();
+            }
+            synchronized (pending) {
+                // a newer response queued while this one was written goes out in the same task
+                if (pending.get(key) == next) {
+                    pending.remove(key);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -4,16 +4,14 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 
-import org.json.JSONObject;
-
 import java.io.File;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Cache clear class.
+ * <p>
+ * Runs a full {@link CacheEvictor} pass over the cache folder: files past their TTL are deleted, then the
+ * least recently used ones while the folder is over its size budget. The SDK no longer schedules it, as
+ * eviction runs after every cache write.
  *
  * @author contentstack.com, Inc
  */
@@ -28,35 +26,10 @@ public class ClearCache extends BroadcastReceiver {
         File cacheResponseFolder = new File(context.getDir("ContentstackCache", 0).getPath());
 
         if (cacheResponseFolder.isDirectory()) {
-            File[] childFiles = cacheResponseFolder.listFiles();
-            for (File child : childFiles) {
-                File file = new File(cacheResponseFolder, child.getName());
-                File sessionFile = new File(cacheResponseFolder.getPath() + File.separator + "Session");
-                File installationFile = new File(cacheResponseFolder.getPath() + File.separator + "Installation");
-                if ((file.getName().equalsIgnoreCase(sessionFile.getName())) || (file.getName().equalsIgnoreCase(installationFile.getName()))) {
-
-                } else {
-                    if (file.exists()) {
-                        JSONObject jsonObj = SDKUtil.getJsonFromCacheFile(file);
-                        if (jsonObj != null) {
-                            if (jsonObj.optString("timestamp") != null) {
-                                long responseTime = Long.parseLong(jsonObj.optString("timestamp"));
-                                Date responseDate = new Date(responseTime);
-                                Calendar cal = Calendar.getInstance();
-                                cal.setTimeZone(TimeZone.getTimeZone("UTC"));
-                                cal.setTime(new Date());
-                                Date currentDate = new Date(cal.getTimeInMillis());
-                                long hourBetween = TimeUnit.MILLISECONDS.toHours(currentDate.getTime() - responseDate.getTime());
-                                if (hourBetween >= 24) {
-                                    file.delete();
-                                }
-                            }
-                        }
-                    } else {
-                        SDKUtil.showLog("ClearCache", "--------------------no offline network calls");
-                    }
-                }
-            }
+            // off the main thread, which delivers broadcasts
+            CacheWriter.getInstance().submit(() -> CacheEvictor.getInstance().sweep(cacheResponseFolder));
+        } else {
+            SDKUtil.showLog("ClearCache", "--------------------no offline network calls");
         }
     }
 
@@ -3,6 +3,8 @@ package com.contentstack.sdk;
 import android.text.TextUtils;
 
 import java.net.Proxy;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +25,21 @@ public class Config {
     protected String[] earlyAccess = null;
     protected Proxy proxy = null;
     protected ConnectionPool connectionPool = new ConnectionPool();
+    protected Transport transport = Transport.OKHTTP;
+    protected boolean requestCoalescing = true;
+    protected boolean localStore = false;
+    protected int maxConcurrentRequests = 5;
+    protected long memoryCacheSize = ModelCache.DEFAULT_MAX_SIZE;
+    protected CacheEviction memoryCacheEviction = CacheEviction.LRU;
+    protected long diskCacheSize = CacheEvictor.DEFAULT_MAX_SIZE;
+    protected long cacheTTL = CacheEvictor.DEFAULT_TTL;
+    protected HashMap<String, Long> cacheTTLPerContentType = new HashMap<>();
+    protected EnumMap<RequestPriority, Integer> maxConcurrentPerPriority = new EnumMap<>(RequestPriority.class);
+    protected RetryPolicy retryPolicy = null;
+    protected long connectTimeout = SDKConstant.TimeOutDuration;
+    protected long readTimeout = SDKConstant.TimeOutDuration;
+    protected long callTimeout = 0;
+    protected TransferStatsListener transferStatsListener = null;
     protected String endpoint;
 
 
@@ -239,6 +256,403 @@ public class Config {
         return this.connectionPool;
     }
 
+    /**
+     * Network transport used to execute Content Delivery API requests.
+     * <br>
+     * {@link Transport#OKHTTP} (default) shares a single {@link okhttp3.OkHttpClient} built from the
+     * {@link #setProxy(Proxy)} and {@link #connectionPool(int, long, TimeUnit)} settings across every call,
+     * including taxonomy. {@link Transport#VOLLEY} keeps the legacy Volley request queue.
+     */
+    public enum Transport {OKHTTP, VOLLEY}
+
+    /**
+     * Sets the network transport used by the stack.
+     *
+     * @param transport {@link Transport}
+     *                  <br><br><b>Example :</b><br>
+     *                  <pre class="prettyprint">
+     *                  Config config = new Config();
+     *                  config.setTransport(Config.Transport.VOLLEY);
+     *                  </pre>
+     */
+    public void setTransport(Transport transport) {
+        this.transport = transport != null ? transport : Transport.OKHTTP;
+    }
+
+    /**
+     * Returns the network transport used by the stack.
+     *
+     * @return {@link Transport}
+     */
+    public Transport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * Enables or disables sharing of in-flight requests. When enabled (default), identical GET requests
+     * made while one of them is still in flight share a single network call and every callback receives
+     * the result.
+     *
+     * @param requestCoalescing true to share identical in-flight requests.
+     *                          <br><br><b>Example :</b><br>
+     *                          <pre class="prettyprint">
+     *                          Config config = new Config();
+     *                          config.setRequestCoalescing(false);
+     *                          </pre>
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * Returns whether identical in-flight requests are shared.
+     *
+     * @return true if request coalescing is enabled.
+     */
+    public boolean isRequestCoalescing() {
+        return this.requestCoalescing;
+    }
+
+    /**
+     * Enables or disables the {@link LocalStore}. When enabled, {@link Stack#sync(SyncResultCallBack)} keeps
+     * the synced entries and the sync token on the device, and once a sync has completed queries with the
+     * cache policy {@link CachePolicy#LOCAL_STORE_ELSE_NETWORK} are answered from them instead of the
+     * network. Disabled by default.
+     *
+     * @param localStore true to keep synced entries on the device.
+     *                   <br><br><b>Example :</b><br>
+     *                   <pre class="prettyprint">
+     *                   Config config = new Config();
+     *                   config.setLocalStore(true);
+     *                   </pre>
+     */
+    public void setLocalStore(boolean localStore) {
+        this.localStore = localStore;
+    }
+
+    /**
+     * Returns whether synced entries are kept in the {@link LocalStore}.
+     *
+     * @return true if the local store is enabled.
+     */
+    public boolean isLocalStore() {
+        return this.localStore;
+    }
+
+    /**
+     * Order in which the in-memory cache evicts entries once it is full.
+     * <br>
+     * {@link CacheEviction#LRU} (default) evicts the entry read least recently, {@link CacheEviction#FIFO}
+     * the entry cached first.
+     */
+    public enum CacheEviction {LRU, FIFO}
+
+    /**
+     * Size of the in-memory tier in front of the cache files, in bytes of cached responses. Cache hits
+     * within it are served without reading or parsing the file again. Default is 4 MB; 0 disables it.
+     *
+     * @param memoryCacheSize max size in bytes.
+     *                        <br><br><b>Example :</b><br>
+     *                        <pre class="prettyprint">
+     *                        Config config = new Config();
+     *                        config.setMemoryCacheSize(8 * 1024 * 1024);
+     *                        </pre>
+     */
+    public void setMemoryCacheSize(long memoryCacheSize) {
+        this.memoryCacheSize = Math.max(0, memoryCacheSize);
+    }
+
+    /**
+     * Returns the size of the in-memory cache.
+     *
+     * @return max size in bytes.
+     */
+    public long getMemoryCacheSize() {
+        return this.memoryCacheSize;
+    }
+
+    /**
+     * Sets the order in which the in-memory cache evicts entries.
+     *
+     * @param memoryCacheEviction {@link CacheEviction}
+     *                            <br><br><b>Example :</b><br>
+     *                            <pre class="prettyprint">
+     *                            Config config = new Config();
+     *                            config.setMemoryCacheEviction(Config.CacheEviction.FIFO);
+     *                            </pre>
+     */
+    public void setMemoryCacheEviction(CacheEviction memoryCacheEviction) {
+        if (memoryCacheEviction != null) {
+            this.memoryCacheEviction = memoryCacheEviction;
+        }
+    }
+
+    /**
+     * Returns the eviction order of the in-memory cache.
+     *
+     * @return {@link CacheEviction}
+     */
+    public CacheEviction getMemoryCacheEviction() {
+        return this.memoryCacheEviction;
+    }
+
+    /**
+     * Size budget of the cache files, in bytes. When a write takes the cache over it, the least recently
+     * used files are deleted. Default is 20 MB.
+     *
+     * @param diskCacheSize max size in bytes.
+     *                      <br><br><b>Example :</b><br>
+     *                      <pre class="prettyprint">
+     *                      Config config = new Config();
+     *                      config.setDiskCacheSize(50 * 1024 * 1024);
+     *                      </pre>
+     */
+    public void setDiskCacheSize(long diskCacheSize) {
+        this.diskCacheSize = Math.max(0, diskCacheSize);
+    }
+
+    /**
+     * Returns the size budget of the cache files.
+     *
+     * @return max size in bytes.
+     */
+    public long getDiskCacheSize() {
+        return this.diskCacheSize;
+    }
+
+    /**
+     * Sets how long cached responses stay fresh for {@link CachePolicy#CACHE_ELSE_NETWORK} and
+     * {@link CachePolicy#CACHE_ONLY}, and how long cache files are kept. Default is 24 hours.
+     *
+     * @param duration time to live.
+     * @param unit     {@link TimeUnit} of the duration.
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Config config = new Config();
+     *                 config.setCacheTTL(1, TimeUnit.HOURS);
+     *                 </pre>
+     */
+    public void setCacheTTL(long duration, TimeUnit unit) {
+        this.cacheTTL = unit.toMillis(Math.max(0, duration));
+    }
+
+    /**
+     * Returns how long cached responses are kept.
+     *
+     * @return time to live in milliseconds.
+     */
+    public long getCacheTTL() {
+        return this.cacheTTL;
+    }
+
+    /**
+     * Sets how long cached responses of a content type stay fresh and are kept, in place of
+     * {@link #setCacheTTL(long, TimeUnit)}.
+     *
+     * @param contentTypeUid content type uid.
+     * @param duration       time to live.
+     * @param unit           {@link TimeUnit} of the duration.
+     *                       <br><br><b>Example :</b><br>
+     *                       <pre class="prettyprint">
+     *                       Config config = new Config();
+     *                       config.setCacheTTL("navigation", 7, TimeUnit.DAYS);
+     *                       </pre>
+     */
+    public void setCacheTTL(String contentTypeUid, long duration, TimeUnit unit) {
+        Objects.requireNonNull(contentTypeUid, "Content type uid can not be null");
+        this.cacheTTLPerContentType.put(contentTypeUid, unit.toMillis(Math.max(0, duration)));
+    }
+
+    /**
+     * Returns how long cached responses of a content type are kept.
+     *
+     * @param contentTypeUid content type uid.
+     * @return time to live in milliseconds.
+     */
+    public long getCacheTTL(String contentTypeUid) {
+        Long ttl = this.cacheTTLPerContentType.get(contentTypeUid);
+        return ttl != null ? ttl : this.cacheTTL;
+    }
+
+    /**
+     * Maximum number of requests the stack runs at once. Requests over the limit wait and are started by
+     * {@link RequestPriority}, the most urgent first. Default is 5.
+     *
+     * @param maxConcurrentRequests requests allowed to run at once, at least 1.
+     *                              <br><br><b>Example :</b><br>
+     *                              <pre class="prettyprint">
+     *                              Config config = new Config();
+     *                              config.setMaxConcurrentRequests(8);
+     *                              </pre>
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+    }
+
+    /**
+     * Returns the maximum number of requests run at once.
+     *
+     * @return maximum number of concurrent requests.
+     */
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+
+    /**
+     * Maximum number of requests of the given priority the stack runs at once, within
+     * {@link #setMaxConcurrentRequests(int)}. By default {@link RequestPriority#HIGH} and
+     * {@link RequestPriority#NORMAL} may use every slot, {@link RequestPriority#LOW} two and
+     * {@link RequestPriority#BACKGROUND} one, so a sync never holds the slots a screen is waiting on.
+     *
+     * @param priority              {@link RequestPriority}
+     * @param maxConcurrentRequests requests of that priority allowed to run at once, at least 1.
+     *                              <br><br><b>Example :</b><br>
+     *                              <pre class="prettyprint">
+     *                              Config config = new Config();
+     *                              config.setMaxConcurrentRequests(RequestPriority.BACKGROUND, 2);
+     *                              </pre>
+     */
+    public void setMaxConcurrentRequests(RequestPriority priority, int maxConcurrentRequests) {
+        this.maxConcurrentPerPriority.put(priority, Math.max(1, maxConcurrentRequests));
+    }
+
+    /**
+     * Returns the maximum number of requests of the given priority run at once.
+     *
+     * @param priority {@link RequestPriority}
+     * @return maximum number of concurrent requests of that priority.
+     */
+    public int getMaxConcurrentRequests(RequestPriority priority) {
+        Integer max = this.maxConcurrentPerPriority.get(priority);
+        return max != null ? max : priority.getDefaultMaxConcurrent();
+    }
+
+    /**
+     * Retries failed calls according to the given {@link RetryPolicy}. Without a policy (default) calls are not retried.
+     * <br>
+     * The policy applies to every call made through the stack, including taxonomy. With
+     * {@link Transport#VOLLEY} only timeouts are retried, up to the policy's attempts.
+     *
+     * @param retryPolicy {@link RetryPolicy}, or null to disable retries.
+     *                    <br><br><b>Example :</b><br>
+     *                    <pre class="prettyprint">
+     *                    Config config = new Config();
+     *                    config.setRetryPolicy(new RetryPolicy().setMaxAttempts(3));
+     *                    </pre>
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Returns the retry policy.
+     *
+     * @return {@link RetryPolicy}, or null when calls are not retried.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return this.retryPolicy;
+    }
+
+    /**
+     * Receives the compressed and uncompressed size of every response. Responses are requested with
+     * <code>Accept-Encoding: gzip, br</code> and decompressed while they are read.
+     * <br>
+     * Not called with {@link Transport#VOLLEY}.
+     *
+     * @param listener {@link TransferStatsListener}, or null.
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Config config = new Config();
+     *                 config.setTransferStatsListener(stats -&gt; Log.d("Transfer", stats.toString()));
+     *                 </pre>
+     */
+    public void setTransferStatsListener(TransferStatsListener listener) {
+        this.transferStatsListener = listener;
+    }
+
+    /**
+     * Returns the transfer stats listener.
+     *
+     * @return {@link TransferStatsListener}, or null.
+     */
+    public TransferStatsListener getTransferStatsListener() {
+        return this.transferStatsListener;
+    }
+
+    /**
+     * Time allowed to open a connection. Default is 30 seconds.
+     *
+     * @param timeout  connect timeout, 0 for none; a negative timeout counts as 0.
+     * @param timeUnit unit of the timeout.
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Config config = new Config();
+     *                 config.setConnectTimeout(5, TimeUnit.SECONDS);
+     *                 </pre>
+     */
+    public void setConnectTimeout(long timeout, TimeUnit timeUnit) {
+        this.connectTimeout = Math.max(0, timeUnit.toMillis(timeout));
+    }
+
+    /**
+     * Returns the connect timeout.
+     *
+     * @return connect timeout in milliseconds.
+     */
+    public long getConnectTimeout() {
+        return this.connectTimeout;
+    }
+
+    /**
+     * Time allowed between two reads of a response. Default is 30 seconds.
+     *
+     * @param timeout  read timeout, 0 for none; a negative timeout counts as 0.
+     * @param timeUnit unit of the timeout.
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Config config = new Config();
+     *                 config.setReadTimeout(10, TimeUnit.SECONDS);
+     *                 </pre>
+     */
+    public void setReadTimeout(long timeout, TimeUnit timeUnit) {
+        this.readTimeout = Math.max(0, timeUnit.toMillis(timeout));
+    }
+
+    /**
+     * Returns the read timeout.
+     *
+     * @return read timeout in milliseconds.
+     */
+    public long getReadTimeout() {
+        return this.readTimeout;
+    }
+
+    /**
+     * Total time allowed for a call, from connecting to reading the last byte of the response, retries
+     * included. Default is 0, no limit. A single call can set a shorter deadline, for example with
+     * {@link Query#setDeadline(long, TimeUnit)}.
+     *
+     * @param timeout  call timeout, 0 for none; a negative timeout counts as 0.
+     * @param timeUnit unit of the timeout.
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Config config = new Config();
+     *                 config.setCallTimeout(20, TimeUnit.SECONDS);
+     *                 </pre>
+     */
+    public void setCallTimeout(long timeout, TimeUnit timeUnit) {
+        this.callTimeout = Math.max(0, timeUnit.toMillis(timeout));
+    }
+
+    /**
+     * Returns the total call timeout.
+     *
+     * @return call timeout in milliseconds, 0 when calls have no limit.
+     */
+    public long getCallTimeout() {
+        return this.callTimeout;
+    }
+
     protected String getEndpoint() {
         return endpoint + "/" + getVersion() + "/";
     }
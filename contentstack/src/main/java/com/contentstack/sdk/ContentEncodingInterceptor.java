@@ -0,0 +1,151 @@
+package com.contentstack.sdk;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import okhttp3.CompressionInterceptor.DecompressionAlgorithm;
+import okhttp3.Gzip;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.brotli.Brotli;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * OkHttp interceptor that asks for compressed responses with <code>Accept-Encoding: gzip, br</code> and
+ * decompresses them while the body is read, so the compressed body is never held in memory.
+ * <p>
+ * It counts the bytes read from the network and the bytes handed to the caller, and reports them as
+ * {@link TransferStats} when the body is closed. It is installed on the stack's shared client, so it
+ * covers every controller, including {@link Taxonomy}.
+ *
+ * @author contentstack.com, Inc
+ */
+class ContentEncodingInterceptor implements Interceptor {
+
+    private static final String TAG = ContentEncodingInterceptor.class.getSimpleName();
+
+    private final TransferStatsListener listener;
+    private final DecompressionAlgorithm[] algorithms;
+    private final String acceptEncoding;
+
+    ContentEncodingInterceptor(TransferStatsListener listener) {
+        this(listener, Gzip.INSTANCE, Brotli.INSTANCE);
+    }
+
+    ContentEncodingInterceptor(TransferStatsListener listener, DecompressionAlgorithm... algorithms) {
+        this.listener = listener;
+        this.algorithms = algorithms;
+        StringBuilder builder = new StringBuilder();
+        for (DecompressionAlgorithm algorithm : algorithms) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(algorithm.getEncoding());
+        }
+        this.acceptEncoding = builder.toString();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header("Accept-Encoding") != null || request.header("Range") != null) {
+            // the caller negotiates the encoding itself
+            return chain.proceed(request);
+        }
+        Response response = chain.proceed(request.newBuilder().header("Accept-Encoding", acceptEncoding).build());
+        if (!hasBody(response)) {
+            return response;
+        }
+
+        String contentEncoding = response.header("Content-Encoding");
+        DecompressionAlgorithm algorithm = getAlgorithm(contentEncoding);
+        if (contentEncoding != null && algorithm == null && !"identity".equalsIgnoreCase(contentEncoding)) {
+            SDKUtil.showLog(TAG, "unsupported Content-Encoding " + contentEncoding);
+            return response;
+        }
+
+        ResponseBody body = response.body();
+        TransferStats stats = new TransferStats(request.url().toString(), algorithm != null ? algorithm.getEncoding() : "identity");
+        BufferedSource compressed = Okio.buffer(new CountingSource(body.source(), stats, true, false));
+        Source decompressed = algorithm != null ? algorithm.decompress(compressed) : compressed;
+        BufferedSource source = Okio.buffer(new CountingSource(decompressed, stats, false, true));
+
+        Response.Builder builder = response.newBuilder();
+        long contentLength = body.contentLength();
+        if (algorithm != null) {
+            builder.removeHeader("Content-Encoding").removeHeader("Content-Length");
+            contentLength = -1;
+        }
+        return builder.body(ResponseBody.create(source, body.contentType(), contentLength)).build();
+    }
+
+    private DecompressionAlgorithm getAlgorithm(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        for (DecompressionAlgorithm algorithm : algorithms) {
+            if (algorithm.getEncoding().equalsIgnoreCase(contentEncoding.trim())) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasBody(Response response) {
+        int code = response.code();
+        return !"HEAD".equals(response.request().method())
+                && code != HttpURLConnection.HTTP_NOT_MODIFIED
+                && code != HttpURLConnection.HTTP_NO_CONTENT
+                && (code >= HttpURLConnection.HTTP_OK || code < 100);
+    }
+
+    /**
+     * Counts the bytes read through it into the given {@link TransferStats}; the outermost one reports
+     * them when the body is closed.
+     */
+    private class CountingSource extends ForwardingSource {
+
+        private final TransferStats stats;
+        private final boolean compressed;
+        private final boolean outermost;
+        private boolean closed = false;
+
+        CountingSource(Source delegate, TransferStats stats, boolean compressed, boolean outermost) {
+            super(delegate);
+            this.stats = stats;
+            this.compressed = compressed;
+            this.outermost = outermost;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read > 0) {
+                if (compressed) {
+                    stats.addCompressedBytes(read);
+                }
+                if (outermost) {
+                    stats.addUncompressedBytes(read);
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (outermost && !closed) {
+                closed = true;
+                if (listener != null) {
+                    listener.onTransfer(stats);
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ public class ContentTypesModel {
 
     private JSONObject responseJSON = new JSONObject();
     private JSONArray responseJSONArray = new JSONArray();
+    private int count = -1;
     private final String TAG = ContentTypesModel.class.getSimpleName();
 
     public void setJSON(JSONObject responseJSON) {
@@ -26,6 +27,10 @@ public class ContentTypesModel {
                 }
             }
 
+            if (responseJSON.has("count")) {
+                this.count = responseJSON.optInt("count", -1);
+            }
+
             if (responseJSON.has("content_types")) {
                 try {
                     this.responseJSONArray = responseJSON.getJSONArray("content_types");
@@ -44,4 +49,11 @@ public class ContentTypesModel {
     public JSONArray getResultArray() {
         return responseJSONArray;
     }
+
+    /**
+     * @return total number of content types, when requested with <code>include_count</code>; -1 otherwise.
+     */
+    public int getCount() {
+        return count;
+    }
 }
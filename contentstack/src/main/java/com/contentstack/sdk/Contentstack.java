@@ -103,6 +103,11 @@ public class Contentstack {
         }
         stack.setConfig(config);
         initializeCache(appContext);
+        if (config.isLocalStore()) {
+            stack.localStore = new LocalStore(appContext.getDir(SDKConstant.STORE, 0));
+            stack.localStore.loadInBackground();
+        }
+        stack.syncCheckpoint = new SyncCheckpoint(appContext.getDir(SDKConstant.SYNC, 0), stack.localHeader);
         return stack;
     }
 
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /*** Entry is used to create, update and delete contentType&#39;s entries on the Contentstack.
  *
@@ -51,10 +52,12 @@ public class Entry {
     private JSONObject onlyJsonObject;
     private JSONObject exceptJsonObject;
     private CachePolicy cachePolicyForCall = CachePolicy.NETWORK_ONLY;
+    protected long deadline = 0;
     private Date updatedAt = null;
 
-    private long maxCacheTimeForCall = 0; //local cache time interval
-    private long defaultCacheTimeInterval = 0;
+    protected long cacheTTL = 0;
+    private EntryResultCallBack updateListener;
+    protected boolean revalidating = false;
     protected boolean isDelete = false;
 
     private Entry() {
@@ -1097,23 +1100,14 @@ public class Entry {
                 String URL = "/" + contentTypeInstance.stackInstance.VERSION + "/content_types/" + contentTypeName + "/entries/" + uid;
 
                 ArrayMap<String, Object> headers = getHeader(localHeader);
-                HashMap<String, String> headerAll = new HashMap<String, String>();
                 JSONObject urlQueries = new JSONObject();
 
-                if (headers != null && headers.size() > 0) {
-                    for (Map.Entry<String, Object> entry : headers.entrySet()) {
-                        headerAll.put(entry.getKey(), (String) entry.getValue());
-                    }
-
-                    if (headers.containsKey("environment")) {
-                        urlQueries.put("environment", headers.get("environment"));
-                    }
+                if (headers != null && headers.containsKey("environment")) {
+                    urlQueries.put("environment", headers.get("environment"));
                 }
+                setIncludeJSON(urlQueries, callBack);
 
-                String mainStringForMD5 = URL + new JSONObject().toString() + headerAll.toString();
-                String shaValue = new SDKUtil().getSHAFromString(mainStringForMD5.trim());
-
-                File cacheFile = new File(SDKConstant.cacheFolderName + File.separator + shaValue);
+                File cacheFile = CacheKey.file(URL, urlQueries, headers);
 
 
                 switch (cachePolicyForCall) {
@@ -1123,6 +1117,7 @@ public class Entry {
                         break;
 
                     case NETWORK_ONLY:
+                    case LOCAL_STORE_ELSE_NETWORK:
                         fetchFromNetwork(URL, urlQueries, cacheFile.getPath(), callBack);
                         break;
 
@@ -1133,7 +1128,7 @@ public class Entry {
                     case CACHE_ELSE_NETWORK:
                         if (cacheFile.exists()) {
                             boolean needToSendCall = false;
-                            needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
+                            needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
                             if (needToSendCall) {
                                 fetchFromNetwork(URL, urlQueries, cacheFile.getPath(), callBack);
                             } else {
@@ -1153,6 +1148,15 @@ public class Entry {
                         fetchFromNetwork(URL, urlQueries, cacheFile.getPath(), callBack);
                         break;
 
+                    case STALE_WHILE_REVALIDATE:
+                        if (cacheFile.exists() && !ModelCache.getInstance().isExpired(cacheFile, getCacheTTL())) {
+                            setCacheModel(cacheFile, callBack);
+                            revalidate(URL, urlQueries, cacheFile);
+                        } else {
+                            fetchFromNetwork(URL, urlQueries, cacheFile.getPath(), callBack);
+                        }
+                        break;
+
                     case NETWORK_ELSE_CACHE:
 
                         if (SDKConstant.IS_NETWORK_AVAILABLE) {
@@ -1177,8 +1181,6 @@ public class Entry {
         try {
 
             JSONObject mainJson = new JSONObject();
-
-            setIncludeJSON(urlQueries, callBack);
             mainJson.put("query", urlQueries);
 
             mainJson.put("_method", SDKConstant.RequestMethod.GET.toString());
@@ -1192,18 +1194,28 @@ public class Entry {
         }
     }
 
+    /**
+     * Refreshes the cache file served by {@link CachePolicy#STALE_WHILE_REVALIDATE}; a changed entry goes to the update listener.
+     */
+    private void revalidate(String URL, JSONObject urlQueries, File cacheFile) {
+        if (!SDKConstant.IS_NETWORK_AVAILABLE) {
+            return;
+        }
+        revalidating = true;
+        try {
+            fetchFromNetwork(URL, urlQueries, cacheFile.getPath(), updateListener);
+        } finally {
+            revalidating = false;
+        }
+    }
+
     //fetch from cache.
     private void fetchFromCache(File cacheFile, EntryResultCallBack callback) {
         Error error = null;
         if (cacheFile.exists()) {
             boolean needToSendCall = false;
 
-            // if (maxCacheTimeForCall > 0) {
-            //     needToSendCall = new CSAppUtils().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
-            // } else {
-            //     needToSendCall = new CSAppUtils().getResponseTimeFromCacheFile(cacheFile, (int) defaultCacheTimeInterval);
-            // }
-            needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
+            needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
 
             if (needToSendCall) {
                 error = new Error();
@@ -1222,10 +1234,18 @@ public class Entry {
         }
     }
 
+    boolean fallBackToCache(File cacheFile, EntryResultCallBack callback) {
+        if ((cachePolicyForCall == CachePolicy.NETWORK_ELSE_CACHE || cachePolicyForCall == CachePolicy.CACHE_ELSE_NETWORK) && cacheFile.exists()) {
+            setCacheModel(cacheFile, callback);
+            return true;
+        }
+        return false;
+    }
+
     //Entry modeling from cache.
     private void setCacheModel(File cacheFile, EntryResultCallBack callback) {
 
-        EntryModel model = new EntryModel(SDKUtil.getJsonFromCacheFile(cacheFile), null, false, true, false);
+        EntryModel model = ModelCache.getInstance().load(cacheFile, cacheJSON -> new EntryModel(cacheJSON, null, false, true, false));
         this.resultJson = model.jsonObject;
         this.ownerEmailId = model.ownerEmailId;
         this.ownerUid = model.ownerUid;
@@ -1259,7 +1279,9 @@ public class Entry {
     public void cancelRequest() {
         SDKConstant.cancelledCallController.add(SDKConstant.callController.ENTRY.toString());
 
-        if (Contentstack.requestQueue != null) {
+        if (contentTypeInstance != null && contentTypeInstance.stackInstance != null) {
+            contentTypeInstance.stackInstance.cancelRequests(SDKConstant.callController.ENTRY.toString());
+        } else if (Contentstack.requestQueue != null) {
             Contentstack.requestQueue.cancelAll(SDKConstant.callController.ENTRY.toString());
         }
     }
@@ -1281,6 +1303,78 @@ public class Entry {
         this.cachePolicyForCall = cachePolicy;
     }
 
+    /**
+     * Sets a deadline for the next network call of this {@link Entry}. When it expires the request is cancelled;
+     * with {@link CachePolicy#NETWORK_ELSE_CACHE} or {@link CachePolicy#CACHE_ELSE_NETWORK} the cached response
+     * is delivered instead, otherwise the callback receives a timeout error.
+     *
+     * @param duration deadline, 0 for the {@link Config} timeouts.
+     * @param timeUnit unit of the deadline.
+     * @return {@link Entry} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken",  "stag");
+     *      Entry entry = stack.contentType("form_name").entry("entry_uid");<br>
+     *      entry.setCachePolicy(NETWORK_ELSE_CACHE);
+     *      entry.setDeadline(2, TimeUnit.SECONDS);
+     * </pre>
+     */
+    public Entry setDeadline(long duration, TimeUnit timeUnit) {
+        this.deadline = timeUnit.toMillis(duration);
+        return this;
+    }
+
+    /**
+     * Sets how long the cached response of this {@link Entry} stays fresh for {@link CachePolicy#CACHE_ELSE_NETWORK}
+     * and {@link CachePolicy#CACHE_ONLY}, and how long the cache file is kept. It overrides the TTLs set
+     * with {@link Config#setCacheTTL(String, long, TimeUnit)} and {@link Config#setCacheTTL(long, TimeUnit)}.
+     *
+     * @param duration time to live, 0 for the {@link Config} TTL.
+     * @param timeUnit unit of the duration.
+     * @return {@link Entry} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken",  "stag");
+     *      Entry entry = stack.contentType("navigation").entry("entry_uid");<br>
+     *      entry.setCachePolicy(CACHE_ELSE_NETWORK);
+     *      entry.setCacheTTL(7, TimeUnit.DAYS);
+     * </pre>
+     */
+    public Entry setCacheTTL(long duration, TimeUnit timeUnit) {
+        this.cacheTTL = timeUnit.toMillis(Math.max(0, duration));
+        return this;
+    }
+
+    long getCacheTTL() {
+        return cacheTTL > 0 ? cacheTTL : contentTypeInstance.stackInstance.getCacheTTL(contentTypeName);
+    }
+
+    /**
+     * Sets the callback notified when {@link CachePolicy#STALE_WHILE_REVALIDATE} has served {@link #fetch(EntryResultCallBack)}
+     * from the cache and the background network call brings a different entry. It is not called when the entry is unchanged.
+     *
+     * @param listener {@link EntryResultCallBack} object notified once this {@link Entry} holds the changed entry.
+     * @return {@link Entry} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "env");
+     *      final Entry entry = stack.contentType("form_name").entry("entry_uid");<br>
+     *      entry.setCachePolicy(STALE_WHILE_REVALIDATE);
+     *      entry.setUpdateListener(new EntryResultCallBack() {<br>
+     *          &#64;Override
+     *          public void onCompletion(ResponseType responseType, Error error) {<br>
+     *          }
+     *      });
+     * </pre>
+     */
+    public Entry setUpdateListener(EntryResultCallBack listener) {
+        this.updateListener = listener;
+        return this;
+    }
+
     private HashMap<String, Object> getUrlParams(JSONObject jsonMain) {
 
         JSONObject queryJSON = jsonMain.optJSONObject("query");
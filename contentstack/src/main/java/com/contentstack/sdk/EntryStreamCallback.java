@@ -0,0 +1,36 @@
+package com.contentstack.sdk;
+
+/**
+ * Callback for {@link Query#findStreaming(EntryStreamCallback)}.
+ * <br>
+ * {@link #onEntry(Entry)} is called once per entry as soon as it is read from the response, followed by a single
+ * {@link #onCompletion(ResponseType, QueryResult, Error)}. The {@link QueryResult} carries the count, schema and
+ * content type of the response but no entries; its count is the total from {@link Query#includeCount()} when
+ * requested, otherwise the number of entries delivered.
+ *
+ * @author Contentstack.com, Inc
+ */
+public abstract class EntryStreamCallback extends ResultCallBack {
+
+    public abstract void onEntry(Entry entry);
+
+    public abstract void onCompletion(ResponseType responseType, QueryResult queryResult, Error error);
+
+    void onRequestItem(Entry entry) {
+        onEntry(entry);
+    }
+
+    void onRequestFinish(ResponseType responseType, QueryResult queryResult) {
+        onCompletion(responseType, queryResult, null);
+    }
+
+    @Override
+    void onRequestFail(ResponseType responseType, Error error) {
+        onCompletion(responseType, null, error);
+    }
+
+    @Override
+    void always() {
+
+    }
+}
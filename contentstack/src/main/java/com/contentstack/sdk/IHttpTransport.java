@@ -0,0 +1,27 @@
+package com.contentstack.sdk;
+
+/**
+ * Network transport used by {@link CSHttpConnection} to execute a request.
+ * <p>
+ * A transport reads the url, headers, method and body from the given connection and reports
+ * back through {@link CSHttpConnection#onTransportResponse(org.json.JSONObject)} or
+ * {@link CSHttpConnection#generateBuiltError(int, byte[], String, String)}.
+ *
+ * @author contentstack.com, Inc
+ */
+interface IHttpTransport {
+
+    /**
+     * Executes the request described by the connection.
+     *
+     * @param connection the connection to execute and notify.
+     */
+    void execute(CSHttpConnection connection);
+
+    /**
+     * Cancels all pending requests tagged with the given controller name.
+     *
+     * @param tag the tag passed as {@link CSHttpConnection#getInfo()} when the request was sent.
+     */
+    void cancelAll(String tag);
+}
@@ -0,0 +1,147 @@
+package com.contentstack.sdk;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull parser for list responses such as <code>{"entries": [...], "count": 10}</code>.
+ * <p>
+ * The elements of the streamed array are handed to the {@link ItemListener} one at a time as soon as they
+ * are read, so the full response string and the full response tree are never held in memory together.
+ * All other top level fields are collected and returned from {@link #parse(Reader)}.
+ *
+ * @author contentstack.com, Inc
+ */
+class JSONStreamParser {
+
+    /**
+     * Receives each element of the streamed array, on the parsing thread.
+     */
+    interface ItemListener {
+        void onItem(JSONObject item);
+    }
+
+    private final String streamKey;
+    private final ItemListener listener;
+    private int itemCount = 0;
+
+    /**
+     * @param streamKey top level array to stream, for example <code>entries</code> or <code>assets</code>;
+     *                  null to read the whole object, as cache files are.
+     * @param listener  receives each element of the array.
+     */
+    JSONStreamParser(String streamKey, ItemListener listener) {
+        this.streamKey = streamKey;
+        this.listener = listener;
+    }
+
+    /**
+     * Reads the response from the given reader.
+     *
+     * @param reader response body; not closed by this method.
+     * @return the response without the streamed array.
+     * @throws IOException   if the reader fails.
+     * @throws JSONException if the response is not a valid JSON object or ends early.
+     */
+    JSONObject parse(Reader reader) throws IOException, JSONException {
+        JsonReader jsonReader = new JsonReader(reader);
+        try {
+            JSONObject envelope = new JSONObject();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (name.equals(streamKey) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    readItems(jsonReader);
+                } else {
+                    envelope.put(name, readValue(jsonReader));
+                }
+            }
+            jsonReader.endObject();
+            return envelope;
+        } catch (IllegalStateException | NumberFormatException | MalformedJsonException | EOFException e) {
+            throw new JSONException(ErrorMessages.JSON_PARSING_ERROR + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of array elements handed to the listener so far.
+     */
+    int getItemCount() {
+        return itemCount;
+    }
+
+    private void readItems(JsonReader jsonReader) throws IOException, JSONException {
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            Object item = readValue(jsonReader);
+            if (item instanceof JSONObject) {
+                itemCount++;
+                if (listener != null) {
+                    listener.onItem((JSONObject) item);
+                }
+            }
+        }
+        jsonReader.endArray();
+    }
+
+    private static Object readValue(JsonReader jsonReader) throws IOException, JSONException {
+        switch (jsonReader.peek()) {
+            case BEGIN_OBJECT:
+                JSONObject object = new JSONObject();
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    object.put(name, readValue(jsonReader));
+                }
+                jsonReader.endObject();
+                return object;
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                jsonReader.beginArray();
+                while (jsonReader.hasNext()) {
+                    array.put(readValue(jsonReader));
+                }
+                jsonReader.endArray();
+                return array;
+            case STRING:
+                return jsonReader.nextString();
+            case NUMBER:
+                return readNumber(jsonReader.nextString());
+            case BOOLEAN:
+                return jsonReader.nextBoolean();
+            case NULL:
+                jsonReader.nextNull();
+                return JSONObject.NULL;
+            default:
+                throw new JSONException(ErrorMessages.JSON_PARSING_ERROR);
+        }
+    }
+
+    /**
+     * Converts a number literal the same way {@link org.json.JSONTokener} does, so streamed items read back
+     * through <code>optInt</code>, <code>opt</code> or <code>get</code> exactly like a fully parsed response.
+     */
+    private static Object readNumber(String literal) {
+        if (literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1) {
+            try {
+                long longValue = Long.parseLong(literal);
+                if (longValue <= Integer.MAX_VALUE && longValue >= Integer.MIN_VALUE) {
+                    return (int) longValue;
+                }
+                return longValue;
+            } catch (NumberFormatException e) {
+                // fall through to double, same as JSONTokener
+            }
+        }
+        return Double.valueOf(literal);
+    }
+}
@@ -0,0 +1,371 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of the {@link LocalStore} on one field of a content type.
+ * <p>
+ * Keys of the stored entries are kept sorted by field value, with numbers, strings and booleans apart as
+ * {@link LocalQuery} never matches across them. Every value of a multiple field is indexed, which makes
+ * the index on <code>tags</code> an inverted index. A word index keeps the lowercase words of a text
+ * field instead, for {@link Query#search(String)}.
+ *
+ * @author contentstack.com, Inc
+ */
+class LocalIndex {
+
+    final String fieldUid;
+    private final boolean words;
+    private final TreeMap<Double, Set<String>> numbers = new TreeMap<>();
+    private final TreeMap<String, Set<String>> strings = new TreeMap<>();
+    private final Map<Boolean, Set<String>> booleans = new HashMap<>();
+    private final Map<String, Integer> valueCount = new HashMap<>();
+    private int multiValued = 0;
+
+    LocalIndex(String fieldUid, boolean words) {
+        this.fieldUid = fieldUid;
+        this.words = words;
+    }
+
+    void add(String key, JSONObject entry) {
+        List<Object> values = indexedValues(entry);
+        if (values.isEmpty()) {
+            return;
+        }
+        for (Object value : values) {
+            Set<String> keys = keysOf(value, true);
+            if (keys != null) {
+                keys.add(key);
+            }
+        }
+        valueCount.put(key, values.size());
+        if (values.size() > 1) {
+            multiValued++;
+        }
+    }
+
+    void remove(String key, JSONObject entry) {
+        Integer count = valueCount.remove(key);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            multiValued--;
+        }
+        for (Object value : indexedValues(entry)) {
+            Set<String> keys = keysOf(value, false);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    removeValue(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of entries with a value in the index.
+     */
+    int size() {
+        return valueCount.size();
+    }
+
+    /**
+     * @return number of distinct values in the index.
+     */
+    int distinctValues() {
+        return numbers.size() + strings.size() + booleans.size();
+    }
+
+    private List<Object> indexedValues(JSONObject entry) {
+        List<Object> indexed = new ArrayList<>();
+        for (Object value : LocalQuery.values(entry, fieldUid)) {
+            if (words && value instanceof String) {
+                indexed.addAll(words((String) value));
+            } else if (!words && (value instanceof Number || value instanceof String || value instanceof Boolean)) {
+                indexed.add(value);
+            }
+        }
+        return indexed;
+    }
+
+    static Set<Object> words(String text) {
+        Set<Object> tokens = new LinkedHashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    private Set<String> keysOf(Object value, boolean create) {
+        Set<String> keys;
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            keys = numbers.get(number);
+            if (keys == null && create) {
+                keys = new LinkedHashSet<>();
+                numbers.put(number, keys);
+            }
+        } else if (value instanceof String) {
+            keys = strings.get(value);
+            if (keys == null && create) {
+                keys = new LinkedHashSet<>();
+                strings.put((String) value, keys);
+            }
+        } else if (value instanceof Boolean) {
+            keys = booleans.get(value);
+            if (keys == null && create) {
+                keys = new LinkedHashSet<>();
+                booleans.put((Boolean) value, keys);
+            }
+        } else {
+            keys = null;
+        }
+        return keys;
+    }
+
+    private void removeValue(Object value) {
+        if (value instanceof Number) {
+            numbers.remove(((Number) value).doubleValue());
+        } else if (value instanceof String) {
+            strings.remove(value);
+        } else {
+            booleans.remove(value);
+        }
+    }
+
+    /**
+     * Keys of the entries meeting a condition of a {@link LocalQuery} on this field.
+     *
+     * @param condition value or operators of the field in the <code>query</code> parameter.
+     * @return the keys, or null if the index can't narrow the condition down and the entries have to be scanned.
+     */
+    Set<String> lookup(Object condition) {
+        if (words) {
+            return null;
+        }
+        if (!(condition instanceof JSONObject)) {
+            return equalTo(condition);
+        }
+        JSONObject operators = (JSONObject) condition;
+        Set<String> result = null;
+        Object lower = null;
+        Object upper = null;
+        boolean lowerInclusive = false;
+        boolean upperInclusive = false;
+        Iterator<String> keys = operators.keys();
+        while (keys.hasNext()) {
+            String operator = keys.next();
+            Object operand = operators.opt(operator);
+            switch (operator) {
+                case "$in":
+                    result = intersect(result, in(operand));
+                    break;
+                case "$lt":
+                case "$lte":
+                    if (upper != null) {
+                        result = intersect(result, range(null, false, upper, upperInclusive));
+                    }
+                    upper = operand;
+                    upperInclusive = operator.equals("$lte");
+                    break;
+                case "$gt":
+                case "$gte":
+                    if (lower != null) {
+                        result = intersect(result, range(lower, lowerInclusive, null, false));
+                    }
+                    lower = operand;
+                    lowerInclusive = operator.equals("$gte");
+                    break;
+                default:
+                    // $ne, $nin and $exists are left to the scan of the candidates
+                    break;
+            }
+        }
+        if (lower != null || upper != null) {
+            result = intersect(result, range(lower, lowerInclusive, upper, upperInclusive));
+        }
+        return result;
+    }
+
+    private Set<String> equalTo(Object value) {
+        Set<String> keys = keysOf(value, false);
+        return keys != null ? new HashSet<>(keys) : new HashSet<String>();
+    }
+
+    private Set<String> in(Object operand) {
+        if (!(operand instanceof JSONArray)) {
+            return equalTo(operand);
+        }
+        Set<String> result = new HashSet<>();
+        JSONArray values = (JSONArray) operand;
+        for (int i = 0; i < values.length(); i++) {
+            Set<String> keys = keysOf(values.opt(i), false);
+            if (keys != null) {
+                result.addAll(keys);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keys of the entries with a value between two bounds, either of which may be null; bounds of different
+     * types, like a number and a string, match nothing.
+     */
+    private Set<String> range(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive) {
+        if (lower != null && upper != null) {
+            Integer order = LocalQuery.compare(lower, upper);
+            if (order == null || order > 0 || (order == 0 && !(lowerInclusive && upperInclusive))) {
+                return new HashSet<>();
+            }
+        }
+        Object bound = lower != null ? lower : upper;
+        Collection<Set<String>> range;
+        if (bound instanceof Number) {
+            NavigableMap<Double, Set<String>> values = numbers;
+            if (lower != null) {
+                values = values.tailMap(((Number) lower).doubleValue(), lowerInclusive);
+            }
+            if (upper != null) {
+                values = values.headMap(((Number) upper).doubleValue(), upperInclusive);
+            }
+            range = values.values();
+        } else if (bound instanceof String) {
+            NavigableMap<String, Set<String>> values = strings;
+            if (lower != null) {
+                values = values.tailMap((String) lower, lowerInclusive);
+            }
+            if (upper != null) {
+                values = values.headMap((String) upper, upperInclusive);
+            }
+            range = values.values();
+        } else {
+            return new HashSet<>();
+        }
+        return union(range);
+    }
+
+    /**
+     * Keys of the entries with a word starting with each word of the search text, null if it has no words.
+     */
+    Set<String> search(String text) {
+        List<Collection<Set<String>>> prefixes = new ArrayList<>();
+        for (Object word : words(text)) {
+            String prefix = (String) word;
+            prefixes.add(strings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values());
+        }
+        if (prefixes.isEmpty()) {
+            return null;
+        }
+        // starting from the word matching the fewest entries keeps the candidates small
+        Collections.sort(prefixes, (a, b) -> Integer.compare(sizeOf(a), sizeOf(b)));
+        Set<String> result = union(prefixes.get(0));
+        for (int i = 1; i < prefixes.size() && !result.isEmpty(); i++) {
+            Collection<Set<String>> sets = prefixes.get(i);
+            if (sizeOf(sets) <= result.size() * sets.size()) {
+                result.retainAll(union(sets));
+            } else {
+                Iterator<String> keys = result.iterator();
+                while (keys.hasNext()) {
+                    if (!containedIn(keys.next(), sets)) {
+                        keys.remove();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int sizeOf(Collection<Set<String>> sets) {
+        int size = 0;
+        for (Set<String> keys : sets) {
+            size += keys.size();
+        }
+        return size;
+    }
+
+    private static boolean containedIn(String key, Collection<Set<String>> sets) {
+        for (Set<String> keys : sets) {
+            if (keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> union(Collection<Set<String>> sets) {
+        Set<String> result = new HashSet<>();
+        for (Set<String> keys : sets) {
+            result.addAll(keys);
+        }
+        return result;
+    }
+
+    static Set<String> intersect(Set<String> result, Set<String> keys) {
+        if (keys == null) {
+            return result;
+        }
+        if (result == null) {
+            return keys;
+        }
+        result.retainAll(keys);
+        return result;
+    }
+
+    /**
+     * Keys in the order of their value, when the order is the one {@link LocalQuery#compareEntries} gives:
+     * every entry has exactly one value, all of the same type.
+     *
+     * @param entryCount number of entries of the content type.
+     * @return the keys, or null if the entries have to be sorted.
+     */
+    Iterable<String> ordered(boolean descending, int entryCount) {
+        if (words || multiValued > 0 || valueCount.size() != entryCount) {
+            return null;
+        }
+        NavigableMap<?, Set<String>> sorted;
+        if (strings.isEmpty() && booleans.isEmpty()) {
+            sorted = numbers;
+        } else if (numbers.isEmpty() && booleans.isEmpty()) {
+            sorted = strings;
+        } else {
+            return null;
+        }
+        final Collection<Set<String>> values = (descending ? sorted.descendingMap() : sorted).values();
+        return () -> new Iterator<String>() {
+            private final Iterator<Set<String>> sets = values.iterator();
+            private Iterator<String> keys = null;
+
+            @Override
+            public boolean hasNext() {
+                while ((keys == null || !keys.hasNext()) && sets.hasNext()) {
+                    keys = sets.next().iterator();
+                }
+                return keys != null && keys.hasNext();
+            }
+
+            @Override
+            public String next() {
+                hasNext();
+                return keys.next();
+            }
+        };
+    }
+}
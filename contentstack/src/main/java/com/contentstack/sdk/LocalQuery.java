@@ -0,0 +1,315 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link Query} as the {@link LocalStore} runs it.
+ * <p>
+ * It is read from the same URL parameters the CDN receives, and supports the <code>query</code> operators
+ * modeled by {@link Query}: equality, <code>$lt</code>, <code>$lte</code>, <code>$gt</code>, <code>$gte</code>,
+ * <code>$ne</code>, <code>$in</code>, <code>$nin</code>, <code>$exists</code>, <code>$and</code> and
+ * <code>$or</code>, together with <code>locale</code>, <code>tags</code>, <code>asc</code>, <code>desc</code>,
+ * <code>skip</code>, <code>limit</code> and <code>include_count</code>. A query using anything else is left to
+ * the CDN.
+ * <p>
+ * {@link Query#search(String)} matches the entries whose title has a word starting with each word of the
+ * search text, ignoring case.
+ *
+ * @author contentstack.com, Inc
+ */
+class LocalQuery {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final String TAGS_FIELD = "tags";
+    static final String SEARCH_FIELD = "title";
+    private static final Set<String> PARAMS = new HashSet<>(Arrays.asList(
+            "query", "environment", "locale", "asc", "desc", "skip", "limit", "include_count", "tags", "typeahead"));
+    private static final Set<String> OPERATORS = new HashSet<>(Arrays.asList(
+            "$lt", "$lte", "$gt", "$gte", "$ne", "$in", "$nin", "$exists"));
+
+    final JSONObject conditions;
+    final String locale;
+    final String sortKey;
+    final boolean descending;
+    final int skip;
+    final int limit;
+    final boolean includeCount;
+    final Set<String> tags;
+    private final JSONArray tagValues;
+    final String search;
+
+    private LocalQuery(JSONObject urlQueries) {
+        JSONObject query = urlQueries.optJSONObject("query");
+        conditions = query != null ? query : new JSONObject();
+        locale = urlQueries.optString("locale", null);
+        if (urlQueries.has("asc")) {
+            sortKey = urlQueries.optString("asc");
+            descending = false;
+        } else if (urlQueries.has("desc")) {
+            sortKey = urlQueries.optString("desc");
+            descending = true;
+        } else {
+            // the CDN default
+            sortKey = "updated_at";
+            descending = true;
+        }
+        skip = Math.max(0, urlQueries.optInt("skip", 0));
+        limit = urlQueries.optInt("limit", DEFAULT_LIMIT);
+        includeCount = urlQueries.optBoolean("include_count", false);
+        tags = new HashSet<>();
+        for (String tag : urlQueries.optString("tags").split(",")) {
+            if (!tag.isEmpty()) {
+                tags.add(tag);
+            }
+        }
+        tagValues = new JSONArray(tags);
+        search = urlQueries.optString("typeahead", null);
+    }
+
+    /**
+     * @param urlQueries URL parameters of a {@link Query}.
+     * @return the query, or null if it uses parameters or operators the store can't answer.
+     */
+    static LocalQuery parse(JSONObject urlQueries) {
+        if (urlQueries == null) {
+            return new LocalQuery(new JSONObject());
+        }
+        Iterator<String> keys = urlQueries.keys();
+        while (keys.hasNext()) {
+            if (!PARAMS.contains(keys.next())) {
+                return null;
+            }
+        }
+        Object query = urlQueries.opt("query");
+        if (query != null && !(query instanceof JSONObject && isSupported((JSONObject) query))) {
+            return null;
+        }
+        return new LocalQuery(urlQueries);
+    }
+
+    private static boolean isSupported(JSONObject conditions) {
+        Iterator<String> keys = conditions.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object condition = conditions.opt(key);
+            if (key.equals("$and") || key.equals("$or")) {
+                if (!(condition instanceof JSONArray)) {
+                    return false;
+                }
+                JSONArray clauses = (JSONArray) condition;
+                for (int i = 0; i < clauses.length(); i++) {
+                    if (!(clauses.opt(i) instanceof JSONObject) || !isSupported(clauses.optJSONObject(i))) {
+                        return false;
+                    }
+                }
+            } else if (key.startsWith("$")) {
+                return false;
+            } else if (condition instanceof JSONObject) {
+                Iterator<String> operators = ((JSONObject) condition).keys();
+                while (operators.hasNext()) {
+                    if (!OPERATORS.contains(operators.next())) {
+                        return false;
+                    }
+                }
+            } else if (condition instanceof JSONArray) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean matches(JSONObject entry) {
+        if (!tags.isEmpty() && !containsAny(values(entry, TAGS_FIELD), tagValues)) {
+            return false;
+        }
+        return (search == null || matchesSearch(entry)) && matches(entry, conditions);
+    }
+
+    private boolean matchesSearch(JSONObject entry) {
+        Set<Object> words = new HashSet<>();
+        for (Object value : values(entry, SEARCH_FIELD)) {
+            if (value instanceof String) {
+                words.addAll(LocalIndex.words((String) value));
+            }
+        }
+        for (Object prefix : LocalIndex.words(search)) {
+            boolean found = false;
+            for (Object word : words) {
+                if (((String) word).startsWith((String) prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(JSONObject entry, JSONObject conditions) {
+        Iterator<String> keys = conditions.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object condition = conditions.opt(key);
+            if (key.equals("$and") || key.equals("$or")) {
+                JSONArray clauses = (JSONArray) condition;
+                boolean and = key.equals("$and");
+                boolean matched = and;
+                for (int i = 0; i < clauses.length() && matched == and; i++) {
+                    matched = matches(entry, clauses.optJSONObject(i));
+                }
+                if (!matched) {
+                    return false;
+                }
+            } else if (!matches(values(entry, key), condition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(List<Object> values, Object condition) {
+        if (!(condition instanceof JSONObject)) {
+            return containsValue(values, condition);
+        }
+        JSONObject operators = (JSONObject) condition;
+        Iterator<String> keys = operators.keys();
+        while (keys.hasNext()) {
+            String operator = keys.next();
+            Object operand = operators.opt(operator);
+            boolean matched;
+            switch (operator) {
+                case "$ne":
+                    matched = !containsValue(values, operand);
+                    break;
+                case "$in":
+                    matched = containsAny(values, operand);
+                    break;
+                case "$nin":
+                    matched = !containsAny(values, operand);
+                    break;
+                case "$exists":
+                    matched = values.isEmpty() != Boolean.parseBoolean(String.valueOf(operand));
+                    break;
+                default:
+                    matched = compareAny(values, operator, operand);
+                    break;
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsValue(List<Object> values, Object expected) {
+        for (Object value : values) {
+            if (isEqual(value, expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAny(List<Object> values, Object operand) {
+        if (!(operand instanceof JSONArray)) {
+            return containsValue(values, operand);
+        }
+        JSONArray expected = (JSONArray) operand;
+        for (int i = 0; i < expected.length(); i++) {
+            if (containsValue(values, expected.opt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean compareAny(List<Object> values, String operator, Object operand) {
+        for (Object value : values) {
+            Integer order = compare(value, operand);
+            if (order == null) {
+                continue;
+            }
+            if ((operator.equals("$lt") && order < 0) || (operator.equals("$lte") && order <= 0)
+                    || (operator.equals("$gt") && order > 0) || (operator.equals("$gte") && order >= 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEqual(Object value, Object expected) {
+        Integer order = compare(value, expected);
+        return order != null ? order == 0 : value.equals(expected);
+    }
+
+    /**
+     * @return the order of two numbers or two strings, null for values that have no order.
+     */
+    static Integer compare(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof String && b instanceof String) {
+            return ((String) a).compareTo((String) b);
+        }
+        return null;
+    }
+
+    /**
+     * Values of a field, following a dotted path into groups; every element of an array is a value, so a
+     * multiple field matches if any of its values does.
+     */
+    static List<Object> values(JSONObject entry, String path) {
+        List<Object> current = Collections.<Object>singletonList(entry);
+        for (String name : path.split("\\.")) {
+            List<Object> next = new ArrayList<>();
+            for (Object object : current) {
+                Object value = object instanceof JSONObject ? ((JSONObject) object).opt(name) : null;
+                if (value != null && value != JSONObject.NULL) {
+                    add(next, value);
+                }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static void add(Collection<Object> values, Object value) {
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            for (int i = 0; i < array.length(); i++) {
+                values.add(array.opt(i));
+            }
+        } else {
+            values.add(value);
+        }
+    }
+
+    /**
+     * Orders entries by the sort key; entries without it come first in ascending order.
+     */
+    int compareEntries(JSONObject a, JSONObject b) {
+        List<Object> aValues = values(a, sortKey);
+        List<Object> bValues = values(b, sortKey);
+        int order;
+        if (aValues.isEmpty() || bValues.isEmpty()) {
+            order = Boolean.compare(!aValues.isEmpty(), !bValues.isEmpty());
+        } else {
+            Integer compared = compare(aValues.get(0), bValues.get(0));
+            order = compared != null ? compared : 0;
+        }
+        return descending ? -order : order;
+    }
+}
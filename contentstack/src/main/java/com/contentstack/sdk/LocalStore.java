@@ -0,0 +1,659 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entries kept on the device by {@link Stack#sync(SyncResultCallBack)}, so that queries can be answered
+ * without a network call.
+ * <p>
+ * Every sync response is applied to the store as it arrives: published entries are added or replaced,
+ * unpublished and deleted entries removed, and a deleted content type drops all its entries. The sync token
+ * of the last completed sync is kept with them; pass {@link #getSyncToken()} to
+ * {@link Stack#syncToken(String, SyncResultCallBack)} to bring the store up to date, or to
+ * {@link Stack#syncAll(String, SyncPipelineCallback)} after a {@link Stack#syncAll(List, List, SyncPipelineCallback)}.
+ * <p>
+ * Once a sync has completed, {@link Query#find(QueryResultsCallBack)} and {@link Query#findOne(SingleQueryResultCallback)}
+ * with the cache policy {@link CachePolicy#LOCAL_STORE_ELSE_NETWORK} are answered from the store with
+ * {@link ResponseType#CACHE} whenever {@link LocalQuery} supports the query. The entries they get are copies,
+ * which can be changed without changing the store. Assets are not stored.
+ * <p>
+ * Queries run on secondary indexes kept up to date as sync responses are applied. Every content type has
+ * an index on <code>tags</code>, <code>updated_at</code>, <code>locale</code> and the words of <code>title</code>; declare
+ * more with {@link #addIndex(String, String)} for the fields you query or sort on.
+ * <p>
+ * Each content type is saved in the <code>ContentstackStore</code> folder as a base {@link CacheRecord} of
+ * its entries and delta records of the entries changed since, one per flush, written on the cache writer
+ * thread. Once the deltas hold as many changes as the content type has entries, the base is rewritten and
+ * the deltas deleted, so a sync writes each entry a bounded number of times however many pages it has.
+ * <p>
+ * The store is read from disk on the cache writer thread. Until it has been read, queries are not
+ * answered from it and {@link #count(String)} is 0.
+ *
+ * @author contentstack.com, Inc
+ */
+public class LocalStore {
+
+    private static final String TAG = LocalStore.class.getSimpleName();
+    static final String ENTRIES_SUFFIX = ".entries";
+    static final String DELTA_SUFFIX = ".delta";
+    // deltas of fewer changes than this never cause a rewrite of the base
+    static final int MIN_COMPACTION = 500;
+    static final String SYNC_TOKEN_FILE = "sync_token";
+    private static final String UPDATED_AT = "updated_at";
+    private static final String LOCALE = "locale";
+    // not a field uid, which can't contain a space
+    private static final String SEARCH_INDEX = " search";
+
+    private final File folder;
+    private final Map<String, Map<String, JSONObject>> entries = new HashMap<>();
+    // keys of the entries changed since the last flush, by content type
+    private final Map<String, Set<String>> changedKeys = new HashMap<>();
+    // content types whose base is rewritten at the next flush
+    private final Set<String> rewritten = new HashSet<>();
+    // changes in the deltas written since the base, by content type
+    private final Map<String, Integer> deltaChanges = new HashMap<>();
+    // last sequence number of a base or delta, by content type
+    private final Map<String, Long> sequences = new HashMap<>();
+    private boolean syncTokenChanged = false;
+    private final Map<String, Map<String, LocalIndex>> indexes = new HashMap<>();
+    private final Map<String, Set<String>> declaredIndexes = new HashMap<>();
+    private volatile String syncToken;
+    private volatile boolean loaded = false;
+    private final AtomicBoolean loadQueued = new AtomicBoolean();
+    private boolean flushQueued = false;
+
+    LocalStore(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Reads the store on the cache writer thread, if it has not been read yet.
+     */
+    void loadInBackground() {
+        if (loaded || !loadQueued.compareAndSet(false, true)) {
+            return;
+        }
+        CacheWriter.getInstance().submit(() -> {
+            synchronized (LocalStore.this) {
+                load();
+            }
+        });
+    }
+
+    /**
+     * Returns the sync token without waiting for the store to be read: until it has been, the token is read
+     * from its own file, which holds nothing else.
+     *
+     * @return the sync token of the last completed sync, or null if the store has never been synced.
+     */
+    public String getSyncToken() {
+        if (!loaded) {
+            loadInBackground();
+            JSONObject response = readResponse(new File(folder, SYNC_TOKEN_FILE));
+            return response != null ? response.optString("sync_token", null) : null;
+        }
+        return syncToken;
+    }
+
+    /**
+     * @param contentTypeUid content type uid.
+     * @return number of entries stored for the content type, over all locales; 0 until the store has been read.
+     */
+    public int count(String contentTypeUid) {
+        if (!loaded) {
+            loadInBackground();
+            return 0;
+        }
+        synchronized (this) {
+            Map<String, JSONObject> stored = entries.get(contentTypeUid);
+            return stored != null ? stored.size() : 0;
+        }
+    }
+
+    /**
+     * Declares a secondary index on a field of a content type, so that conditions and sorting on it are
+     * looked up instead of scanning every entry. Numbers, dates and text are kept in order for range
+     * conditions and sorting; every value of a multiple field is indexed.
+     *
+     * @param contentTypeUid content type uid.
+     * @param fieldUid       field uid; a group field in &#34;group.fieldUid&#34; format.
+     *
+     *                       <br><br><b>Example :</b><br>
+     *                       <pre class="prettyprint">
+     *                       stack.getLocalStore().addIndex("product", "price");
+     *                       stack.getLocalStore().addIndex("product", "category.uid");
+     *                       </pre>
+     */
+    public synchronized void addIndex(String contentTypeUid, String fieldUid) {
+        Set<String> fields = declaredIndexes.get(contentTypeUid);
+        if (fields == null) {
+            fields = new HashSet<>();
+            declaredIndexes.put(contentTypeUid, fields);
+        }
+        if (fields.add(fieldUid) && indexes.containsKey(contentTypeUid)) {
+            indexes.get(contentTypeUid).put(fieldUid, buildIndex(contentTypeUid, fieldUid, false));
+        }
+    }
+
+    /**
+     * Removes every stored entry and the sync token; the next sync has to start from <code>init</code>.
+     */
+    public synchronized void clear() {
+        load();
+        rewritten.addAll(entries.keySet());
+        changedKeys.clear();
+        entries.clear();
+        indexes.clear();
+        syncToken = null;
+        syncTokenChanged = true;
+        queueFlush();
+    }
+
+    /**
+     * Applies a page of a sync response.
+     *
+     * @param syncStack sync response.
+     */
+    void apply(SyncStack syncStack) {
+        applyItems(syncStack);
+        if (syncStack.getSyncToken() != null) {
+            setSyncToken(syncStack.getSyncToken());
+        }
+    }
+
+    /**
+     * Applies the items of a page of one partition of {@link Stack#syncAll}, whose sync token is not the
+     * token of the whole store. The store is locked item by item, so that queries don't wait for the page.
+     *
+     * @param syncStack sync response.
+     */
+    void applyItems(SyncStack syncStack) {
+        synchronized (this) {
+            load();
+        }
+        for (SyncItem item : syncStack.getSyncItems()) {
+            synchronized (this) {
+                apply(item);
+            }
+        }
+        synchronized (this) {
+            queueFlush();
+        }
+    }
+
+    /**
+     * Marks the store as synced.
+     *
+     * @param syncToken token of the completed sync; the token set of {@link SyncAll} for a partitioned sync.
+     */
+    synchronized void setSyncToken(String syncToken) {
+        load();
+        this.syncToken = syncToken;
+        syncTokenChanged = true;
+        queueFlush();
+    }
+
+    private void apply(SyncItem item) {
+        Stack.PublishType type = item.getType();
+        JSONObject data = item.getData();
+        if (type == null || data == null) {
+            return;
+        }
+        String contentTypeUid = item.getContentTypeUid();
+        switch (type) {
+            case ENTRY_PUBLISHED:
+                if (contentTypeUid != null) {
+                    // a copy, as the item is delivered to the app after it is applied
+                    put(contentTypeUid, key(item.getUid(), item.getLocale()), SDKUtil.deepCopy(data));
+                }
+                break;
+            case ENTRY_UNPUBLISHED:
+            case ENTRY_DELETED:
+                if (contentTypeUid != null) {
+                    remove(contentTypeUid, item.getUid(), item.getLocale());
+                }
+                break;
+            case CONTENT_TYPE_DELETED:
+                indexes.remove(item.getUid());
+                if (entries.remove(item.getUid()) != null) {
+                    changedKeys.remove(item.getUid());
+                    rewritten.add(item.getUid());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void put(String contentTypeUid, String key, JSONObject entry) {
+        JSONObject replaced = entriesOf(contentTypeUid).put(key, entry);
+        for (LocalIndex index : indexesOf(contentTypeUid).values()) {
+            if (replaced != null) {
+                index.remove(key, replaced);
+            }
+            index.add(key, entry);
+        }
+        changed(contentTypeUid, key);
+    }
+
+    private void remove(String contentTypeUid, String uid, String locale) {
+        Map<String, JSONObject> stored = entries.get(contentTypeUid);
+        if (stored == null) {
+            return;
+        }
+        List<String> keys = new ArrayList<>();
+        if (locale != null) {
+            keys.add(key(uid, locale));
+        } else {
+            // without a locale the entry goes in every locale
+            for (String key : stored.keySet()) {
+                if (key.startsWith(uid + "|")) {
+                    keys.add(key);
+                }
+            }
+        }
+        for (String key : keys) {
+            JSONObject removed = stored.remove(key);
+            if (removed != null) {
+                for (LocalIndex index : indexesOf(contentTypeUid).values()) {
+                    index.remove(key, removed);
+                }
+                changed(contentTypeUid, key);
+            }
+        }
+    }
+
+    private void changed(String contentTypeUid, String key) {
+        Set<String> keys = changedKeys.get(contentTypeUid);
+        if (keys == null) {
+            keys = new LinkedHashSet<>();
+            changedKeys.put(contentTypeUid, keys);
+        }
+        keys.add(key);
+    }
+
+    /**
+     * Indexes of a content type, built from its entries the first time they are needed.
+     */
+    private Map<String, LocalIndex> indexesOf(String contentTypeUid) {
+        Map<String, LocalIndex> contentTypeIndexes = indexes.get(contentTypeUid);
+        if (contentTypeIndexes == null) {
+            contentTypeIndexes = new HashMap<>();
+            contentTypeIndexes.put(LocalQuery.TAGS_FIELD, buildIndex(contentTypeUid, LocalQuery.TAGS_FIELD, false));
+            contentTypeIndexes.put(UPDATED_AT, buildIndex(contentTypeUid, UPDATED_AT, false));
+            contentTypeIndexes.put(LOCALE, buildIndex(contentTypeUid, LOCALE, false));
+            contentTypeIndexes.put(SEARCH_INDEX, buildIndex(contentTypeUid, LocalQuery.SEARCH_FIELD, true));
+            Set<String> fields = declaredIndexes.get(contentTypeUid);
+            if (fields != null) {
+                for (String field : fields) {
+                    contentTypeIndexes.put(field, buildIndex(contentTypeUid, field, false));
+                }
+            }
+            indexes.put(contentTypeUid, contentTypeIndexes);
+        }
+        return contentTypeIndexes;
+    }
+
+    private LocalIndex buildIndex(String contentTypeUid, String fieldUid, boolean words) {
+        LocalIndex index = new LocalIndex(fieldUid, words);
+        Map<String, JSONObject> stored = entries.get(contentTypeUid);
+        if (stored != null) {
+            for (Map.Entry<String, JSONObject> entry : stored.entrySet()) {
+                index.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return index;
+    }
+
+    private Map<String, JSONObject> entriesOf(String contentTypeUid) {
+        Map<String, JSONObject> stored = entries.get(contentTypeUid);
+        if (stored == null) {
+            stored = new LinkedHashMap<>();
+            entries.put(contentTypeUid, stored);
+        }
+        return stored;
+    }
+
+    private static String locale(JSONObject data) {
+        String locale = data.optString("locale", null);
+        if (locale == null) {
+            JSONObject publishDetails = data.optJSONObject("publish_details");
+            locale = publishDetails != null ? publishDetails.optString("locale", null) : null;
+        }
+        return locale;
+    }
+
+    private static String key(String uid, String locale) {
+        return uid + "|" + locale;
+    }
+
+    /**
+     * Runs a query against the stored entries.
+     *
+     * @param contentTypeUid content type uid.
+     * @param urlQueries     URL parameters of the query.
+     * @return the response as the CDN would send it, or null if the store has not been read or synced yet or
+     * can't answer the query.
+     */
+    JSONObject find(String contentTypeUid, JSONObject urlQueries) {
+        if (!loaded) {
+            loadInBackground();
+            return null;
+        }
+        synchronized (this) {
+            return findLoaded(contentTypeUid, urlQueries);
+        }
+    }
+
+    private JSONObject findLoaded(String contentTypeUid, JSONObject urlQueries) {
+        LocalQuery query = syncToken != null ? LocalQuery.parse(urlQueries) : null;
+        if (query == null) {
+            return null;
+        }
+        Map<String, JSONObject> stored = entries.get(contentTypeUid);
+        if (stored == null) {
+            return toResponse(new ArrayList<JSONObject>(), 0, query);
+        }
+        Map<String, LocalIndex> contentTypeIndexes = indexesOf(contentTypeUid);
+        if (query.locale == null && !isSingleLocale(stored, contentTypeIndexes.get(LOCALE))) {
+            // which locale the CDN picks without one depends on the stack's master locale
+            return null;
+        }
+        Set<String> candidates = candidates(query, contentTypeIndexes);
+        LocalIndex sortIndex = contentTypeIndexes.get(query.sortKey);
+        Iterable<String> ordered = candidates == null && sortIndex != null ? sortIndex.ordered(query.descending, stored.size()) : null;
+        List<JSONObject> matched = new ArrayList<>();
+        int count = 0;
+        if (ordered != null) {
+            // already in order, so only the requested page is collected
+            int end = query.limit >= 0 ? query.skip + query.limit : Integer.MAX_VALUE;
+            for (String key : ordered) {
+                JSONObject entry = stored.get(key);
+                if (isLocale(entry, query) && query.matches(entry)) {
+                    if (count >= query.skip && count < end) {
+                        matched.add(entry);
+                    }
+                    count++;
+                    if (count >= end && !query.includeCount) {
+                        break;
+                    }
+                }
+            }
+            return toResponse(matched, count, query);
+        }
+        Collection<String> keys = candidates != null ? candidates : stored.keySet();
+        for (String key : keys) {
+            JSONObject entry = stored.get(key);
+            if (entry != null && isLocale(entry, query) && query.matches(entry)) {
+                matched.add(entry);
+            }
+        }
+        Collections.sort(matched, query::compareEntries);
+        int end = query.limit >= 0 ? Math.min(matched.size(), query.skip + query.limit) : matched.size();
+        List<JSONObject> page = query.skip < end ? matched.subList(query.skip, end) : new ArrayList<JSONObject>();
+        return toResponse(page, matched.size(), query);
+    }
+
+    /**
+     * Keys of the entries the indexes narrow the query down to; the entries still have to be matched.
+     *
+     * @return the keys, or null if no index applies and every entry has to be scanned.
+     */
+    private static Set<String> candidates(LocalQuery query, Map<String, LocalIndex> contentTypeIndexes) {
+        Set<String> candidates = null;
+        Iterator<String> fields = query.conditions.keys();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            LocalIndex index = contentTypeIndexes.get(field);
+            if (index != null) {
+                candidates = LocalIndex.intersect(candidates, index.lookup(query.conditions.opt(field)));
+            }
+        }
+        if (!query.tags.isEmpty()) {
+            candidates = LocalIndex.intersect(candidates, contentTypeIndexes.get(LocalQuery.TAGS_FIELD)
+                    .lookup(new JSONObject(Collections.singletonMap("$in", new JSONArray(query.tags)))));
+        }
+        if (query.search != null) {
+            candidates = LocalIndex.intersect(candidates, contentTypeIndexes.get(SEARCH_INDEX).search(query.search));
+        }
+        return candidates;
+    }
+
+    private static boolean isSingleLocale(Map<String, JSONObject> stored, LocalIndex localeIndex) {
+        if (localeIndex.size() == stored.size()) {
+            return localeIndex.distinctValues() <= 1;
+        }
+        Set<String> locales = new HashSet<>();
+        for (JSONObject entry : stored.values()) {
+            locales.add(locale(entry));
+        }
+        return locales.size() <= 1;
+    }
+
+    private static boolean isLocale(JSONObject entry, LocalQuery query) {
+        return query.locale == null || query.locale.equals(locale(entry));
+    }
+
+    private static JSONObject toResponse(List<JSONObject> page, int count, LocalQuery query) {
+        JSONObject response = new JSONObject();
+        try {
+            JSONArray copies = new JSONArray();
+            for (JSONObject entry : page) {
+                copies.put(SDKUtil.deepCopy(entry));
+            }
+            response.put("entries", copies);
+            if (query.includeCount) {
+                response.put("count", count);
+            }
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+        }
+        return response;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        File[] files = folder.listFiles();
+        Map<String, File> bases = new HashMap<>();
+        Map<String, TreeMap<Long, File>> deltas = new HashMap<>();
+        for (File file : files != null ? files : new File[0]) {
+            String name = file.getName();
+            if (name.endsWith(ENTRIES_SUFFIX)) {
+                bases.put(name.substring(0, name.length() - ENTRIES_SUFFIX.length()), file);
+            } else if (name.endsWith(DELTA_SUFFIX)) {
+                String stem = name.substring(0, name.length() - DELTA_SUFFIX.length());
+                int dot = stem.lastIndexOf('.');
+                try {
+                    String contentTypeUid = stem.substring(0, dot);
+                    TreeMap<Long, File> contentTypeDeltas = deltas.get(contentTypeUid);
+                    if (contentTypeDeltas == null) {
+                        contentTypeDeltas = new TreeMap<>();
+                        deltas.put(contentTypeUid, contentTypeDeltas);
+                    }
+                    contentTypeDeltas.put(Long.parseLong(stem.substring(dot + 1)), file);
+                } catch (RuntimeException e) {
+                    SDKUtil.showLog(TAG, "unknown file " + name);
+                }
+            } else if (name.equals(SYNC_TOKEN_FILE)) {
+                JSONObject response = readResponse(file);
+                syncToken = response != null ? response.optString("sync_token", null) : null;
+            }
+        }
+        for (Map.Entry<String, File> base : bases.entrySet()) {
+            JSONObject response = readResponse(base.getValue());
+            if (response == null) {
+                continue;
+            }
+            sequences.put(base.getKey(), response.optLong("seq", 0));
+            putAll(base.getKey(), response.optJSONArray("entries"));
+        }
+        for (Map.Entry<String, TreeMap<Long, File>> contentTypeDeltas : deltas.entrySet()) {
+            String contentTypeUid = contentTypeDeltas.getKey();
+            long baseSequence = sequences.containsKey(contentTypeUid) ? sequences.get(contentTypeUid) : 0;
+            int changes = 0;
+            for (Map.Entry<Long, File> delta : contentTypeDeltas.getValue().tailMap(baseSequence, false).entrySet()) {
+                JSONObject response = readResponse(delta.getValue());
+                if (response == null) {
+                    continue;
+                }
+                JSONArray removed = response.optJSONArray("removed");
+                Map<String, JSONObject> stored = entriesOf(contentTypeUid);
+                for (int i = 0; removed != null && i < removed.length(); i++) {
+                    stored.remove(removed.optString(i));
+                }
+                putAll(contentTypeUid, response.optJSONArray("entries"));
+                changes += response.optInt("changes");
+                sequences.put(contentTypeUid, delta.getKey());
+            }
+            deltaChanges.put(contentTypeUid, changes);
+        }
+        loaded = true;
+    }
+
+    private static JSONObject readResponse(File file) {
+        JSONObject cacheJSON = CacheRecord.readJSON(file);
+        return cacheJSON != null ? cacheJSON.optJSONObject("response") : null;
+    }
+
+    private void putAll(String contentTypeUid, JSONArray stored) {
+        Map<String, JSONObject> contentTypeEntries = entriesOf(contentTypeUid);
+        for (int i = 0; stored != null && i < stored.length(); i++) {
+            JSONObject entry = stored.optJSONObject(i);
+            if (entry != null) {
+                contentTypeEntries.put(key(entry.optString("uid"), locale(entry)), entry);
+            }
+        }
+    }
+
+    private void queueFlush() {
+        if ((changedKeys.isEmpty() && rewritten.isEmpty() && !syncTokenChanged) || flushQueued) {
+            return;
+        }
+        flushQueued = true;
+        CacheWriter.getInstance().submit(this::flush);
+    }
+
+    /**
+     * Writes the changes since the last flush: a delta per changed content type, or a new base for content
+     * types deleted, cleared or with as many changes in deltas as entries.
+     */
+    void flush() {
+        Map<String, JSONObject> records = new LinkedHashMap<>();
+        // content types whose deltas up to the sequence number are deleted, after the records are written
+        Map<String, Long> obsolete = new HashMap<>();
+        synchronized (this) {
+            flushQueued = false;
+            long now = System.currentTimeMillis();
+            try {
+                if (syncTokenChanged) {
+                    records.put(SYNC_TOKEN_FILE, syncToken == null ? null : new JSONObject().put("timestamp", now)
+                            .put("response", new JSONObject().put("sync_token", syncToken)));
+                    syncTokenChanged = false;
+                }
+                for (Map.Entry<String, Set<String>> changed : changedKeys.entrySet()) {
+                    String contentTypeUid = changed.getKey();
+                    int changes = (deltaChanges.containsKey(contentTypeUid) ? deltaChanges.get(contentTypeUid) : 0) + changed.getValue().size();
+                    Map<String, JSONObject> stored = entries.get(contentTypeUid);
+                    if (changes >= Math.max(MIN_COMPACTION, stored != null ? stored.size() : 0)) {
+                        rewritten.add(contentTypeUid);
+                        continue;
+                    }
+                    JSONArray put = new JSONArray();
+                    JSONArray removed = new JSONArray();
+                    for (String key : changed.getValue()) {
+                        JSONObject entry = stored != null ? stored.get(key) : null;
+                        if (entry != null) {
+                            put.put(entry);
+                        } else {
+                            removed.put(key);
+                        }
+                    }
+                    long sequence = nextSequence(contentTypeUid);
+                    deltaChanges.put(contentTypeUid, changes);
+                    records.put(contentTypeUid + "." + sequence + DELTA_SUFFIX, new JSONObject().put("timestamp", now)
+                            .put("response", new JSONObject().put("entries", put).put("removed", removed).put("changes", changed.getValue().size()))
+                            .put("content_type_uid", contentTypeUid));
+                }
+                for (String contentTypeUid : rewritten) {
+                    long sequence = nextSequence(contentTypeUid);
+                    deltaChanges.put(contentTypeUid, 0);
+                    obsolete.put(contentTypeUid, sequence);
+                    Map<String, JSONObject> stored = entries.get(contentTypeUid);
+                    records.put(contentTypeUid + ENTRIES_SUFFIX, stored == null || stored.isEmpty() ? null : new JSONObject()
+                            .put("timestamp", now)
+                            .put("response", new JSONObject().put("entries", new JSONArray(stored.values())).put("seq", sequence))
+                            .put("content_type_uid", contentTypeUid));
+                }
+            } catch (Exception e) {
+                SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            }
+            changedKeys.clear();
+            rewritten.clear();
+        }
+        folder.mkdirs();
+        for (Map.Entry<String, JSONObject> record : records.entrySet()) {
+            File file = new File(folder, record.getKey());
+            try {
+                if (record.getValue() == null) {
+                    file.delete();
+                } else {
+                    CacheRecord.fromJSON(record.getValue()).write(file);
+                }
+            } catch (Exception e) {
+                SDKUtil.showLog(TAG, "can't write " + file.getName() + ": " + e.getLocalizedMessage());
+            }
+        }
+        if (!obsolete.isEmpty()) {
+            deleteDeltas(obsolete);
+        }
+    }
+
+    private long nextSequence(String contentTypeUid) {
+        long sequence = (sequences.containsKey(contentTypeUid) ? sequences.get(contentTypeUid) : 0) + 1;
+        sequences.put(contentTypeUid, sequence);
+        return sequence;
+    }
+
+    /**
+     * Deletes the deltas a new base replaces.
+     *
+     * @param obsolete content types and the sequence number of their new base.
+     */
+    private void deleteDeltas(Map<String, Long> obsolete) {
+        File[] files = folder.listFiles();
+        for (File file : files != null ? files : new File[0]) {
+            String name = file.getName();
+            if (!name.endsWith(DELTA_SUFFIX)) {
+                continue;
+            }
+            String stem = name.substring(0, name.length() - DELTA_SUFFIX.length());
+            int dot = stem.lastIndexOf('.');
+            Long base = dot > 0 ? obsolete.get(stem.substring(0, dot)) : null;
+            try {
+                if (base != null && Long.parseLong(stem.substring(dot + 1)) < base) {
+                    file.delete();
+                }
+            } catch (NumberFormatException e) {
+                SDKUtil.showLog(TAG, "unknown file " + name);
+            }
+        }
+    }
+}
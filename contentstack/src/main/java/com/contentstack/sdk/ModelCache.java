@@ -0,0 +1,182 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory tier in front of the <code>ContentstackCache</code> files.
+ * <p>
+ * It keeps the JSON read from cache files, keyed by the cache file name (the SHA of the request), so a
+ * repeated cache hit neither reads nor parses the file again. The JSON it keeps is never handed out: every
+ * hit is modeled from a copy of it, so callers are free to change the entries and assets they get.
+ * <p>
+ * Its size is the sum of the uncompressed lengths of the cached JSON it holds and is bounded by
+ * {@link Config#setMemoryCacheSize(long)}; when it is exceeded entries are evicted in the order set with
+ * {@link Config#setMemoryCacheEviction(Config.CacheEviction)}.
+ * <p>
+ * Like the cache files, it is shared by every stack in the process.
+ *
+ * @author contentstack.com, Inc
+ */
+class ModelCache {
+
+    private static final String TAG = ModelCache.class.getSimpleName();
+    static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+    private static ModelCache instance;
+
+    private long maxSize;
+    private long size = 0;
+    private LinkedHashMap<String, CachedResponse> models;
+
+    /**
+     * Builds a model from the JSON of a cache file.
+     */
+    interface Modeler<T> {
+        T model(JSONObject cacheJSON);
+    }
+
+    private static class CachedResponse {
+        final JSONObject cacheJSON;
+        final long size;
+        long timestamp;
+
+        CachedResponse(JSONObject cacheJSON, long size, long timestamp) {
+            this.cacheJSON = cacheJSON;
+            this.size = size;
+            this.timestamp = timestamp;
+        }
+    }
+
+    ModelCache(long maxSize, Config.CacheEviction eviction) {
+        this.maxSize = maxSize;
+        this.models = new LinkedHashMap<>(16, 0.75f, eviction == Config.CacheEviction.LRU);
+    }
+
+    static synchronized ModelCache getInstance() {
+        if (instance == null) {
+            instance = new ModelCache(DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        }
+        return instance;
+    }
+
+    /**
+     * Applies the size and eviction order of a {@link Config}; the last stack configured wins.
+     */
+    synchronized void configure(long maxSize, Config.CacheEviction eviction) {
+        LinkedHashMap<String, CachedResponse> reordered = new LinkedHashMap<>(16, 0.75f, eviction == Config.CacheEviction.LRU);
+        reordered.putAll(models);
+        this.models = reordered;
+        this.maxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    /**
+     * Returns a new model of the given cache file, reading the file only if its JSON is not held in memory.
+     *
+     * @param cacheFile cache file of the request.
+     * @param modeler   builds the model from the file's JSON.
+     * @return the model.
+     */
+    <T> T load(File cacheFile, Modeler<T> modeler) {
+        String key = cacheFile.getName();
+        CacheEvictor.getInstance().onAccess(cacheFile);
+        JSONObject cacheJSON;
+        synchronized (this) {
+            CachedResponse cached = models.get(key);
+            cacheJSON = cached != null ? cached.cacheJSON : null;
+        }
+        if (cacheJSON == null) {
+            cacheJSON = SDKUtil.getJsonFromCacheFile(cacheFile);
+            if (cacheJSON == null) {
+                return modeler.model(null);
+            }
+            // a copy, as a write still queued in CacheWriter hands out its own JSON
+            cacheJSON = SDKUtil.deepCopy(cacheJSON);
+            put(key, cacheJSON, CacheRecord.readPayloadLength(cacheFile), cacheJSON.optLong("timestamp"));
+        }
+        return modeler.model(SDKUtil.deepCopy(cacheJSON));
+    }
+
+    /**
+     * Same check as {@link SDKUtil#getResponseTimeFromCacheFile(File, long)}, without reading the file when
+     * its JSON is held in memory.
+     *
+     * @param cacheFile cache file of the request.
+     * @param time      max age in milliseconds.
+     * @return true if the cached response is older than the given time and a call is needed.
+     */
+    boolean isExpired(File cacheFile, long time) {
+        CachedResponse cached;
+        synchronized (this) {
+            cached = models.get(cacheFile.getName());
+        }
+        if (cached != null) {
+            return SDKUtil.isExpired(cached.timestamp, time);
+        }
+        return new SDKUtil().getResponseTimeFromCacheFile(cacheFile, time);
+    }
+
+    /**
+     * Drops the JSON of a cache file that was rewritten or deleted.
+     */
+    synchronized void remove(File cacheFile) {
+        CachedResponse cached = models.remove(cacheFile.getName());
+        if (cached != null) {
+            size -= cached.size;
+        }
+    }
+
+    /**
+     * Refreshes the timestamp of a cache file that was revalidated without changes.
+     */
+    synchronized void touch(File cacheFile, long timestamp) {
+        CachedResponse cached = models.get(cacheFile.getName());
+        if (cached != null) {
+            cached.timestamp = timestamp;
+        }
+    }
+
+    synchronized void clear() {
+        models.clear();
+        size = 0;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    synchronized boolean contains(File cacheFile) {
+        return models.containsKey(cacheFile.getName());
+    }
+
+    synchronized int count() {
+        return models.size();
+    }
+
+    private synchronized void put(String key, JSONObject cacheJSON, long length, long timestamp) {
+        if (length > maxSize) {
+            return;
+        }
+        CachedResponse previous = models.put(key, new CachedResponse(cacheJSON, length, timestamp));
+        if (previous != null) {
+            size -= previous.size;
+        }
+        size += length;
+        trimToSize(maxSize);
+    }
+
+    private void trimToSize(long maxSize) {
+        Iterator<Map.Entry<String, CachedResponse>> iterator = models.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> eldest = iterator.next();
+            size -= eldest.getValue().size;
+            iterator.remove();
+            SDKUtil.showLog(TAG, "evicted " + eldest.getKey());
+        }
+    }
+}
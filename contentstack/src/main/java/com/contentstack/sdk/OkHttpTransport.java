@@ -0,0 +1,224 @@
+package com.contentstack.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * {@link IHttpTransport} backed by the stack's shared {@link OkHttpClient}, so every controller
+ * reuses the connection pool and proxy configured on {@link Config} and can multiplex over HTTP/2.
+ * <p>
+ * Responses are parsed on the OkHttp dispatcher thread and delivered on the main thread, the same
+ * thread the Volley transport delivers on. When the connection has a stream key the body is read with
+ * {@link JSONStreamParser} and each streamed element is delivered as soon as it is parsed.
+ *
+ * @author contentstack.com, Inc
+ */
+class OkHttpTransport implements IHttpTransport {
+
+    private static final String TAG = OkHttpTransport.class.getSimpleName();
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static OkHttpTransport defaultTransport;
+
+    private final OkHttpClient client;
+    // calls cancelled by cancelAll, as opposed to calls cancelled by their expired deadline
+    private final Set<Call> cancelled = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Call, Boolean>()));
+    private Handler mainHandler;
+
+    OkHttpTransport(OkHttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Transport used when a connection is sent without a {@link Stack} transport, e.g. a stack
+     * that was created without a {@link Config}.
+     *
+     * @return the shared default transport
+     */
+    static synchronized OkHttpTransport getDefault() {
+        if (defaultTransport == null) {
+            defaultTransport = new OkHttpTransport(new OkHttpClient.Builder()
+                    .addInterceptor(new ContentEncodingInterceptor(null))
+                    .build());
+        }
+        return defaultTransport;
+    }
+
+    OkHttpClient getClient() {
+        return client;
+    }
+
+    @Override
+    public void execute(final CSHttpConnection connection) {
+        Request request = buildRequest(connection);
+        Call call = client.newCall(request);
+        if (connection.getDeadline() > 0) {
+            call.timeout().timeout(connection.getDeadline(), TimeUnit.MILLISECONDS);
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                handleResponse(call, connection, response);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    finishCancelled(call, connection, e.getMessage());
+                    return;
+                }
+                SDKUtil.showLog(TAG, "--onFailure--|" + e);
+                deliverError(connection, 0, null, getErrorType(e), e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void cancelAll(String tag) {
+        for (Call call : client.dispatcher().queuedCalls()) {
+            if (tag != null && tag.equals(call.request().tag(String.class))) {
+                cancelled.add(call);
+                call.cancel();
+            }
+        }
+        for (Call call : client.dispatcher().runningCalls()) {
+            if (tag != null && tag.equals(call.request().tag(String.class))) {
+                cancelled.add(call);
+                call.cancel();
+            }
+        }
+    }
+
+    /**
+     * Ends a cancelled call: one cancelled by {@link #cancelAll(String)} is not delivered, but still releases
+     * what waits for its completion; one cancelled by its expired deadline is reported as a timeout.
+     */
+    private void finishCancelled(Call call, final CSHttpConnection connection, String message) {
+        if (cancelled.remove(call)) {
+            post(connection::onTransportCancelled);
+        } else {
+            deliverError(connection, 0, null, "TimeoutError", message);
+        }
+    }
+
+    private Request buildRequest(CSHttpConnection connection) {
+        Request.Builder builder = new Request.Builder().url(connection.getUrl());
+        for (Map.Entry<String, String> header : connection.getRequestHeaders().entrySet()) {
+            if (header.getKey() != null && header.getValue() != null) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        if (connection.getInfo() != null) {
+            builder.tag(String.class, connection.getInfo());
+        }
+        JSONObject requestJSON = connection.getRequestJSON();
+        String body = requestJSON != null ? requestJSON.toString() : "{}";
+        SDKConstant.RequestMethod method = connection.getRequestMethod();
+        if (method == null || method == SDKConstant.RequestMethod.GET) {
+            builder.get();
+        } else if (method == SDKConstant.RequestMethod.PUT) {
+            builder.put(RequestBody.create(body, JSON));
+        } else if (method == SDKConstant.RequestMethod.DELETE) {
+            builder.delete(RequestBody.create(body, JSON));
+        } else {
+            builder.post(RequestBody.create(body, JSON));
+        }
+        return builder.build();
+    }
+
+    private void handleResponse(Call call, CSHttpConnection connection, Response response) {
+        try (ResponseBody body = response.body()) {
+            if (call.isCanceled()) {
+                finishCancelled(call, connection, "Canceled");
+                return;
+            }
+            if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                final String eTag = response.header("ETag");
+                final String lastModified = response.header("Last-Modified");
+                post(() -> connection.onTransportNotModified(eTag, lastModified));
+            } else if (response.isSuccessful()) {
+                connection.setResponseValidators(response.header("ETag"), response.header("Last-Modified"));
+                JSONObject responseJSON;
+                try {
+                    if (connection.getStreamKey() != null) {
+                        JSONStreamParser parser = new JSONStreamParser(connection.getStreamKey(), item -> {
+                            if (!call.isCanceled()) {
+                                post(() -> connection.onTransportItem(item));
+                            }
+                        });
+                        responseJSON = parser.parse(body.charStream());
+                    } else {
+                        responseJSON = new JSONObject(body.string());
+                    }
+                } catch (JSONException e) {
+                    deliverError(connection, response.code(), null, "ParseError", ErrorMessages.JSON_PARSING_ERROR);
+                    return;
+                }
+                deliverResponse(connection, responseJSON);
+            } else {
+                deliverError(connection, response.code(), body.bytes(), null, response.message());
+            }
+        } catch (IOException e) {
+            if (call.isCanceled()) {
+                finishCancelled(call, connection, e.getMessage());
+            } else {
+                deliverError(connection, response.code(), null, getErrorType(e), e.getMessage());
+            }
+        }
+    }
+
+    private void deliverResponse(final CSHttpConnection connection, final JSONObject responseJSON) {
+        post(() -> connection.onTransportResponse(responseJSON));
+    }
+
+    private void deliverError(final CSHttpConnection connection, final int statusCode, final byte[] data, final String errorType, final String message) {
+        post(() -> connection.generateBuiltError(statusCode, data, errorType, message));
+    }
+
+    private synchronized void post(Runnable runnable) {
+        Looper mainLooper = Looper.getMainLooper();
+        if (mainLooper == null) {
+            runnable.run();
+            return;
+        }
+        if (mainHandler == null) {
+            mainHandler = new Handler(mainLooper);
+        }
+        mainHandler.post(runnable);
+    }
+
+    /**
+     * Maps an I/O failure to the error names {@link CSHttpConnection} already understands.
+     */
+    static String getErrorType(IOException e) {
+        if (e instanceof InterruptedIOException) {
+            // SocketTimeoutException for connect/read timeouts, InterruptedIOException for call deadlines
+            return "TimeoutError";
+        } else if (e instanceof UnknownHostException || e instanceof ConnectException) {
+            return "NoConnectionError";
+        }
+        return "NetworkError";
+    }
+}
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A class that defines a query that is used to query for {@link Entry} instance.
@@ -37,11 +38,14 @@ public class Query implements INotifyClass {
     private JSONArray objectUidForOnly = null;
     private boolean isJsonProper = true;
     // cache policy
-    private final long maxCacheTimeForCall = 86400000;
-    private final long defaultCacheTimeInterval = 0;
+    protected long cacheTTL = 0;
     private CachePolicy cachePolicyForCall = null;
+    protected long deadline = 0;
     private QueryResultsCallBack queryResultCallback;
     private SingleQueryResultCallback singleQueryResultCallback;
+    private QueryResultsCallBack queryUpdateListener;
+    private SingleQueryResultCallback singleQueryUpdateListener;
+    protected boolean revalidating = false;
     private String errorString;
     private HashMap<String, Object> errorHashMap;
     private JSONObject onlyJsonObject;
@@ -1394,6 +1398,91 @@ public class Query implements INotifyClass {
         return this;
     }
 
+    /**
+     * Sets a deadline for the next network call of this {@link Query}. When it expires the request is cancelled;
+     * with {@link CachePolicy#NETWORK_ELSE_CACHE} or {@link CachePolicy#CACHE_ELSE_NETWORK} the cached response
+     * is delivered instead, otherwise the callback receives a timeout error.
+     *
+     * @param duration deadline, 0 for the {@link Config} timeouts.
+     * @param timeUnit unit of the deadline.
+     * @return {@link Query} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "env");
+     *      Query csQuery = stack.contentType("contentType_name").query();<br>
+     *      csQuery.setCachePolicy(NETWORK_ELSE_CACHE);
+     *      csQuery.setDeadline(2, TimeUnit.SECONDS);
+     * </pre>
+     */
+    public Query setDeadline(long duration, TimeUnit timeUnit) {
+        this.deadline = timeUnit.toMillis(duration);
+
+        return this;
+    }
+
+    /**
+     * Sets how long the cached response of this {@link Query} stays fresh for {@link CachePolicy#CACHE_ELSE_NETWORK}
+     * and {@link CachePolicy#CACHE_ONLY}, and how long the cache file is kept. It overrides the TTLs set
+     * with {@link Config#setCacheTTL(String, long, TimeUnit)} and {@link Config#setCacheTTL(long, TimeUnit)}.
+     *
+     * @param duration time to live, 0 for the {@link Config} TTL.
+     * @param timeUnit unit of the duration.
+     * @return {@link Query} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "env");
+     *      Query csQuery = stack.contentType("news").query();<br>
+     *      csQuery.setCachePolicy(CACHE_ELSE_NETWORK);
+     *      csQuery.setCacheTTL(5, TimeUnit.MINUTES);
+     * </pre>
+     */
+    public Query setCacheTTL(long duration, TimeUnit timeUnit) {
+        this.cacheTTL = timeUnit.toMillis(Math.max(0, duration));
+        return this;
+    }
+
+    long getCacheTTL() {
+        return cacheTTL > 0 ? cacheTTL : contentTypeInstance.stackInstance.getCacheTTL(formName);
+    }
+
+    /**
+     * Sets the callback notified when {@link CachePolicy#STALE_WHILE_REVALIDATE} has served {@link #find(QueryResultsCallBack)}
+     * from the cache and the background network call brings a different result. It is not called when the result is unchanged.
+     *
+     * @param listener {@link QueryResultsCallBack} object notified with the changed result.
+     * @return {@link Query} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "env");
+     *      Query csQuery = stack.contentType("contentType_name").query();<br>
+     *      csQuery.setCachePolicy(STALE_WHILE_REVALIDATE);
+     *      csQuery.setUpdateListener(new QueryResultsCallBack() {<br>
+     *          &#64;Override
+     *          public void onCompletion(ResponseType responseType, QueryResult queryResult, Error error) {<br>
+     *          }
+     *      });
+     * </pre>
+     */
+    public Query setUpdateListener(QueryResultsCallBack listener) {
+        this.queryUpdateListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the callback notified when {@link CachePolicy#STALE_WHILE_REVALIDATE} has served {@link #findOne(SingleQueryResultCallback)}
+     * from the cache and the background network call brings a different entry. It is not called when the entry is unchanged.
+     *
+     * @param listener {@link SingleQueryResultCallback} object notified with the changed entry.
+     * @return {@link Query} object, so you can chain this call.
+     */
+    public Query setUpdateListener(SingleQueryResultCallback listener) {
+        this.singleQueryUpdateListener = listener;
+        return this;
+    }
+
     /**
      * Execute a Query and Caches its result (Optional)
      *
@@ -1445,6 +1534,66 @@ public class Query implements INotifyClass {
         return this;
     }
 
+    /**
+     * Execute a Query and deliver each {@link Entry} as soon as it is read from the response, instead of
+     * waiting for the whole page to be modeled.
+     * <br>
+     * The response is parsed as a stream, so large pages never sit in memory as a whole. Streaming calls
+     * always go to the network and are not written to the cache.
+     *
+     * @param callback {@link EntryStreamCallback} object to notify the application of each entry and of completion.
+     * @return {@linkplain Query} object, so you can chain this call.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     *      Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "env");
+     *      Query csQuery = stack.contentType("contentType_name").query();<br>
+     *      csQuery.findStreaming(new EntryStreamCallback() {<br>
+     *          &#64;Override
+     *          public void onEntry(Entry entry) {<br>
+     *              adapter.add(entry);
+     *          }
+     *
+     *          &#64;Override
+     *          public void onCompletion(ResponseType responseType, QueryResult queryResult, Error error) {<br>
+     *
+     *          }
+     *      });<br>
+     * </pre>
+     */
+    public Query findStreaming(EntryStreamCallback callback) {
+        Error error = null;
+        try {
+            if (isJsonProper) {
+
+                if (!TextUtils.isEmpty(formName)) {
+
+                    execStreamingQuery(callback);
+                } else {
+                    throwException("findStreaming", SDKConstant.PLEASE_SET_CONTENT_TYPE_NAME, null);
+                    error = new Error();
+                    error.setErrorMessage(errorString);
+                    error.setErrors(errorHashMap);
+                }
+            } else {
+                error = new Error();
+                error.setErrorMessage(errorString);
+                error.setErrors(errorHashMap);
+            }
+        } catch (Exception e) {
+            throwException("findStreaming", SDKConstant.PLEASE_PROVIDE_VALID_JSON, null);
+            error = new Error();
+            error.setErrorMessage(errorString);
+            error.setErrors(errorHashMap);
+        }
+
+        if (error != null && callback != null) {
+            callback.onRequestFail(ResponseType.UNKNOWN, error);
+        }
+
+        return this;
+    }
+
     /**
      * Execute a Query and Caches its result (Optional)
      *
@@ -1518,7 +1667,9 @@ public class Query implements INotifyClass {
     public void cancelRequest() {
         SDKConstant.cancelledCallController.add(SDKConstant.callController.QUERY.toString());
 
-        if (Contentstack.requestQueue != null) {
+        if (contentTypeInstance != null && contentTypeInstance.stackInstance != null) {
+            contentTypeInstance.stackInstance.cancelRequests(SDKConstant.callController.QUERY.toString());
+        } else if (Contentstack.requestQueue != null) {
             Contentstack.requestQueue.cancelAll(SDKConstant.callController.QUERY.toString());
         }
     }
@@ -1594,9 +1745,7 @@ public class Query implements INotifyClass {
                 }
                 mainJSON.put("query", urlQueries);
                 mainJSON.put("_method", SDKConstant.RequestMethod.GET.toString());
-                String mainStringForMD5 = URL + mainJSON.toString() + headers.toString();
-                String shaValue = new SDKUtil().getSHAFromString(mainStringForMD5.trim());
-                File cacheFile = new File(SDKConstant.cacheFolderName + File.separator + shaValue);
+                File cacheFile = CacheKey.file(URL, urlQueries, headers);
                 CachePolicy cachePolicy = CachePolicy.NETWORK_ONLY;//contentTypeInstance.stackInstance.globalCachePolicyForCall;
                 if (cachePolicyForCall != null) {
                     cachePolicy = cachePolicyForCall;
@@ -1613,12 +1762,7 @@ public class Query implements INotifyClass {
                         break;
                     case CACHE_ELSE_NETWORK:
                         if (cacheFile.exists()) {
-                            boolean needToSendCall = false;
-                            if (maxCacheTimeForCall > 0) {
-                                needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
-                            } else {
-                                needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) defaultCacheTimeInterval);
-                            }
+                            boolean needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
                             if (needToSendCall) {
                                 fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), callback, callBack);
                             } else {
@@ -1642,6 +1786,19 @@ public class Query implements INotifyClass {
                         // from network
                         fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), callback, callBack);
                         break;
+                    case STALE_WHILE_REVALIDATE:
+                        if (cacheFile.exists() && !ModelCache.getInstance().isExpired(cacheFile, getCacheTTL())) {
+                            setCacheModel(cacheFile, callback, callBack);
+                            revalidate(URL, headers, cacheFile, callBack != null);
+                        } else {
+                            fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), callback, callBack);
+                        }
+                        break;
+                    case LOCAL_STORE_ELSE_NETWORK:
+                        if (!fetchFromLocalStore(callback, callBack)) {
+                            fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), callback, callBack);
+                        }
+                        break;
 
                     default:
                         break;
@@ -1654,15 +1811,59 @@ public class Query implements INotifyClass {
         }
     }
 
+    private void execStreamingQuery(EntryStreamCallback callback) {
+        try {
+            String URL = "/" + contentTypeInstance.stackInstance.VERSION + "/content_types/" + formName + "/entries";
+            setQueryJson(null);
+            ArrayMap<String, Object> headers = getHeader(localHeader);
+
+            if (headers.size() < 1) {
+                throwException("findStreaming", SDKConstant.STACK_FIRST, null);
+            } else {
+                if (headers.containsKey("environment")) {
+                    urlQueries.put("environment", headers.get("environment"));
+                }
+                mainJSON.put("query", urlQueries);
+                mainJSON.put("_method", SDKConstant.RequestMethod.GET.toString());
+                HashMap<String, Object> urlParams = getUrlParams(mainJSON);
+                new CSBackgroundTask(this, contentTypeInstance.stackInstance, SDKController.GET_QUERY_ENTRIES_STREAM, URL, headers, urlParams, new JSONObject(), null, SDKConstant.callController.QUERY.toString(), SDKConstant.RequestMethod.GET, callback);
+            }
+        } catch (Exception e) {
+            throwException("findStreaming", SDKConstant.PROVIDE_VALID_PARAMS, e);
+        }
+    }
+
     //fetch from network.
     private void fetchFromNetwork(String URL, ArrayMap<String, Object> headers, JSONObject jsonMain, String cacheFilePath, ResultCallBack callback, SingleQueryResultCallback resultCallback) {
 
-        HashMap<String, Object> urlParams = getUrlParams(jsonMain);
-
         if (resultCallback != null) {
-            new CSBackgroundTask(this, contentTypeInstance.stackInstance, SDKController.SINGLE_QUERY_ENTRIES, URL, headers, urlParams, new JSONObject(), cacheFilePath, SDKConstant.callController.QUERY.toString(), SDKConstant.RequestMethod.GET, resultCallback);
+            fetchFromNetwork(URL, headers, jsonMain, cacheFilePath, SDKController.SINGLE_QUERY_ENTRIES, resultCallback);
         } else {
-            new CSBackgroundTask(this, contentTypeInstance.stackInstance, SDKController.GET_QUERY_ENTRIES, URL, headers, urlParams, new JSONObject(), cacheFilePath, SDKConstant.callController.QUERY.toString(), SDKConstant.RequestMethod.GET, callback);
+            fetchFromNetwork(URL, headers, jsonMain, cacheFilePath, SDKController.GET_QUERY_ENTRIES, callback);
+        }
+    }
+
+    private void fetchFromNetwork(String URL, ArrayMap<String, Object> headers, JSONObject jsonMain, String cacheFilePath, String controller, ResultCallBack callback) {
+        HashMap<String, Object> urlParams = getUrlParams(jsonMain);
+        new CSBackgroundTask(this, contentTypeInstance.stackInstance, controller, URL, headers, urlParams, new JSONObject(), cacheFilePath, SDKConstant.callController.QUERY.toString(), SDKConstant.RequestMethod.GET, callback);
+    }
+
+    /**
+     * Refreshes the cache file served by {@link CachePolicy#STALE_WHILE_REVALIDATE}; a changed response goes to the update listener.
+     */
+    private void revalidate(String URL, ArrayMap<String, Object> headers, File cacheFile, boolean isFindOne) {
+        if (!SDKConstant.IS_NETWORK_AVAILABLE) {
+            return;
+        }
+        revalidating = true;
+        try {
+            if (isFindOne) {
+                fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), SDKController.SINGLE_QUERY_ENTRIES, singleQueryUpdateListener);
+            } else {
+                fetchFromNetwork(URL, headers, mainJSON, cacheFile.getPath(), SDKController.GET_QUERY_ENTRIES, queryUpdateListener);
+            }
+        } finally {
+            revalidating = false;
         }
     }
 
@@ -1694,13 +1895,7 @@ public class Query implements INotifyClass {
         Error error = null;
 
         if (cacheFile.exists()) {
-            boolean needToSendCall = false;
-
-            if (maxCacheTimeForCall > 0) {
-                needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) maxCacheTimeForCall);
-            } else {
-                needToSendCall = new SDKUtil().getResponseTimeFromCacheFile(cacheFile, (int) defaultCacheTimeInterval);
-            }
+            boolean needToSendCall = ModelCache.getInstance().isExpired(cacheFile, getCacheTTL());
 
             if (needToSendCall) {
                 error = new Error();
@@ -1721,9 +1916,39 @@ public class Query implements INotifyClass {
         }
     }
 
-    //ENTRY modeling from cache.
+    boolean fallBackToCache(File cacheFile, ResultCallBack callback) {
+        if ((cachePolicyForCall == CachePolicy.NETWORK_ELSE_CACHE || cachePolicyForCall == CachePolicy.CACHE_ELSE_NETWORK) && cacheFile.exists()) {
+            setCacheModel(cacheFile, callback instanceof QueryResultsCallBack ? (QueryResultsCallBack) callback : null,
+                    callback instanceof SingleQueryResultCallback ? (SingleQueryResultCallback) callback : null);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Answers the query from the {@link LocalStore} when it is enabled, synced and supports the query.
+     *
+     * @return true if the result was delivered.
+     */
+    private boolean fetchFromLocalStore(QueryResultsCallBack callback, SingleQueryResultCallback callBack) throws JSONException {
+        LocalStore store = contentTypeInstance.stackInstance.localStore;
+        if (store == null) {
+            return false;
+        }
+        JSONObject response = store.find(formName, urlQueries);
+        if (response == null) {
+            return false;
+        }
+        setCacheModel(new EntriesModel(new JSONObject().put("response", response), null, true), callback, callBack);
+        return true;
+    }
+
     private void setCacheModel(File cacheFile, QueryResultsCallBack callback, SingleQueryResultCallback callBack) {
-        EntriesModel model = new EntriesModel(SDKUtil.getJsonFromCacheFile(cacheFile), null, true);
+        EntriesModel model = ModelCache.getInstance().load(cacheFile, cacheJSON -> new EntriesModel(cacheJSON, null, true));
+        setCacheModel(model, callback, callBack);
+    }
+
+    private void setCacheModel(EntriesModel model, QueryResultsCallBack callback, SingleQueryResultCallback callBack) {
         List<Entry> entries = new ArrayList<>();
         List<java.lang.Object> objects = model.objectList;
         int countObject = objects.size();
@@ -1776,34 +2001,19 @@ public class Query implements INotifyClass {
 
     @Override
     public void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry) {
+        getResultObject(objects, jsonObject, isSingleEntry, isSingleEntry ? singleQueryResultCallback : queryResultCallback);
+    }
+
+    /**
+     * Delivers a network result to the callback of the request it answers.
+     */
+    void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry, ResultCallBack callback) {
 
         List<Entry> objectList = new ArrayList<>();
         int countObject = objects.size();
 
         for (int i = 0; i < countObject; i++) {
-            Entry entry = null;
-            try {
-                entry = contentTypeInstance.stackInstance.contentType(formName).entry(((EntryModel) objects.get(i)).entryUid);
-            } catch (Exception e) {
-                entry = new Entry(formName);
-            }
-            entry.setUid(((EntryModel) objects.get(i)).entryUid);
-            entry.resultJson = ((EntryModel) objects.get(i)).jsonObject;
-            entry.ownerEmailId = ((EntryModel) objects.get(i)).ownerEmailId;
-            entry.ownerUid = ((EntryModel) objects.get(i)).ownerUid;
-            entry.title = ((EntryModel) objects.get(i)).title;
-            entry.url = ((EntryModel) objects.get(i)).url;
-
-            if (((EntryModel) objects.get(i)).ownerMap != null) {
-                entry.owner = new HashMap<>(((EntryModel) objects.get(i)).ownerMap);
-            }
-            if (((EntryModel) objects.get(i))._metadata != null) {
-                entry._metadata = new HashMap<>(((EntryModel) objects.get(i))._metadata);
-            }
-
-
-            entry.setTags(((EntryModel) objects.get(i)).tags);
-            objectList.add(entry);
+            objectList.add(getEntry((EntryModel) objects.get(i)));
         }
 
         if (isSingleEntry) {
@@ -1812,17 +2022,57 @@ public class Query implements INotifyClass {
                 entry = objectList.get(0);
             }
 
-            if (singleQueryResultCallback != null) {
-                singleQueryResultCallback.onRequestFinish(ResponseType.NETWORK, entry);
+            if (callback instanceof SingleQueryResultCallback) {
+                ((SingleQueryResultCallback) callback).onRequestFinish(ResponseType.NETWORK, entry);
             }
 
         } else {
             QueryResult queryResultObject = new QueryResult();
             queryResultObject.setJSON(jsonObject, objectList);
 
-            if (queryResultCallback != null) {
-                queryResultCallback.onRequestFinish(ResponseType.NETWORK, queryResultObject);
+            if (callback instanceof QueryResultsCallBack) {
+                ((QueryResultsCallBack) callback).onRequestFinish(ResponseType.NETWORK, queryResultObject);
+            }
+        }
+    }
+
+    Entry getEntry(EntryModel model) {
+        Entry entry = null;
+        try {
+            entry = contentTypeInstance.stackInstance.contentType(formName).entry(model.entryUid);
+        } catch (Exception e) {
+            entry = new Entry(formName);
+        }
+        entry.setUid(model.entryUid);
+        entry.resultJson = model.jsonObject;
+        entry.ownerEmailId = model.ownerEmailId;
+        entry.ownerUid = model.ownerUid;
+        entry.title = model.title;
+        entry.url = model.url;
+
+        if (model.ownerMap != null) {
+            entry.owner = new HashMap<>(model.ownerMap);
+        }
+        if (model._metadata != null) {
+            entry._metadata = new HashMap<>(model._metadata);
+        }
+
+        entry.setTags(model.tags);
+        return entry;
+    }
+
+    void getStreamResult(JSONObject jsonObject, int streamedCount, EntryStreamCallback callback) {
+        try {
+            if (jsonObject != null && !jsonObject.has("count")) {
+                jsonObject.put("count", streamedCount);
             }
+        } catch (JSONException e) {
+            SDKUtil.showLog(TAG, "----------------getStreamResult" + e.toString());
+        }
+        QueryResult queryResultObject = new QueryResult();
+        queryResultObject.setJSON(jsonObject, new ArrayList<Entry>());
+        if (callback != null) {
+            callback.onRequestFinish(ResponseType.NETWORK, queryResultObject);
         }
     }
 
@@ -0,0 +1,164 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link IHttpTransport} that lets concurrent identical GET requests share one network call.
+ * <p>
+ * The first connection for a request key is sent through the wrapped transport; connections sent with the
+ * same key while it is in flight wait for it and receive their own copy of its response or error.
+ * Streaming connections are always sent on their own.
+ *
+ * @author contentstack.com, Inc
+ */
+class RequestCoalescer implements IHttpTransport {
+
+    private static final String TAG = RequestCoalescer.class.getSimpleName();
+
+    private final IHttpTransport transport;
+    private final Map<String, Flight> inFlight = new HashMap<>();
+
+    private static class Flight {
+        final CSHttpConnection leader;
+        final List<CSHttpConnection> followers = new ArrayList<>();
+
+        Flight(CSHttpConnection leader) {
+            this.leader = leader;
+        }
+    }
+
+    RequestCoalescer(IHttpTransport transport) {
+        this.transport = transport;
+    }
+
+    IHttpTransport getTransport() {
+        return transport;
+    }
+
+    @Override
+    public void execute(CSHttpConnection connection) {
+        if (connection.getStreamKey() != null || connection.getRequestMethod() != SDKConstant.RequestMethod.GET) {
+            transport.execute(connection);
+            return;
+        }
+        String requestKey = connection.getRequestKey();
+        synchronized (inFlight) {
+            Flight flight = inFlight.get(requestKey);
+            if (flight != null) {
+                SDKUtil.showLog(TAG, "joined in-flight request " + requestKey);
+                flight.followers.add(connection);
+                return;
+            }
+            inFlight.put(requestKey, new Flight(connection));
+        }
+        connection.setCoalescer(this, requestKey);
+        transport.execute(connection);
+    }
+
+    /**
+     * Cancels the connections sent with the tag. Followers with another tag keep waiting; if their leader is
+     * cancelled, the first of them is sent in its place.
+     */
+    @Override
+    public void cancelAll(String tag) {
+        List<CSHttpConnection> cancelled = new ArrayList<>();
+        List<Flight> promoted = new ArrayList<>();
+        synchronized (inFlight) {
+            Iterator<Map.Entry<String, Flight>> iterator = inFlight.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Flight> entry = iterator.next();
+                Flight flight = entry.getValue();
+                Iterator<CSHttpConnection> followers = flight.followers.iterator();
+                while (followers.hasNext()) {
+                    CSHttpConnection follower = followers.next();
+                    if (tag != null && tag.equals(follower.getInfo())) {
+                        followers.remove();
+                        cancelled.add(follower);
+                    }
+                }
+                if (tag == null || !tag.equals(flight.leader.getInfo())) {
+                    continue;
+                }
+                if (flight.followers.isEmpty()) {
+                    iterator.remove();
+                } else {
+                    Flight next = new Flight(flight.followers.remove(0));
+                    next.followers.addAll(flight.followers);
+                    entry.setValue(next);
+                    promoted.add(next);
+                }
+            }
+        }
+        transport.cancelAll(tag);
+        for (CSHttpConnection follower : cancelled) {
+            follower.onTransportCancelled();
+        }
+        for (Flight flight : promoted) {
+            SDKUtil.showLog(TAG, "leader cancelled, resending " + flight.leader.getRequestKey());
+            flight.leader.setCoalescer(this, flight.leader.getRequestKey());
+            transport.execute(flight.leader);
+        }
+    }
+
+    /**
+     * Called by the leading connection when its response arrives, before it is handed to its own request.
+     * Followers get the validators of the response as well, so it is cached with them.
+     */
+    void onResponse(CSHttpConnection leader, String requestKey, JSONObject response) {
+        List<CSHttpConnection> followers = complete(leader, requestKey);
+        if (followers.isEmpty()) {
+            return;
+        }
+        String body = response.toString();
+        for (CSHttpConnection follower : followers) {
+            follower.setResponseValidators(leader.getETag(), leader.getLastModified());
+            try {
+                follower.onTransportResponse(new JSONObject(body));
+            } catch (Exception e) {
+                SDKUtil.showLog(TAG, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Called by the leading connection when the server answered 304. Followers carry the same validators, so
+     * their cached responses are current as well.
+     */
+    void onNotModified(CSHttpConnection leader, String requestKey, String eTag, String lastModified) {
+        for (CSHttpConnection follower : complete(leader, requestKey)) {
+            follower.onTransportNotModified(eTag, lastModified);
+        }
+    }
+
+    /**
+     * Called by the leading connection when it fails, before the error is handed to its own request.
+     */
+    void onError(CSHttpConnection leader, String requestKey, int statusCode, byte[] data, String errorType, String message) {
+        for (CSHttpConnection follower : complete(leader, requestKey)) {
+            follower.generateBuiltError(statusCode, data, errorType, message);
+        }
+    }
+
+    int getInFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    private List<CSHttpConnection> complete(CSHttpConnection leader, String requestKey) {
+        synchronized (inFlight) {
+            Flight flight = inFlight.get(requestKey);
+            if (flight == null || flight.leader != leader) {
+                return new ArrayList<>();
+            }
+            inFlight.remove(requestKey);
+            return flight.followers;
+        }
+    }
+}
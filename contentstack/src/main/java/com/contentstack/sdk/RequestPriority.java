@@ -0,0 +1,62 @@
+package com.contentstack.sdk;
+
+/**
+ * Priority classes used to schedule network calls, from the most to the least urgent. Each class has its
+ * own concurrency limit, set with {@link Config#setMaxConcurrentRequests(RequestPriority, int)}.
+ *
+ * @author contentstack.com, Inc
+ */
+public enum RequestPriority {
+
+    /**
+     * Single items a screen is waiting on: {@link Entry#fetch(EntryResultCallBack)} and {@link Asset#fetch(FetchResultCallback)}.
+     */
+    HIGH(5),
+
+    /**
+     * Queries and schema calls: {@link Query#find(QueryResultsCallBack)}, content types and global fields.
+     */
+    NORMAL(5),
+
+    /**
+     * Bulk listing: {@link AssetLibrary#fetchAll(FetchAssetsCallback)}.
+     */
+    LOW(2),
+
+    /**
+     * Background synchronisation: {@link Stack#sync(SyncResultCallBack)} and its variants.
+     */
+    BACKGROUND(1);
+
+    private final int defaultMaxConcurrent;
+
+    RequestPriority(int defaultMaxConcurrent) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+    }
+
+    int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    /**
+     * @param controller {@link SDKController} constant of the request.
+     * @return priority class of the request; {@link #NORMAL} for unknown controllers.
+     */
+    static RequestPriority forController(String controller) {
+        if (controller == null) {
+            return NORMAL;
+        }
+        switch (controller) {
+            case SDKController.GET_ENTRY:
+            case SDKController.GET_ASSETS:
+                return HIGH;
+            case SDKController.GET_ALL_ASSETS:
+            case SDKController.GET_ALL_ASSETS_STREAM:
+                return LOW;
+            case SDKController.GET_SYNC:
+                return BACKGROUND;
+            default:
+                return NORMAL;
+        }
+    }
+}
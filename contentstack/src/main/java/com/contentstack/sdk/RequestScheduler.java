@@ -0,0 +1,173 @@
+package com.contentstack.sdk;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link IHttpTransport} that limits how many requests run at once, overall and per {@link RequestPriority}.
+ * <p>
+ * Requests over the limits wait in one FIFO queue per priority. When a slot frees up the most urgent
+ * queue that is under its own limit goes first, so a detail screen fetch overtakes a waiting sync page.
+ * To keep the lower classes moving, a waiting request that has been passed over {@link #FAIRNESS_SKIPS}
+ * times goes next regardless of its priority.
+ *
+ * @author contentstack.com, Inc
+ */
+class RequestScheduler implements IHttpTransport {
+
+    private static final String TAG = RequestScheduler.class.getSimpleName();
+    static final int FAIRNESS_SKIPS = 8;
+
+    private final IHttpTransport transport;
+    private final int maxConcurrent;
+    private final int[] maxPerPriority;
+    private final int[] running;
+    private final List<ArrayDeque<Pending>> queues = new ArrayList<>();
+    private final Map<CSHttpConnection, RequestPriority> inFlight = new HashMap<>();
+
+    private static class Pending {
+        final CSHttpConnection connection;
+        final RequestPriority priority;
+        int skipped = 0;
+
+        Pending(CSHttpConnection connection, RequestPriority priority) {
+            this.connection = connection;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * @param transport      transport the requests are sent through.
+     * @param maxConcurrent  requests allowed to run at once over all priorities.
+     * @param maxPerPriority requests allowed to run at once per priority, indexed by ordinal.
+     */
+    RequestScheduler(IHttpTransport transport, int maxConcurrent, int[] maxPerPriority) {
+        this.transport = transport;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxPerPriority = new int[RequestPriority.values().length];
+        for (RequestPriority priority : RequestPriority.values()) {
+            this.maxPerPriority[priority.ordinal()] = Math.max(1, maxPerPriority[priority.ordinal()]);
+            queues.add(new ArrayDeque<Pending>());
+        }
+        this.running = new int[this.maxPerPriority.length];
+    }
+
+    IHttpTransport getTransport() {
+        return transport;
+    }
+
+    @Override
+    public void execute(CSHttpConnection connection) {
+        RequestPriority priority = RequestPriority.forController(connection.getController());
+        List<CSHttpConnection> ready;
+        synchronized (this) {
+            queues.get(priority.ordinal()).add(new Pending(connection, priority));
+            ready = dispatch();
+        }
+        send(ready);
+    }
+
+    @Override
+    public void cancelAll(String tag) {
+        List<CSHttpConnection> ready;
+        synchronized (this) {
+            for (ArrayDeque<Pending> queue : queues) {
+                Iterator<Pending> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (tag != null && tag.equals(iterator.next().connection.getInfo())) {
+                        iterator.remove();
+                    }
+                }
+            }
+            // cancelled calls are never delivered, so their slots are released here
+            Iterator<Map.Entry<CSHttpConnection, RequestPriority>> iterator = inFlight.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<CSHttpConnection, RequestPriority> entry = iterator.next();
+                if (tag != null && tag.equals(entry.getKey().getInfo())) {
+                    running[entry.getValue().ordinal()]--;
+                    iterator.remove();
+                }
+            }
+            ready = dispatch();
+        }
+        transport.cancelAll(tag);
+        send(ready);
+    }
+
+    /**
+     * Called by a dispatched connection once its response or error is delivered.
+     */
+    void onComplete(CSHttpConnection connection) {
+        List<CSHttpConnection> ready;
+        synchronized (this) {
+            RequestPriority priority = inFlight.remove(connection);
+            if (priority == null) {
+                return;
+            }
+            running[priority.ordinal()]--;
+            ready = dispatch();
+        }
+        send(ready);
+    }
+
+    synchronized int getRunningCount(RequestPriority priority) {
+        return running[priority.ordinal()];
+    }
+
+    synchronized int getQueuedCount(RequestPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    private List<CSHttpConnection> dispatch() {
+        List<CSHttpConnection> ready = new ArrayList<>();
+        Pending next;
+        while (inFlight.size() < maxConcurrent && (next = pollNext()) != null) {
+            running[next.priority.ordinal()]++;
+            inFlight.put(next.connection, next.priority);
+            ready.add(next.connection);
+        }
+        return ready;
+    }
+
+    /**
+     * Takes the next request to run: the head of the most urgent eligible queue, unless a less urgent
+     * head has been skipped {@link #FAIRNESS_SKIPS} times.
+     */
+    private Pending pollNext() {
+        int selected = -1;
+        for (int i = 0; i < queues.size(); i++) {
+            Pending head = queues.get(i).peek();
+            if (head == null || running[i] >= maxPerPriority[i]) {
+                continue;
+            }
+            if (selected == -1 || head.skipped >= FAIRNESS_SKIPS) {
+                selected = i;
+                if (head.skipped >= FAIRNESS_SKIPS) {
+                    break;
+                }
+            }
+        }
+        if (selected == -1) {
+            return null;
+        }
+        for (int i = 0; i < queues.size(); i++) {
+            Pending head = queues.get(i).peek();
+            if (i != selected && head != null && running[i] < maxPerPriority[i]) {
+                head.skipped++;
+            }
+        }
+        return queues.get(selected).poll();
+    }
+
+    private void send(List<CSHttpConnection> ready) {
+        for (final CSHttpConnection connection : ready) {
+            SDKUtil.showLog(TAG, "dispatching " + connection.getController());
+            connection.setCompletionListener(() -> onComplete(connection));
+            transport.execute(connection);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.contentstack.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp interceptor applying a {@link RetryPolicy}. It is installed on the stack's shared client, so it
+ * covers every controller, including {@link Taxonomy}.
+ *
+ * @author contentstack.com, Inc
+ */
+class RetryInterceptor implements Interceptor {
+
+    private static final String TAG = RetryInterceptor.class.getSimpleName();
+
+    private final RetryPolicy retryPolicy;
+
+    RetryInterceptor(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        int attempt = 1;
+        while (true) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (!idempotent || !retryPolicy.isRetryOnConnectionFailure()
+                        || attempt >= retryPolicy.getMaxAttempts() || chain.call().isCanceled()) {
+                    throw e;
+                }
+                SDKUtil.showLog(TAG, "retrying after " + e);
+                sleep(retryPolicy.getDelayMillis(attempt, -1));
+                attempt++;
+                continue;
+            }
+
+            if (!idempotent || !retryPolicy.isRetryable(response.code())
+                    || attempt >= retryPolicy.getMaxAttempts() || chain.call().isCanceled()) {
+                return response;
+            }
+            long delay = retryPolicy.getDelayMillis(attempt, getRetryAfterMillis(response));
+            SDKUtil.showLog(TAG, "retrying after status " + response.code() + " in " + delay + "ms");
+            response.close();
+            sleep(delay);
+            attempt++;
+        }
+    }
+
+    /**
+     * Reads <code>Retry-After</code>, given either in seconds or as an HTTP date.
+     *
+     * @return delay in milliseconds, or -1 when absent or invalid.
+     */
+    static long getRetryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("retry interrupted");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.contentstack.sdk;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry policy for failed network calls, set with {@link Config#setRetryPolicy(RetryPolicy)}.
+ * <br>
+ * A GET request is retried when the connection fails or times out, or when the response status is one of
+ * {@link #getRetryStatusCodes()} (429 and 5xx by default). The delay before retry <code>n</code> is
+ * <code>baseDelay * 2^(n-1)</code>, capped at the max delay and reduced by a random jitter so that clients
+ * do not retry in lock step. When the response carries a <code>Retry-After</code> header it is used instead,
+ * still capped at the max delay.
+ *
+ * <br><br><b>Example :</b><br>
+ * <pre class="prettyprint">
+ * RetryPolicy retryPolicy = new RetryPolicy()
+ *         .setMaxAttempts(3)
+ *         .setBaseDelay(500, TimeUnit.MILLISECONDS)
+ *         .setJitter(0.5);
+ * Config config = new Config();
+ * config.setRetryPolicy(retryPolicy);
+ * </pre>
+ *
+ * @author contentstack.com, Inc
+ */
+public class RetryPolicy {
+
+    private static final Random RANDOM = new Random();
+
+    private int maxAttempts = 3;
+    private long baseDelayMillis = 500;
+    private long maxDelayMillis = 10000;
+    private double jitter = 0.5;
+    private boolean retryAfterHonored = true;
+    private boolean retryOnConnectionFailure = true;
+    private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+
+    /**
+     * Total number of attempts, including the first one. 1 disables retries.
+     *
+     * @param maxAttempts attempts per request, at least 1.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        return this;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Delay before the first retry; it doubles for every further retry.
+     *
+     * @param delay    base delay.
+     * @param timeUnit unit of the delay.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setBaseDelay(long delay, TimeUnit timeUnit) {
+        this.baseDelayMillis = Math.max(0, timeUnit.toMillis(delay));
+        return this;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    /**
+     * Upper bound of any single delay, including one asked for by <code>Retry-After</code>.
+     *
+     * @param delay    max delay.
+     * @param timeUnit unit of the delay.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setMaxDelay(long delay, TimeUnit timeUnit) {
+        this.maxDelayMillis = Math.max(0, timeUnit.toMillis(delay));
+        return this;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Fraction of each backoff delay that is randomised, from 0 (fixed delays) to 1 (anywhere between 0 and
+     * the full delay).
+     *
+     * @param jitter jitter between 0 and 1.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setJitter(double jitter) {
+        this.jitter = Math.min(1, Math.max(0, jitter));
+        return this;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Whether a <code>Retry-After</code> response header replaces the computed backoff delay.
+     *
+     * @param retryAfterHonored true to honor <code>Retry-After</code>.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setRetryAfterHonored(boolean retryAfterHonored) {
+        this.retryAfterHonored = retryAfterHonored;
+        return this;
+    }
+
+    public boolean isRetryAfterHonored() {
+        return retryAfterHonored;
+    }
+
+    /**
+     * Whether connection failures and timeouts are retried.
+     *
+     * @param retryOnConnectionFailure true to retry connection failures.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setRetryOnConnectionFailure(boolean retryOnConnectionFailure) {
+        this.retryOnConnectionFailure = retryOnConnectionFailure;
+        return this;
+    }
+
+    public boolean isRetryOnConnectionFailure() {
+        return retryOnConnectionFailure;
+    }
+
+    /**
+     * HTTP status codes that are retried.
+     *
+     * @param statusCodes status codes, for example 429, 502, 503.
+     * @return {@link RetryPolicy} object, so you can chain this call.
+     */
+    public RetryPolicy setRetryStatusCodes(Integer... statusCodes) {
+        this.retryStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+        return this;
+    }
+
+    public Set<Integer> getRetryStatusCodes() {
+        return Collections.unmodifiableSet(retryStatusCodes);
+    }
+
+    boolean isRetryable(int statusCode) {
+        return retryStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * Delay before the given retry.
+     *
+     * @param retry           1 for the first retry, 2 for the second and so on.
+     * @param retryAfterMillis delay asked for by the server, or -1.
+     * @return delay in milliseconds.
+     */
+    long getDelayMillis(int retry, long retryAfterMillis) {
+        if (retryAfterHonored && retryAfterMillis >= 0) {
+            return Math.min(retryAfterMillis, maxDelayMillis);
+        }
+        long delay = baseDelayMillis << Math.min(retry - 1, 30);
+        if (delay < 0 || delay > maxDelayMillis) {
+            delay = maxDelayMillis;
+        }
+        return delay - (long) (delay * jitter * RANDOM.nextDouble());
+    }
+}
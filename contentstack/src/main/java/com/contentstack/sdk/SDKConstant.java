@@ -6,6 +6,8 @@ public class SDKConstant {
 
     protected static final String ENVIRONMENT = "environment";
     protected static final String CACHE = "ContentstackCache";
+    protected static final String STORE = "ContentstackStore";
+    protected static final String SYNC = "ContentstackSync";
     public static final boolean debug = false;
     public static boolean IS_NETWORK_AVAILABLE = true;
     public static String PROTOCOL = "https://";
@@ -12,6 +12,11 @@ public class SDKController {
      */
     public static final String GET_QUERY_ENTRIES = "getQueryEntries";
 
+    /**
+     * The constant GET_QUERY_ENTRIES_STREAM.
+     */
+    public static final String GET_QUERY_ENTRIES_STREAM = "getQueryEntriesStream";
+
     /**
      * The constant SINGLE_QUERY_ENTRIES.
      */
@@ -27,6 +32,11 @@ public class SDKController {
      */
     public static final String GET_ALL_ASSETS = "getAllAssets";
 
+    /**
+     * The constant GET_ALL_ASSETS_STREAM.
+     */
+    public static final String GET_ALL_ASSETS_STREAM = "getAllAssetsStream";
+
     /**
      * The constant GET_ASSETS.
      */
@@ -5,7 +5,6 @@ import android.app.AlarmManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.os.SystemClock;
 import android.util.Log;
 
 import org.json.JSONArray;
@@ -13,11 +12,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.w3c.dom.Attr;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
 import java.security.MessageDigest;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -25,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -48,14 +44,25 @@ public class SDKUtil {
         }
     }
 
+    /**
+     * Indexes the cache folder and evicts expired files on the cache writer thread. From then on
+     * {@link CacheEvictor} evicts after every write, so the daily alarm earlier versions set is cancelled.
+     *
+     * @param context application context.
+     */
     protected static void clearCache(Context context) {
         Intent alarmIntent = new Intent(CLEAR_CACHE);
         alarmIntent.setPackage(context.getPackageName());
-        int flag = PendingIntent.FLAG_UPDATE_CURRENT;
+        int flag = PendingIntent.FLAG_NO_CREATE;
         if (android.os.Build.VERSION.SDK_INT >= 23) flag = PendingIntent.FLAG_IMMUTABLE | flag;
         PendingIntent pendingIntent = PendingIntent.getBroadcast(context, 0, alarmIntent, flag);
-        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-        alarmManager.setRepeating(AlarmManager.ELAPSED_REALTIME_WAKEUP, SystemClock.elapsedRealtime(), AlarmManager.INTERVAL_DAY, pendingIntent);
+        if (pendingIntent != null) {
+            AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+            alarmManager.cancel(pendingIntent);
+            pendingIntent.cancel();
+        }
+        File cacheFolder = context.getDir(SDKConstant.CACHE, 0);
+        CacheWriter.getInstance().submit(() -> CacheEvictor.getInstance().sweep(cacheFolder));
     }
 
     /**
@@ -67,31 +74,8 @@ public class SDKUtil {
      */
     public boolean getResponseTimeFromCacheFile(File file, long time) {
         try {
-            JSONObject jsonObj = getJsonFromCacheFile(file);
-            long responseDate = Long.parseLong(jsonObj.optString("timestamp"));
-
-            Calendar responseCalendar = Calendar.getInstance();
-
-            responseCalendar.add(Calendar.MINUTE, 0);
-            responseCalendar.set(Calendar.SECOND, 0);
-            responseCalendar.set(Calendar.MILLISECOND, 0);
-            responseCalendar.setTimeInMillis(responseDate);
-            responseCalendar.getTimeInMillis();
-
-
-            Calendar currentCalendar = Calendar.getInstance();
-            currentCalendar.setTime(new Date());
-            currentCalendar.getTimeInMillis();
-
-            long dateDiff = (currentCalendar.getTimeInMillis() - responseCalendar.getTimeInMillis());
-            long dateDiffInMin = dateDiff / (60 * 1000);
-
-
-            if (dateDiffInMin > (time / 60000)) {
-                return true;// need to send call.
-            } else {
-                return false;// no need to send call.
-            }
+            long responseDate = CacheRecord.readTimestamp(file);
+            return responseDate >= 0 && isExpired(responseDate, time);
 
         } catch (Exception e) {
             showLog("appUtils", e.getLocalizedMessage());
@@ -100,34 +84,62 @@ public class SDKUtil {
     }
 
     /**
-     * To retrieve data from cache.
+     * To check if a response cached at the given time is older than the given time window.
+     *
+     * @param responseDate time the response was cached, in milliseconds.
+     * @param time         time window in milliseconds.
+     * @return true if the response is older than the window and a call is needed.
+     */
+    static boolean isExpired(long responseDate, long time) {
+        return System.currentTimeMillis() - responseDate > time;
+    }
+
+    /**
+     * To retrieve data from cache. Both binary {@link CacheRecord} files and plain JSON files are read.
      *
      * @param file cache file.
      * @return cache data in JSON.
      */
     public static JSONObject getJsonFromCacheFile(File file) {
+        return CacheRecord.readJSON(file);
+    }
 
-        JSONObject json = null;
-        InputStream input = null;
-        ByteArrayOutputStream buffer = null;
-        try {
-
-            input = new BufferedInputStream(new FileInputStream(file));
-            buffer = new ByteArrayOutputStream();
-            byte[] temp = new byte[1024];
-            int read;
-            while ((read = input.read(temp)) > 0) {
-                buffer.write(temp, 0, read);
+    /**
+     * Copies a JSON object and every object and array nested in it, so the copy can be changed without
+     * changing the original.
+     *
+     * @param json JSON to copy.
+     * @return the copy.
+     */
+    static JSONObject deepCopy(JSONObject json) {
+        JSONObject copy = new JSONObject();
+        Iterator<String> keys = json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            try {
+                copy.put(key, deepCopyValue(json.opt(key)));
+            } catch (JSONException e) {
+                showLog("appUtils", e.getLocalizedMessage());
             }
-            json = new JSONObject(buffer.toString("UTF-8"));
-            buffer.flush();
-            buffer.close();
-            input.close();
-            return json;
-        } catch (Exception e) {
-            showLog("appUtils", "------------getJsonFromFilec catch-|" + e.toString());
-            return null;
         }
+        return copy;
+    }
+
+    static JSONArray deepCopy(JSONArray array) {
+        JSONArray copy = new JSONArray();
+        for (int i = 0; i < array.length(); i++) {
+            copy.put(deepCopyValue(array.opt(i)));
+        }
+        return copy;
+    }
+
+    private static Object deepCopyValue(Object value) {
+        if (value instanceof JSONObject) {
+            return deepCopy((JSONObject) value);
+        } else if (value instanceof JSONArray) {
+            return deepCopy((JSONArray) value);
+        }
+        return value;
     }
 
     /**
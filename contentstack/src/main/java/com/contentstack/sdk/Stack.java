@@ -5,25 +5,27 @@ import android.text.TextUtils;
 import android.util.ArrayMap;
 import android.util.Log;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.UnsupportedEncodingException;
 import java.net.Proxy;
-import java.net.URLEncoder;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TimeZone;
 
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
@@ -37,6 +39,7 @@ import retrofit2.converter.gson.GsonConverterFactory;
 public class Stack implements INotifyClass {
 
     private static final String TAG = "Stack";
+    private static final int CONTENT_TYPES_PAGE = 100;
     private String stackApiKey = null;
     protected ArrayMap<String, Object> localHeader = null;
     private String imageTransformationUrl;
@@ -53,6 +56,14 @@ public class Stack implements INotifyClass {
     protected String localeCode;
     private SyncResultCallBack syncCallBack;
     protected APIService service;
+    protected OkHttpClient httpClient;
+    private IHttpTransport transport;
+    protected long syncDeadline = 0;
+    protected int syncWindow = SyncPipeline.DEFAULT_WINDOW;
+    protected int syncParallelism = SyncAll.DEFAULT_PARALLELISM;
+    protected boolean syncCompaction = false;
+    protected LocalStore localStore;
+    protected SyncCheckpoint syncCheckpoint;
 
 
     protected Stack() {
@@ -100,6 +111,8 @@ public class Stack implements INotifyClass {
         String endpoint = config.PROTOCOL + config.URL;
         this.config.setEndpoint(endpoint);
         client(endpoint);
+        ModelCache.getInstance().configure(config.getMemoryCacheSize(), config.getMemoryCacheEviction());
+        CacheEvictor.getInstance().configure(config.getDiskCacheSize(), config.getCacheTTL(), config.cacheTTLPerContentType);
 
 
     }
@@ -107,10 +120,35 @@ public class Stack implements INotifyClass {
     private void client(String endpoint) {
         Proxy proxy = this.config.getProxy();
         ConnectionPool pool = this.config.connectionPool;
-        OkHttpClient client = new OkHttpClient.Builder()
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
                 .proxy(proxy)
                 .connectionPool(pool)
-                .build();
+                .connectTimeout(this.config.getConnectTimeout(), TimeUnit.MILLISECONDS)
+                .readTimeout(this.config.getReadTimeout(), TimeUnit.MILLISECONDS)
+                .callTimeout(this.config.getCallTimeout(), TimeUnit.MILLISECONDS)
+                .addInterceptor(new ContentEncodingInterceptor(this.config.getTransferStatsListener()));
+        if (this.config.getRetryPolicy() != null) {
+            builder.addInterceptor(new RetryInterceptor(this.config.getRetryPolicy()));
+        }
+        Dispatcher dispatcher = new Dispatcher();
+        // the scheduler below enforces the limits, the dispatcher must not queue behind it
+        dispatcher.setMaxRequestsPerHost(Math.max(dispatcher.getMaxRequestsPerHost(), this.config.getMaxConcurrentRequests()));
+        builder.dispatcher(dispatcher);
+        OkHttpClient client = builder.build();
+        this.httpClient = client;
+        if (this.config.getTransport() == Config.Transport.VOLLEY) {
+            this.transport = new VolleyTransport((int) this.config.getReadTimeout(), this.config.getRetryPolicy());
+        } else {
+            this.transport = new OkHttpTransport(client);
+        }
+        int[] maxPerPriority = new int[RequestPriority.values().length];
+        for (RequestPriority priority : RequestPriority.values()) {
+            maxPerPriority[priority.ordinal()] = this.config.getMaxConcurrentRequests(priority);
+        }
+        this.transport = new RequestScheduler(this.transport, this.config.getMaxConcurrentRequests(), maxPerPriority);
+        if (this.config.isRequestCoalescing()) {
+            this.transport = new RequestCoalescer(this.transport);
+        }
 
         Retrofit retrofit = new Retrofit.Builder().baseUrl(endpoint)
                 .client(client)
@@ -119,6 +157,24 @@ public class Stack implements INotifyClass {
         this.service = retrofit.create(APIService.class);
     }
 
+    /**
+     * Transport shared by every request made through this stack.
+     *
+     * @return the configured transport, or the default OkHttp transport when no {@link Config} was set.
+     */
+    protected IHttpTransport getTransport() {
+        return transport != null ? transport : OkHttpTransport.getDefault();
+    }
+
+    /**
+     * Cancels the pending requests sent with the given tag.
+     *
+     * @param tag controller name used as request tag.
+     */
+    protected void cancelRequests(String tag) {
+        getTransport().cancelAll(tag);
+    }
+
 
 
     /**
@@ -345,21 +401,11 @@ public class Stack implements INotifyClass {
         if (imageParams == null || imageParams.size() == 0) {
             return imageTransformationUrl;
         }
+        UrlBuilder builder = new UrlBuilder(imageTransformationUrl, imageParams.size() * 16);
         for (Map.Entry<String, Object> param : imageParams.entrySet()) {
-            try {
-                String paramKey = param.getKey();
-                String paramValue = param.getValue().toString();
-                final String encodedKey = URLEncoder.encode(paramKey, "UTF-8");
-                final String encodedValue = URLEncoder.encode(paramValue, "UTF-8");
-                if (!imageTransformationUrl.contains("?")) {
-                    imageTransformationUrl += "?" + encodedKey + "=" + encodedValue;
-                } else {
-                    imageTransformationUrl += "&" + encodedKey + "=" + encodedValue;
-                }
-            } catch (UnsupportedEncodingException e) {
-                Log.e(TAG, Objects.requireNonNull(e.getLocalizedMessage()));
-            }
+            builder.append(param.getKey(), param.getValue());
         }
+        imageTransformationUrl = builder.build();
         return imageTransformationUrl;
     }
 
@@ -427,6 +473,10 @@ public class Stack implements INotifyClass {
      *                     It returns all the published entries and assets of the specified stack in response.
      *                     The response also contains a sync token, which you need to store,
      *                     since this token is used to get subsequent delta updates later.
+     *                     <p>
+     *                     Progress is checkpointed after every page the callback returns from: if the sync is
+     *                     interrupted, calling it again with the same parameters resumes after the last page
+     *                     delivered instead of starting over.
      *
      *                     <br><br><b>Example :</b><br>
      *                     <pre>
@@ -671,6 +721,250 @@ public class Stack implements INotifyClass {
     }
 
 
+    /**
+     * Sets a deadline for each sync request. It applies to every page of a paginated sync separately, so a
+     * long sync is not cut short as a whole; a page that misses it is reported to the callback as a timeout.
+     *
+     * @param duration deadline per request, 0 for the {@link Config} timeouts.
+     * @param timeUnit unit of the deadline.
+     *
+     *                 <br><br><b>Example :</b><br>
+     *                 <pre class="prettyprint">
+     *                 Stack stack = Contentstack.stack(context, "apiKey", "deliveryToken", "stag");
+     *                 stack.setSyncDeadline(10, TimeUnit.SECONDS);
+     *                 </pre>
+     */
+    public void setSyncDeadline(long duration, TimeUnit timeUnit) {
+        this.syncDeadline = timeUnit.toMillis(duration);
+    }
+
+    /**
+     * Sets how many pages a {@link SyncPipeline} fetches ahead of its consumer, counting the request in flight.
+     *
+     * @param pages pages fetched ahead, at least 1; 2 by default.
+     *
+     *              <br><br><b>Example :</b><br>
+     *              <pre class="prettyprint">
+     *              stack.setSyncWindow(4);
+     *              </pre>
+     */
+    public void setSyncWindow(int pages) {
+        this.syncWindow = Math.max(1, pages);
+    }
+
+    /**
+     * Compacts sync responses before they are applied and delivered, see {@link SyncStack#compact()}: the
+     * events of an entry or asset in a page come down to the last one. A {@link SyncPipeline} also joins the
+     * pages waiting in its window into one compacted page, so the longer the consumer takes, the more churn
+     * it is spared. Off by default.
+     *
+     * @param compaction true to compact.
+     *
+     *                   <br><br><b>Example :</b><br>
+     *                   <pre class="prettyprint">
+     *                   stack.setSyncCompaction(true);
+     *                   stack.setSyncWindow(8);
+     *                   </pre>
+     */
+    public void setSyncCompaction(boolean compaction) {
+        this.syncCompaction = compaction;
+    }
+
+    /**
+     * Runs an initial sync as a {@link SyncPipeline}: the next page is fetched while the callback applies the
+     * current one, and the final sync token comes with {@link SyncPipelineCallback#onCompletion(String, Error)}.
+     *
+     * @param callback receives the pages and the sync token.
+     * @return the running sync, to pause, resume or cancel it.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * stack.syncPipeline(new SyncPipelineCallback() {
+     *     public void onPage(SyncStack syncStack) {
+     *         database.save(syncStack.getItems());
+     *     }
+     *
+     *     public void onCompletion(String syncToken, Error error) {
+     *         if (error == null) {
+     *             preferences.edit().putString("sync_token", syncToken).apply();
+     *         }
+     *     }
+     * });
+     * </pre>
+     */
+    public SyncPipeline syncPipeline(SyncPipelineCallback callback) {
+        return syncPipeline(null, callback);
+    }
+
+    /**
+     * Runs a sync as a {@link SyncPipeline}, from the token of the previous sync.
+     *
+     * @param syncToken token given by the previous sync, or null for an initial sync.
+     * @param callback  receives the pages and the next sync token.
+     * @return the running sync, to pause, resume or cancel it.
+     */
+    public SyncPipeline syncPipeline(String syncToken, SyncPipelineCallback callback) {
+        JSONObject params = new JSONObject();
+        try {
+            if (syncToken != null) {
+                params.put("sync_token", syncToken);
+            } else {
+                params.put("init", true);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, Objects.requireNonNull(e.getLocalizedMessage()));
+        }
+        SyncPipeline pipeline = new SyncPipeline(this, syncWindow, callback);
+        pipeline.start(params);
+        return pipeline;
+    }
+
+    /**
+     * Sets how many partitions of a {@link SyncAll} run at once.
+     *
+     * @param partitions partitions synced in parallel, at least 1; 4 by default.
+     */
+    public void setSyncParallelism(int partitions) {
+        this.syncParallelism = Math.max(1, partitions);
+    }
+
+    /**
+     * Runs an initial sync split by content type, and by locale if locales are given, with one more
+     * partition for assets. The partitions run in parallel as {@link SyncPipeline}s, up to
+     * {@link #setSyncParallelism(int)} at once; their pages reach the callback as one stream, and
+     * {@link SyncPipelineCallback#onCompletion(String, Error)} gets the sync token set of all partitions.
+     *
+     * @param contentTypeUids content types to sync, or null for every content type of the stack, listed
+     *                        with {@link #getContentTypes(JSONObject, ContentTypesCallback)} page by page.
+     * @param locales         locales to sync separately, or null to sync all locales of a content type at once.
+     * @param callback        receives the pages and the token set.
+     * @return the running sync, to pause, resume or cancel it.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * stack.setSyncParallelism(6);
+     * stack.syncAll(null, Arrays.asList("en-us", "fr-fr"), new SyncPipelineCallback() {
+     *     public void onPage(SyncStack syncStack) {
+     *         database.save(syncStack.getItems());
+     *     }
+     *
+     *     public void onCompletion(String syncTokens, Error error) {
+     *         if (error == null) {
+     *             preferences.edit().putString("sync_tokens", syncTokens).apply();
+     *         }
+     *     }
+     * });
+     * </pre>
+     */
+    public SyncAll syncAll(List<String> contentTypeUids, final List<String> locales, final SyncPipelineCallback callback) {
+        final SyncAll syncAll = new SyncAll(this, syncParallelism, callback);
+        if (contentTypeUids != null) {
+            startSyncAll(syncAll, contentTypeUids, locales);
+            return syncAll;
+        }
+        discoverContentTypes(syncAll, new ArrayList<String>(), locales, callback);
+        return syncAll;
+    }
+
+    /**
+     * Lists the content types of the stack page by page, and starts the sync once the list is complete.
+     *
+     * @param uids content types listed so far.
+     */
+    private void discoverContentTypes(final SyncAll syncAll, final List<String> uids, final List<String> locales, final SyncPipelineCallback callback) {
+        JSONObject params = new JSONObject();
+        try {
+            params.put("skip", uids.size()).put("limit", CONTENT_TYPES_PAGE).put("include_count", true);
+        } catch (JSONException e) {
+            Log.e(TAG, Objects.requireNonNull(e.getLocalizedMessage()));
+        }
+        getContentTypes(params, new ContentTypesCallback() {
+            @Override
+            public void onCompletion(ContentTypesModel contentTypesModel, Error error) {
+                if (syncAll.isDone()) {
+                    return;
+                }
+                if (error != null) {
+                    callback.onCompletion(null, error);
+                    return;
+                }
+                JSONArray contentTypes = contentTypesModel.getResultArray();
+                int listed = contentTypes != null ? contentTypes.length() : 0;
+                for (int i = 0; i < listed; i++) {
+                    JSONObject contentType = contentTypes.optJSONObject(i);
+                    if (contentType != null && contentType.has("uid")) {
+                        uids.add(contentType.optString("uid"));
+                    }
+                }
+                int count = contentTypesModel.getCount();
+                boolean more = count >= 0 ? uids.size() < count && listed > 0 : listed >= CONTENT_TYPES_PAGE;
+                if (more) {
+                    discoverContentTypes(syncAll, uids, locales, callback);
+                } else {
+                    startSyncAll(syncAll, uids, locales);
+                }
+            }
+        });
+    }
+
+    /**
+     * Continues a {@link #syncAll(List, List, SyncPipelineCallback)}, every partition from its sync token.
+     *
+     * @param syncTokens token set given by the previous <code>syncAll</code>.
+     * @param callback   receives the pages and the next token set.
+     * @return the running sync, to pause, resume or cancel it.
+     */
+    public SyncAll syncAll(String syncTokens, SyncPipelineCallback callback) {
+        SyncAll syncAll = new SyncAll(this, syncParallelism, callback);
+        try {
+            syncAll.start(SyncAll.partitions(syncTokens));
+        } catch (JSONException e) {
+            Error error = new Error();
+            error.setErrorMessage(e.getLocalizedMessage());
+            callback.onCompletion(null, error);
+        }
+        return syncAll;
+    }
+
+    private void startSyncAll(SyncAll syncAll, List<String> contentTypeUids, List<String> locales) {
+        try {
+            syncAll.start(SyncAll.partitions(contentTypeUids, locales));
+        } catch (JSONException e) {
+            Log.e(TAG, Objects.requireNonNull(e.getLocalizedMessage()));
+        }
+    }
+
+    /**
+     * Returns the entries kept on the device by sync, when {@link Config#setLocalStore(boolean)} is enabled.
+     *
+     * @return the {@link LocalStore}, or null if it is disabled.
+     *
+     * <br><br><b>Example :</b><br>
+     * <pre class="prettyprint">
+     * LocalStore store = stack.getLocalStore();
+     * if (store.getSyncToken() == null) {
+     *     stack.sync(callback);
+     * } else {
+     *     stack.syncToken(store.getSyncToken(), callback);
+     * }
+     * </pre>
+     */
+    public LocalStore getLocalStore() {
+        return localStore;
+    }
+
+    /**
+     * @param contentTypeUid content type of a cached response; null for assets.
+     * @return TTL of the response in milliseconds, as set on the {@link Config}.
+     */
+    long getCacheTTL(String contentTypeUid) {
+        if (config == null) {
+            return CacheEvictor.DEFAULT_TTL;
+        }
+        return contentTypeUid != null ? config.getCacheTTL(contentTypeUid) : config.getCacheTTL();
+    }
+
+
     /**
      * The enum Publish type.
      */
@@ -680,25 +974,63 @@ public class Stack implements INotifyClass {
 
 
     private void requestSync(final SyncResultCallBack callback) {
+        JSONObject start = this.syncParams;
+        requestSync(start, syncCheckpoint != null ? syncCheckpoint.resume(start) : start, callback);
+    }
+
+    /**
+     * Requests a page, and the pages after it until the sync is complete.
+     *
+     * @param start  parameters the sync was started with, for its checkpoint.
+     * @param params parameters of the page.
+     */
+    private void requestSync(final JSONObject start, JSONObject params, final SyncResultCallBack callback) {
+        requestSyncPage(params, new SyncResultCallBack() {
+            @Override
+            public void onCompletion(SyncStack page, Error error) {
+                SyncStack syncStack = error == null && syncCompaction ? page.compact() : page;
+                if (error == null && localStore != null) {
+                    localStore.apply(syncStack);
+                }
+                if (error == null) {
+                    String paginationToken = syncStack.getPaginationToken();
+                    if (paginationToken != null) {
+                        JSONObject next = new JSONObject();
+                        try {
+                            next.put("pagination_token", paginationToken);
+                        } catch (JSONException e) {
+                            Log.e(TAG, Objects.requireNonNull(e.getLocalizedMessage()));
+                        }
+                        requestSync(start, next, callback);
+                    }
+                }
+                callback.onCompletion(syncStack, error);
+                if (syncCheckpoint != null) {
+                    if (error == null) {
+                        syncCheckpoint.save(start, syncStack);
+                    } else {
+                        syncCheckpoint.failed(start, error);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Requests a single page of a sync.
+     *
+     * @param params   sync parameters: <code>init</code>, <code>sync_token</code> or <code>pagination_token</code>
+     *                 and the filters.
+     * @param callback receives the page.
+     */
+    void requestSyncPage(JSONObject params, SyncResultCallBack callback) {
         try {
             String URL = "/" + this.VERSION + "/stacks/sync";
             ArrayMap<String, Object> headers = getHeader(this.localHeader);
             if (headers.containsKey(SDKConstant.ENVIRONMENT)) {
-                this.syncParams.put(SDKConstant.ENVIRONMENT, headers.get(SDKConstant.ENVIRONMENT));
+                params.put(SDKConstant.ENVIRONMENT, headers.get(SDKConstant.ENVIRONMENT));
             }
-
-            fetchFromNetwork(URL, this.syncParams, headers, null, new SyncResultCallBack() {
-                @Override
-                public void onCompletion(SyncStack syncStack, Error error) {
-                    if (error == null) {
-                        String paginationToken = syncStack.getPaginationToken();
-                        if (paginationToken != null) {
-                            syncPaginationToken(paginationToken, callback);
-                        }
-                    }
-                    callback.onCompletion(syncStack, error);
-                }
-            });
+            fetchFromNetwork(URL, params, headers, null, callback);
         } catch (Exception e) {
             Error error = new Error();
             error.setErrorMessage(e.getLocalizedMessage());
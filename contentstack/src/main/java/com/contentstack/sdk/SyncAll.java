@@ -0,0 +1,239 @@
+package com.contentstack.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A sync split into partitions, one per content type, or per content type and locale, and one for assets,
+ * each running as a {@link SyncPipeline}. At most {@link Stack#setSyncParallelism(int)} partitions run at
+ * once; the next one starts when one completes.
+ * <p>
+ * The pages of all partitions reach the {@link SyncPipelineCallback} as one stream, one page at a time, in
+ * order within a partition. Items of different partitions never concern the same entry or asset, so any
+ * interleaving of the partitions gives the same result.
+ * <p>
+ * Every partition has its own sync token. {@link SyncPipelineCallback#onCompletion(String, Error)} gets them
+ * as one token set, a JSON object from partition to token, to pass to
+ * {@link Stack#syncAll(String, SyncPipelineCallback)} for the next sync. If a partition fails, no more
+ * partitions are started and the error is reported once the running ones have completed; the
+ * {@link SyncCheckpoint}s of the partitions let the next <code>syncAll</code> resume them.
+ *
+ * @author contentstack.com, Inc
+ */
+public class SyncAll {
+
+    private static final String TAG = SyncAll.class.getSimpleName();
+    static final int DEFAULT_PARALLELISM = 4;
+    static final String ASSET_TYPES = "asset_published,asset_unpublished,asset_deleted";
+
+    private final Stack stack;
+    private final int parallelism;
+    private final SyncPipelineCallback callback;
+    private final ArrayDeque<Partition> waiting = new ArrayDeque<>();
+    private final List<SyncPipeline> running = new ArrayList<>();
+    private final Map<String, String> syncTokens = new TreeMap<>();
+    private final Object delivery = new Object();
+    private Error error;
+    private boolean paused = false;
+    private boolean cancelled = false;
+    private boolean finished = false;
+
+    static class Partition {
+        final String key;
+        final JSONObject params;
+        SyncPipeline pipeline;
+
+        Partition(String key, JSONObject params) {
+            this.key = key;
+            this.params = params;
+        }
+    }
+
+    SyncAll(Stack stack, int parallelism, SyncPipelineCallback callback) {
+        this.stack = stack;
+        this.parallelism = Math.max(1, parallelism);
+        this.callback = callback;
+    }
+
+    /**
+     * Partitions of an initial sync.
+     *
+     * @param contentTypeUids content types to sync.
+     * @param locales         locales to sync each content type in, or null for all locales at once.
+     */
+    static List<Partition> partitions(List<String> contentTypeUids, List<String> locales) throws JSONException {
+        List<Partition> partitions = new ArrayList<>();
+        for (String contentTypeUid : contentTypeUids) {
+            if (locales == null || locales.isEmpty()) {
+                partitions.add(partition(new JSONObject().put("init", true).put("content_type_uid", contentTypeUid)));
+                continue;
+            }
+            for (String locale : locales) {
+                partitions.add(partition(new JSONObject().put("init", true).put("content_type_uid", contentTypeUid).put("locale", locale)));
+            }
+        }
+        partitions.add(partition(new JSONObject().put("init", true).put("type", ASSET_TYPES)));
+        return partitions;
+    }
+
+    /**
+     * Partitions of a sync continued from a token set.
+     */
+    static List<Partition> partitions(String syncTokens) throws JSONException {
+        List<Partition> partitions = new ArrayList<>();
+        JSONObject tokens = new JSONObject(syncTokens);
+        Iterator<String> keys = tokens.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            partitions.add(new Partition(key, new JSONObject().put("sync_token", tokens.getString(key))));
+        }
+        return partitions;
+    }
+
+    /**
+     * A partition named after its scope, like <code>content_type_uid=blog&amp;locale=fr-fr</code>.
+     */
+    private static Partition partition(JSONObject params) {
+        StringBuilder key = new StringBuilder();
+        for (String name : SyncCheckpoint.SCOPE) {
+            if (params.has(name)) {
+                key.append(key.length() > 0 ? "&" : "").append(name).append('=').append(params.optString(name));
+            }
+        }
+        return new Partition(key.toString(), params);
+    }
+
+    void start(List<Partition> partitions) {
+        synchronized (this) {
+            waiting.addAll(partitions);
+        }
+        startNext();
+        finishIfDone();
+    }
+
+    /**
+     * Stops the partitions as {@link SyncPipeline#pause()} does, and starting more.
+     */
+    public synchronized void pause() {
+        paused = true;
+        for (SyncPipeline pipeline : running) {
+            pipeline.pause();
+        }
+    }
+
+    /**
+     * Continues a paused sync.
+     */
+    public void resume() {
+        List<SyncPipeline> pipelines;
+        synchronized (this) {
+            paused = false;
+            pipelines = new ArrayList<>(running);
+        }
+        for (SyncPipeline pipeline : pipelines) {
+            pipeline.resume();
+        }
+        startNext();
+    }
+
+    /**
+     * Stops the sync; {@link SyncPipelineCallback#onCompletion(String, Error)} is not called.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        waiting.clear();
+        for (SyncPipeline pipeline : running) {
+            pipeline.cancel();
+        }
+    }
+
+    /**
+     * @return number of partitions running.
+     */
+    public synchronized int getRunningPartitions() {
+        return running.size();
+    }
+
+    /**
+     * @return true once every partition has completed, or the sync failed or was cancelled.
+     */
+    public synchronized boolean isDone() {
+        return finished || cancelled;
+    }
+
+    private void startNext() {
+        List<Partition> started = new ArrayList<>();
+        synchronized (this) {
+            while (!paused && !cancelled && error == null && running.size() < parallelism && !waiting.isEmpty()) {
+                Partition partition = waiting.poll();
+                partition.pipeline = new SyncPipeline(stack, stack.syncWindow, partitionCallback(partition));
+                partition.pipeline.partition = true;
+                running.add(partition.pipeline);
+                started.add(partition);
+            }
+        }
+        for (Partition partition : started) {
+            partition.pipeline.start(partition.params);
+        }
+    }
+
+    private SyncPipelineCallback partitionCallback(final Partition partition) {
+        return new SyncPipelineCallback() {
+            @Override
+            public void onPage(SyncStack syncStack) {
+                synchronized (delivery) {
+                    callback.onPage(syncStack);
+                }
+            }
+
+            @Override
+            public void onCompletion(String syncToken, Error partitionError) {
+                onPartitionCompleted(partition, syncToken, partitionError);
+            }
+        };
+    }
+
+    private void onPartitionCompleted(Partition partition, String syncToken, Error partitionError) {
+        synchronized (this) {
+            running.remove(partition.pipeline);
+            if (partitionError != null) {
+                SDKUtil.showLog(TAG, "partition " + partition.key + " failed: " + partitionError.getErrorMessage());
+                if (error == null) {
+                    error = partitionError;
+                }
+            } else {
+                syncTokens.put(partition.key, syncToken);
+            }
+        }
+        startNext();
+        finishIfDone();
+    }
+
+    private void finishIfDone() {
+        String tokenSet = null;
+        Error finalError;
+        synchronized (this) {
+            if (finished || cancelled || !running.isEmpty() || (error == null && !waiting.isEmpty())) {
+                return;
+            }
+            finished = true;
+            finalError = error;
+            if (finalError == null) {
+                tokenSet = new JSONObject(syncTokens).toString();
+            }
+        }
+        if (tokenSet != null && stack.localStore != null) {
+            stack.localStore.setSyncToken(tokenSet);
+        }
+        synchronized (delivery) {
+            callback.onCompletion(tokenSet, finalError);
+        }
+    }
+}
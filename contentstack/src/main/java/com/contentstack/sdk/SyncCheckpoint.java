@@ -0,0 +1,152 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of the syncs, kept in the <code>ContentstackSync</code> folder so that a sync interrupted by the
+ * process dying or the network failing picks up where it stopped.
+ * <p>
+ * A checkpoint is kept per scope of sync: the <code>content_type_uid</code>, <code>locale</code>,
+ * <code>type</code> and <code>start_from</code> it was started with, and its origin, an initial sync or the
+ * sync token it continues. Syncs continued from different tokens, such as the partitions of a
+ * {@link SyncAll}, each have their own. Once a page has been applied, its <code>pagination_token</code> is
+ * saved; once the last page has been applied, the checkpoint is deleted. Starting the same sync again
+ * continues from the saved <code>pagination_token</code> instead of starting over.
+ * <p>
+ * Checkpoints are written as {@link CacheRecord}s on the cache writer thread, after the
+ * {@link LocalStore} writes of the same page.
+ *
+ * @author contentstack.com, Inc
+ */
+class SyncCheckpoint {
+
+    private static final String TAG = SyncCheckpoint.class.getSimpleName();
+    static final String SUFFIX = ".checkpoint";
+    static final List<String> SCOPE = Arrays.asList("content_type_uid", "locale", "type", "start_from");
+    private static final String ORIGIN = "origin";
+    private static final String PAGINATION_TOKEN = "pagination_token";
+    private static final String SYNC_TOKEN = "sync_token";
+
+    private final File folder;
+    private final Map<String, Object> headers;
+
+    /**
+     * @param folder  folder of the checkpoints.
+     * @param headers headers of the stack, telling apart the checkpoints of stacks, environments and branches.
+     */
+    SyncCheckpoint(File folder, Map<String, Object> headers) {
+        this.folder = folder;
+        this.headers = headers;
+    }
+
+    /**
+     * @return the scope and origin of a sync, or null for a sync continued from a pagination token, whose
+     * scope is not known.
+     */
+    static JSONObject scope(JSONObject params) {
+        if (params == null || params.has(PAGINATION_TOKEN)) {
+            return null;
+        }
+        JSONObject scope = new JSONObject();
+        try {
+            for (String key : SCOPE) {
+                if (params.has(key)) {
+                    scope.put(key, params.opt(key));
+                }
+            }
+            scope.put(ORIGIN, origin(params));
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+        }
+        return scope;
+    }
+
+    /**
+     * The sync a checkpoint continues: an initial sync, or the sync token it started from.
+     */
+    private static String origin(JSONObject params) {
+        return params.has(SYNC_TOKEN) ? params.optString(SYNC_TOKEN) : "init";
+    }
+
+    private File file(JSONObject scope) {
+        return new File(folder, CacheKey.of("/stacks/sync", scope, headers) + SUFFIX);
+    }
+
+    private JSONObject read(JSONObject scope) {
+        JSONObject cacheJSON = CacheRecord.readJSON(file(scope));
+        return cacheJSON != null ? cacheJSON.optJSONObject("response") : null;
+    }
+
+    /**
+     * @param params parameters the sync is started with.
+     * @return the parameters of the next page of the same sync if it was interrupted, else the given ones.
+     */
+    JSONObject resume(JSONObject params) {
+        JSONObject scope = scope(params);
+        JSONObject checkpoint = scope != null ? read(scope) : null;
+        if (checkpoint == null || !checkpoint.has(PAGINATION_TOKEN) || !origin(params).equals(checkpoint.optString(ORIGIN))) {
+            return params;
+        }
+        JSONObject resumed = new JSONObject();
+        try {
+            resumed.put(PAGINATION_TOKEN, checkpoint.optString(PAGINATION_TOKEN));
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            return params;
+        }
+        SDKUtil.showLog(TAG, "resuming sync of " + scope + " from its checkpoint");
+        return resumed;
+    }
+
+    /**
+     * Records a page as applied.
+     *
+     * @param params parameters the sync was started with.
+     * @param page   page that was applied.
+     */
+    void save(JSONObject params, SyncStack page) {
+        JSONObject scope = scope(params);
+        if (scope == null) {
+            return;
+        }
+        final File file = file(scope);
+        try {
+            JSONObject checkpoint = new JSONObject().put(ORIGIN, origin(params));
+            Runnable onWritten = null;
+            if (page.getPaginationToken() != null) {
+                checkpoint.put(PAGINATION_TOKEN, page.getPaginationToken());
+            } else {
+                // the sync is complete: the queued checkpoint has nothing to resume, and its file is deleted
+                // once written
+                onWritten = file::delete;
+            }
+            folder.mkdirs();
+            CacheWriter.getInstance().write(file, new JSONObject()
+                    .put("timestamp", System.currentTimeMillis()).put("response", checkpoint), onWritten);
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Drops the checkpoint of a sync whose saved pagination token the server refused, so the next sync of
+     * the scope starts over. Network errors keep it.
+     *
+     * @param params parameters the sync was started with.
+     * @param error  error of a page request.
+     */
+    void failed(JSONObject params, Error error) {
+        int status = error.getStatusCode();
+        JSONObject scope = scope(params);
+        if (scope == null || status < 400 || status >= 500 || status == 408 || status == 429) {
+            return;
+        }
+        final File file = file(scope);
+        CacheWriter.getInstance().submit(file::delete);
+    }
+}
@@ -0,0 +1,184 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One item of a sync response: a typed view over the item in the parsed response, which is neither copied
+ * nor modeled.
+ * <p>
+ * The type, uid, content type uid and locale are read from the item when asked for; the publish time is
+ * parsed the first time it is asked for. Use {@link #toEntry(Stack)} or {@link #toAsset(Stack)} to model
+ * only the items that are kept.
+ *
+ * @author contentstack.com, Inc
+ */
+public class SyncItem {
+
+    private static final String TAG = SyncItem.class.getSimpleName();
+    private static final Map<String, Stack.PublishType> TYPES = new HashMap<>();
+
+    static {
+        for (Stack.PublishType type : Stack.PublishType.values()) {
+            TYPES.put(type.name().toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    private final JSONObject item;
+    private Stack.PublishType type;
+    private boolean typeRead = false;
+    private Calendar publishTime;
+    private boolean publishTimeRead = false;
+
+    SyncItem(JSONObject item) {
+        this.item = item != null ? item : new JSONObject();
+    }
+
+    /**
+     * @return the event of the item, or null for an event this version of the SDK does not know.
+     */
+    public Stack.PublishType getType() {
+        if (!typeRead) {
+            typeRead = true;
+            String name = item.optString("type");
+            type = TYPES.containsKey(name) ? TYPES.get(name) : TYPES.get(name.toLowerCase(Locale.ROOT));
+            if (type == null) {
+                SDKUtil.showLog(TAG, "unknown sync item " + name);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * @return true for an entry published, unpublished or deleted.
+     */
+    public boolean isEntry() {
+        Stack.PublishType type = getType();
+        return type == Stack.PublishType.ENTRY_PUBLISHED || type == Stack.PublishType.ENTRY_UNPUBLISHED
+                || type == Stack.PublishType.ENTRY_DELETED;
+    }
+
+    /**
+     * @return true for an asset published, unpublished or deleted.
+     */
+    public boolean isAsset() {
+        Stack.PublishType type = getType();
+        return type == Stack.PublishType.ASSET_PUBLISHED || type == Stack.PublishType.ASSET_UNPUBLISHED
+                || type == Stack.PublishType.ASSET_DELETED;
+    }
+
+    /**
+     * @return true for an entry or asset published, which is to be added or replaced.
+     */
+    public boolean isPublished() {
+        Stack.PublishType type = getType();
+        return type == Stack.PublishType.ENTRY_PUBLISHED || type == Stack.PublishType.ASSET_PUBLISHED;
+    }
+
+    /**
+     * @return true for an entry or asset unpublished or deleted, which is to be removed.
+     */
+    public boolean isRemoved() {
+        return (isEntry() || isAsset()) && !isPublished();
+    }
+
+    /**
+     * @return uid of the entry or asset, or of the content type for {@link Stack.PublishType#CONTENT_TYPE_DELETED}.
+     */
+    public String getUid() {
+        JSONObject data = getData();
+        return data != null ? data.optString("uid", null) : null;
+    }
+
+    /**
+     * @return content type of the entry, or null for an asset.
+     */
+    public String getContentTypeUid() {
+        String contentTypeUid = item.optString("content_type_uid", null);
+        if (contentTypeUid == null && getData() != null) {
+            contentTypeUid = getData().optString("_content_type_uid", null);
+        }
+        return contentTypeUid;
+    }
+
+    /**
+     * @return locale of the entry or asset, or null if the item has none.
+     */
+    public String getLocale() {
+        JSONObject data = getData();
+        if (data == null) {
+            return null;
+        }
+        String locale = data.optString("locale", null);
+        if (locale == null) {
+            JSONObject publishDetails = data.optJSONObject("publish_details");
+            locale = publishDetails != null ? publishDetails.optString("locale", null) : null;
+        }
+        return locale;
+    }
+
+    /**
+     * @return time of the event: the publish time of the entry or asset, else the <code>event_at</code> of
+     * the item; null if the item has neither.
+     */
+    public Calendar getPublishTime() {
+        if (!publishTimeRead) {
+            publishTimeRead = true;
+            JSONObject publishDetails = getData() != null ? getData().optJSONObject("publish_details") : null;
+            String time = publishDetails != null ? publishDetails.optString("time", null) : null;
+            if (time == null) {
+                time = item.optString("event_at", null);
+            }
+            try {
+                publishTime = time != null ? CSUtil.parseDate(time, null) : null;
+            } catch (Exception e) {
+                SDKUtil.showLog(TAG, e.getLocalizedMessage());
+            }
+        }
+        return publishTime;
+    }
+
+    /**
+     * @return the entry or asset as sent by the server.
+     */
+    public JSONObject getData() {
+        return item.optJSONObject("data");
+    }
+
+    /**
+     * @return the item as sent by the server.
+     */
+    public JSONObject toJSON() {
+        return item;
+    }
+
+    /**
+     * Models the item as an {@link Entry}.
+     *
+     * @param stack stack the entry belongs to.
+     * @return the entry, or null if the item is not an entry.
+     */
+    public Entry toEntry(Stack stack) {
+        if (!isEntry() || getData() == null || getContentTypeUid() == null) {
+            return null;
+        }
+        return stack.contentType(getContentTypeUid()).entry(getUid()).configure(getData());
+    }
+
+    /**
+     * Models the item as an {@link Asset}.
+     *
+     * @param stack stack the asset belongs to.
+     * @return the asset, or null if the item is not an asset.
+     */
+    public Asset toAsset(Stack stack) {
+        if (!isAsset() || getData() == null) {
+            return null;
+        }
+        return stack.asset(getUid()).configure(getData());
+    }
+}
@@ -0,0 +1,39 @@
+package com.contentstack.sdk;
+
+import java.util.List;
+
+/**
+ * Receives the items of a sync response in batches, from {@link SyncStack#apply(SyncItemHandler)}, to write
+ * them to an app's own database in as few transactions as possible.
+ * <p>
+ * A batch is a run of consecutive items of the same content type, all published or all removed; applying
+ * the batches in the order they are given gives the same result as applying the items one by one.
+ *
+ * @author contentstack.com, Inc
+ */
+public abstract class SyncItemHandler {
+
+    /**
+     * Entries or assets to add or replace.
+     *
+     * @param contentTypeUid content type of the entries, or null for assets.
+     * @param items          published items.
+     */
+    public abstract void onPublished(String contentTypeUid, List<SyncItem> items);
+
+    /**
+     * Entries or assets unpublished or deleted.
+     *
+     * @param contentTypeUid content type of the entries, or null for assets.
+     * @param items          removed items.
+     */
+    public abstract void onRemoved(String contentTypeUid, List<SyncItem> items);
+
+    /**
+     * A content type was deleted, with all its entries. Does nothing unless overridden.
+     *
+     * @param contentTypeUid deleted content type.
+     */
+    public void onContentTypeDeleted(String contentTypeUid) {
+    }
+}
@@ -0,0 +1,247 @@
+package com.contentstack.sdk;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sync running as a pipeline: the next page is requested as soon as a page arrives, while the
+ * {@link SyncPipelineCallback} is still applying the previous ones.
+ * <p>
+ * Pages are chained by their <code>pagination_token</code>, so one request is in flight at a time. Pages
+ * received and not yet applied wait in a buffer; the buffered pages and the request in flight together
+ * never exceed the window, so fetching stops once the buffer is full until the consumer catches up.
+ * {@link #pause()} stops both fetching and delivery.
+ * <p>
+ * Pages go to the {@link LocalStore}, when enabled, before they are delivered, and each delivered page is
+ * recorded as a {@link SyncCheckpoint}: starting the same sync again after it was interrupted continues
+ * after the last delivered page.
+ * <p>
+ * With {@link Stack#setSyncCompaction(boolean)}, the pages waiting in the buffer are delivered together as
+ * one page compacted with {@link SyncStack#compact()}.
+ *
+ * @author contentstack.com, Inc
+ */
+public class SyncPipeline {
+
+    private static final String TAG = SyncPipeline.class.getSimpleName();
+    static final int DEFAULT_WINDOW = 2;
+
+    private final Stack stack;
+    private final int window;
+    private final SyncPipelineCallback callback;
+    private final ThreadPoolExecutor consumer;
+    private final ArrayDeque<SyncStack> pages = new ArrayDeque<>();
+    // a partition of a SyncAll, whose sync token is not the token of the local store
+    boolean partition = false;
+
+    private JSONObject startParams;
+    private JSONObject nextParams;
+    private boolean fetching = false;
+    private boolean draining = false;
+    private boolean paused = false;
+    private boolean cancelled = false;
+    private boolean finished = false;
+    private String syncToken;
+    private Error error;
+
+    SyncPipeline(Stack stack, int window, SyncPipelineCallback callback) {
+        this.stack = stack;
+        this.window = Math.max(1, window);
+        this.callback = callback;
+        consumer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+            Thread thread = new Thread(runnable, "contentstack-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        consumer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Requests the first page.
+     *
+     * @param params sync parameters of the first request.
+     */
+    void start(JSONObject params) {
+        synchronized (this) {
+            startParams = params;
+            nextParams = stack.syncCheckpoint != null ? stack.syncCheckpoint.resume(params) : params;
+        }
+        fetchNext();
+    }
+
+    /**
+     * Stops requesting and delivering pages after the page being applied, until {@link #resume()}.
+     */
+    public synchronized void pause() {
+        paused = true;
+    }
+
+    /**
+     * Continues a paused sync.
+     */
+    public void resume() {
+        synchronized (this) {
+            paused = false;
+        }
+        fetchNext();
+        scheduleDrain();
+    }
+
+    /**
+     * Stops the sync. Buffered pages are dropped and {@link SyncPipelineCallback#onCompletion(String, Error)}
+     * is not called.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        pages.clear();
+    }
+
+    /**
+     * @return number of pages received and not yet delivered.
+     */
+    public synchronized int getBufferedPages() {
+        return pages.size();
+    }
+
+    /**
+     * @return true once the last page was delivered or the sync failed or was cancelled.
+     */
+    public synchronized boolean isDone() {
+        return finished || cancelled;
+    }
+
+    private void fetchNext() {
+        JSONObject params;
+        synchronized (this) {
+            // the request about to be sent counts against the window with the buffered pages
+            if (fetching || nextParams == null || paused || cancelled || error != null || pages.size() + 1 > window) {
+                return;
+            }
+            params = nextParams;
+            nextParams = null;
+            fetching = true;
+        }
+        stack.requestSyncPage(params, new SyncResultCallBack() {
+            @Override
+            public void onCompletion(SyncStack syncStack, Error error) {
+                onResponse(syncStack, error);
+            }
+        });
+    }
+
+    private void onResponse(SyncStack syncStack, Error responseError) {
+        synchronized (this) {
+            fetching = false;
+            if (cancelled) {
+                return;
+            }
+            if (error != null) {
+                // the consumer failed while the page was in flight: the page is dropped, and the drain
+                // that was waiting for it ends the sync
+                SDKUtil.showLog(TAG, "dropping a page received after the sync failed");
+            } else if (responseError != null) {
+                error = responseError;
+                if (stack.syncCheckpoint != null) {
+                    stack.syncCheckpoint.failed(startParams, responseError);
+                }
+            } else {
+                pages.add(syncStack);
+                String paginationToken = syncStack.getPaginationToken();
+                if (paginationToken != null) {
+                    nextParams = new JSONObject();
+                    try {
+                        nextParams.put("pagination_token", paginationToken);
+                    } catch (JSONException e) {
+                        SDKUtil.showLog(TAG, e.getLocalizedMessage());
+                    }
+                } else {
+                    syncToken = syncStack.getSyncToken();
+                }
+            }
+        }
+        fetchNext();
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (draining || paused || cancelled || finished) {
+                return;
+            }
+            draining = true;
+        }
+        consumer.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            List<SyncStack> taken = new ArrayList<>();
+            String finalToken = null;
+            Error finalError = null;
+            synchronized (this) {
+                if (paused || cancelled || finished) {
+                    draining = false;
+                    return;
+                }
+                // with compaction every buffered page is taken, to be delivered as one
+                while (!pages.isEmpty() && (taken.isEmpty() || stack.syncCompaction)) {
+                    taken.add(pages.poll());
+                }
+                if (taken.isEmpty()) {
+                    draining = false;
+                    if (fetching || (nextParams != null && error == null)) {
+                        return;
+                    }
+                    finished = true;
+                    finalToken = error == null ? syncToken : null;
+                    finalError = error;
+                }
+            }
+            if (taken.isEmpty()) {
+                callback.onCompletion(finalToken, finalError);
+                consumer.shutdown();
+                return;
+            }
+            SyncStack page = stack.syncCompaction ? SyncStack.merge(taken).compact() : taken.get(0);
+            if (deliver(page)) {
+                fetchNext();
+            }
+        }
+    }
+
+    /**
+     * @return false if the consumer failed on the page, which stops the sync.
+     */
+    private boolean deliver(SyncStack page) {
+        try {
+            if (stack.localStore != null) {
+                if (partition) {
+                    stack.localStore.applyItems(page);
+                } else {
+                    stack.localStore.apply(page);
+                }
+            }
+            callback.onPage(page);
+            if (stack.syncCheckpoint != null) {
+                stack.syncCheckpoint.save(startParams, page);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            Error consumerError = new Error();
+            consumerError.setErrorMessage(e.getLocalizedMessage());
+            synchronized (this) {
+                error = consumerError;
+                pages.clear();
+                nextParams = null;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.contentstack.sdk;
+
+/**
+ * Receives the pages of a {@link SyncPipeline}.
+ * <p>
+ * Pages arrive in order on a background thread, one at a time: the next page is delivered once
+ * {@link #onPage(SyncStack)} returns. A consumer that applies pages slowly so holds the sync back, as
+ * no more pages than the window set with {@link Stack#setSyncWindow(int)} are fetched ahead of it.
+ *
+ * @author contentstack.com, Inc
+ */
+public abstract class SyncPipelineCallback {
+
+    /**
+     * Called for every page of the sync, in order.
+     *
+     * @param syncStack the page.
+     */
+    public abstract void onPage(SyncStack syncStack);
+
+    /**
+     * Called once, after the last page was delivered.
+     *
+     * @param syncToken token to pass to {@link Stack#syncPipeline(String, SyncPipelineCallback)} for the next
+     *                  sync, or null if the sync failed.
+     * @param error     null, or the error that stopped the sync; the pages delivered before it stay applied.
+     */
+    public abstract void onCompletion(String syncToken, Error error);
+}
@@ -3,7 +3,12 @@ package com.contentstack.sdk;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -19,7 +24,9 @@ public class SyncStack {
     private String URL;
     private String pagination_token;
     private String sync_token;
+    private JSONArray itemArray;
     private ArrayList<JSONObject> syncItems;
+    private List<SyncItem> syncItemViews;
 
 
     /**
@@ -91,9 +98,189 @@ public class SyncStack {
      * @return the items
      */
     public ArrayList<JSONObject> getItems() {
+        if (syncItems == null && itemArray != null) {
+            syncItems = new ArrayList<>(itemArray.length());
+            for (int position = 0; position < itemArray.length(); position++) {
+                syncItems.add(itemArray.optJSONObject(position));
+            }
+        }
         return this.syncItems;
     }
 
+    /**
+     * Gets the items as {@link SyncItem}s, each created over the item of the response when first accessed.
+     *
+     * @return the items; empty if the response has none.
+     */
+    public List<SyncItem> getSyncItems() {
+        if (syncItemViews == null) {
+            final int size = itemArray != null ? itemArray.length() : 0;
+            syncItemViews = new AbstractList<SyncItem>() {
+                private final SyncItem[] views = new SyncItem[size];
+
+                @Override
+                public SyncItem get(int index) {
+                    if (index < 0 || index >= size) {
+                        throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+                    }
+                    if (views[index] == null) {
+                        views[index] = new SyncItem(itemArray.optJSONObject(index));
+                    }
+                    return views[index];
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return syncItemViews;
+    }
+
+    /**
+     * Hands the items to a {@link SyncItemHandler} in batches, in the order of the response. Items of an
+     * unknown type are skipped.
+     *
+     * @param handler receives the batches.
+     *
+     *                <br><br><b>Example :</b><br>
+     *                <pre class="prettyprint">
+     *                syncStack.apply(new SyncItemHandler() {
+     *                    public void onPublished(String contentTypeUid, List&lt;SyncItem&gt; items) {
+     *                        database.upsert(contentTypeUid, items);
+     *                    }
+     *
+     *                    public void onRemoved(String contentTypeUid, List&lt;SyncItem&gt; items) {
+     *                        database.delete(contentTypeUid, items);
+     *                    }
+     *                });
+     *                </pre>
+     */
+    public void apply(SyncItemHandler handler) {
+        List<SyncItem> items = getSyncItems();
+        int start = 0;
+        while (start < items.size()) {
+            SyncItem first = items.get(start);
+            Stack.PublishType type = first.getType();
+            if (type == null || (first.isEntry() && first.getContentTypeUid() == null)) {
+                start++;
+                continue;
+            }
+            if (type == Stack.PublishType.CONTENT_TYPE_DELETED) {
+                handler.onContentTypeDeleted(first.getUid());
+                start++;
+                continue;
+            }
+            String contentTypeUid = first.isEntry() ? first.getContentTypeUid() : null;
+            int end = start + 1;
+            while (end < items.size() && isSameBatch(first, contentTypeUid, items.get(end))) {
+                end++;
+            }
+            List<SyncItem> batch = items.subList(start, end);
+            if (first.isPublished()) {
+                handler.onPublished(contentTypeUid, batch);
+            } else {
+                handler.onRemoved(contentTypeUid, batch);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Collapses the events of the page to the last one per entry or asset and locale: an entry published,
+     * unpublished and published again comes out as its last publish, an entry published then deleted as
+     * the delete. Entries of a content type deleted later in the page are dropped, and an unpublish or
+     * delete without a locale drops the earlier events of the entry in every locale. The remaining items
+     * keep their order, so applying them leaves an app's database as applying every item would.
+     * <p>
+     * {@link Stack#setSyncCompaction(boolean)} compacts the pages of the syncs of a stack.
+     *
+     * @return a page with only the last events, or this page if every item is already the last of its entry.
+     */
+    public SyncStack compact() {
+        List<SyncItem> items = getSyncItems();
+        boolean[] superseded = new boolean[items.size()];
+        int dropped = 0;
+        Set<String> seen = new HashSet<>();
+        Set<String> seenAllLocales = new HashSet<>();
+        Set<String> deletedContentTypes = new HashSet<>();
+        for (int position = items.size() - 1; position >= 0; position--) {
+            SyncItem item = items.get(position);
+            Stack.PublishType type = item.getType();
+            if (type == null || (item.isEntry() && item.getContentTypeUid() == null)) {
+                continue;
+            }
+            if (type == Stack.PublishType.CONTENT_TYPE_DELETED) {
+                superseded[position] = !seen.add("content_type|" + item.getUid());
+                deletedContentTypes.add(item.getUid());
+            } else {
+                String entry = (item.isEntry() ? "entry|" + item.getContentTypeUid() : "asset") + "|" + item.getUid();
+                superseded[position] = (item.isEntry() && deletedContentTypes.contains(item.getContentTypeUid()))
+                        || seenAllLocales.contains(entry) || !seen.add(entry + "|" + item.getLocale());
+                if (item.getLocale() == null) {
+                    seenAllLocales.add(entry);
+                }
+            }
+            if (superseded[position]) {
+                dropped++;
+            }
+        }
+        if (dropped == 0) {
+            return this;
+        }
+        JSONArray compacted = new JSONArray();
+        for (int position = 0; position < items.size(); position++) {
+            if (!superseded[position]) {
+                compacted.put(items.get(position).toJSON());
+            }
+        }
+        return withItems(receiveJson, compacted);
+    }
+
+    /**
+     * Joins consecutive pages of a sync into one page, with the tokens of the last.
+     */
+    static SyncStack merge(List<SyncStack> pages) {
+        if (pages.size() == 1) {
+            return pages.get(0);
+        }
+        JSONArray items = new JSONArray();
+        for (SyncStack page : pages) {
+            for (SyncItem item : page.getSyncItems()) {
+                items.put(item.toJSON());
+            }
+        }
+        return withItems(pages.get(pages.size() - 1).getJSONResponse(), items);
+    }
+
+    private static SyncStack withItems(JSONObject response, JSONArray items) {
+        JSONObject json = new JSONObject();
+        try {
+            Iterator<String> keys = response != null ? response.keys() : new ArrayList<String>().iterator();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!key.equals("items")) {
+                    json.put(key, response.opt(key));
+                }
+            }
+            json.put("items", items);
+        } catch (Exception e) {
+            SDKUtil.showLog(TAG, e.getLocalizedMessage());
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(json);
+        return syncStack;
+    }
+
+    private static boolean isSameBatch(SyncItem first, String contentTypeUid, SyncItem item) {
+        if (item.getType() == null || item.isEntry() != first.isEntry() || item.isAsset() != first.isAsset()
+                || item.isPublished() != first.isPublished()) {
+            return false;
+        }
+        return !item.isEntry() || (contentTypeUid != null && contentTypeUid.equals(item.getContentTypeUid()));
+    }
+
     /**
      * Sets json.
      *
@@ -109,13 +296,10 @@ public class SyncStack {
                     URL = "";
 
                     if (receiveJson.has("items")) {
-                        JSONArray jsonarray = receiveJson.getJSONArray("items");
-                        if (jsonarray != null) {
-                            syncItems = new ArrayList<>();
-                            for (int position = 0; position < jsonarray.length(); position++) {
-                                syncItems.add(jsonarray.optJSONObject(position));
-                            }
-                        }
+                        // read on demand, see getItems() and getSyncItems()
+                        itemArray = receiveJson.getJSONArray("items");
+                        syncItems = null;
+                        syncItemViews = null;
                     }
 
                     if (receiveJson.has("skip")) {
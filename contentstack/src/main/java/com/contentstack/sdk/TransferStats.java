@@ -0,0 +1,63 @@
+package com.contentstack.sdk;
+
+/**
+ * Bytes transferred for one response, reported to the {@link TransferStatsListener} set on
+ * {@link Config#setTransferStatsListener(TransferStatsListener)} once the response body is closed.
+ *
+ * @author contentstack.com, Inc
+ */
+public class TransferStats {
+
+    private final String url;
+    private final String contentEncoding;
+    private long compressedBytes;
+    private long uncompressedBytes;
+
+    TransferStats(String url, String contentEncoding) {
+        this.url = url;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return url of the request.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return <code>Content-Encoding</code> of the response, for example <code>gzip</code> or <code>br</code>,
+     * or <code>identity</code> when it was not compressed.
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * @return bytes of the response body as received over the network.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    /**
+     * @return bytes of the response body after decompression.
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    void addCompressedBytes(long bytes) {
+        compressedBytes += bytes;
+    }
+
+    void addUncompressedBytes(long bytes) {
+        uncompressedBytes += bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferStats{url=" + url + ", contentEncoding=" + contentEncoding
+                + ", compressedBytes=" + compressedBytes + ", uncompressedBytes=" + uncompressedBytes + "}";
+    }
+}
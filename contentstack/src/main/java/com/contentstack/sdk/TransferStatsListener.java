@@ -0,0 +1,16 @@
+package com.contentstack.sdk;
+
+/**
+ * Receives the {@link TransferStats} of every response received through the stack.
+ *
+ * @author contentstack.com, Inc
+ */
+public interface TransferStatsListener {
+
+    /**
+     * Called on the network thread once a response body has been read and closed.
+     *
+     * @param stats bytes transferred for the response.
+     */
+    void onTransfer(TransferStats stats);
+}
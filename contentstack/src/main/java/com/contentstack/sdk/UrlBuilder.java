@@ -0,0 +1,144 @@
+package com.contentstack.sdk;
+
+/**
+ * Builds a url with its query string in a single {@link StringBuilder}.
+ * <p>
+ * Keys and values are encoded as they are appended, with the same rules as
+ * {@link java.net.URLEncoder#encode(String, String)} in UTF-8, so no intermediate strings are created
+ * per parameter. Numbers and booleans are appended without being converted to strings first.
+ *
+ * <br><br><b>Example :</b><br>
+ * <pre class="prettyprint">
+ * String url = new UrlBuilder("https://cdn.contentstack.io/v3/content_types")
+ *         .append("include_count", true)
+ *         .append("environment", "production")
+ *         .build();
+ * </pre>
+ *
+ * @author contentstack.com, Inc
+ */
+class UrlBuilder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final StringBuilder builder;
+    private boolean hasQuery;
+
+    /**
+     * @param base url the parameters are appended to; it may already have a query string.
+     */
+    UrlBuilder(String base) {
+        this(base, 128);
+    }
+
+    /**
+     * @param base     url the parameters are appended to; it may already have a query string.
+     * @param capacity expected length of the query string, to size the buffer once.
+     */
+    UrlBuilder(String base, int capacity) {
+        this.builder = new StringBuilder(base.length() + capacity).append(base);
+        this.hasQuery = base.indexOf('?') >= 0;
+    }
+
+    /**
+     * Appends <code>key=value</code>, encoding both.
+     *
+     * @param key   parameter name.
+     * @param value parameter value; {@link Object#toString()} is used for anything but numbers and booleans.
+     * @return {@link UrlBuilder} object, so you can chain this call.
+     */
+    UrlBuilder append(String key, Object value) {
+        startParam();
+        encode(key, builder);
+        builder.append('=');
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            builder.append(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            builder.append(((Boolean) value).booleanValue());
+        } else if (value != null) {
+            encode(value.toString(), builder);
+        } else {
+            builder.append("null");
+        }
+        return this;
+    }
+
+    /**
+     * @return true if no parameter was appended and the base had no query string.
+     */
+    boolean isEmpty() {
+        return !hasQuery;
+    }
+
+    String build() {
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+    private void startParam() {
+        if (hasQuery) {
+            char last = builder.charAt(builder.length() - 1);
+            if (last != '?' && last != '&') {
+                builder.append('&');
+            }
+        } else {
+            builder.append('?');
+            hasQuery = true;
+        }
+    }
+
+    /**
+     * Encodes the given value into the builder, as <code>application/x-www-form-urlencoded</code> in UTF-8.
+     *
+     * @param value value to encode.
+     * @param out   builder the encoded value is appended to.
+     */
+    static void encode(CharSequence value, StringBuilder out) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '-' || c == '*' || c == '_') {
+                out.append(c);
+            } else if (c == ' ') {
+                out.append('+');
+            } else if (c < 0x80) {
+                appendByte(out, c);
+            } else if (c < 0x800) {
+                appendByte(out, 0xC0 | (c >> 6));
+                appendByte(out, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(out, 0xF0 | (codePoint >> 18));
+                appendByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(out, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate, replaced the same way URLEncoder does
+                appendByte(out, '?');
+            } else {
+                appendByte(out, 0xE0 | (c >> 12));
+                appendByte(out, 0x80 | ((c >> 6) & 0x3F));
+                appendByte(out, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * @param value value to encode.
+     * @return the value encoded as <code>application/x-www-form-urlencoded</code> in UTF-8.
+     */
+    static String encode(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        encode(value, out);
+        return out.toString();
+    }
+
+    private static void appendByte(StringBuilder out, int b) {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+}
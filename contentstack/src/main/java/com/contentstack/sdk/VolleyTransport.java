@@ -0,0 +1,83 @@
+package com.contentstack.sdk;
+
+import com.android.volley.DefaultRetryPolicy;
+
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Legacy {@link IHttpTransport} that sends requests through the shared Volley request queue.
+ * Selected with {@link Config#setTransport(Config.Transport)}.
+ *
+ * @author contentstack.com, Inc
+ */
+class VolleyTransport implements IHttpTransport {
+
+    private final int timeout;
+    private final RetryPolicy retryPolicy;
+
+    VolleyTransport() {
+        this(SDKConstant.TimeOutDuration, null);
+    }
+
+    /**
+     * @param timeout     socket timeout in milliseconds, used unless a request sets its own deadline.
+     * @param retryPolicy policy whose attempts are mapped onto Volley's timeout retries, or null.
+     */
+    VolleyTransport(int timeout, RetryPolicy retryPolicy) {
+        this.timeout = timeout;
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Override
+    public void execute(final CSHttpConnection connection) {
+        final Map<String, String> headers = new HashMap<>(connection.getRequestHeaders());
+        // requests are not kept in Volley's cache, so there is no entry a 304 could be served from
+        headers.remove("If-None-Match");
+        headers.remove("If-Modified-Since");
+        // nor are response headers passed on, so nothing is stored to revalidate with later
+        connection.setResponseValidators(null, null);
+        JSONUTF8Request jsonObjectRequest = new JSONUTF8Request(getRequestId(connection.getRequestMethod()), connection.getUrl(), connection.getRequestJSON(), connection::onTransportResponse, connection::generateBuiltError) {
+            @Override
+            public Map<String, String> getHeaders() {
+                return headers;
+            }
+        };
+        if (connection.getDeadline() > 0) {
+            jsonObjectRequest.setRetryPolicy(new DefaultRetryPolicy((int) connection.getDeadline(), SDKConstant.NumRetry, SDKConstant.BackOFMultiplier));
+        } else if (retryPolicy != null) {
+            jsonObjectRequest.setRetryPolicy(new DefaultRetryPolicy(timeout, retryPolicy.getMaxAttempts() - 1, 1f));
+        } else {
+            jsonObjectRequest.setRetryPolicy(new DefaultRetryPolicy(timeout, SDKConstant.NumRetry, SDKConstant.BackOFMultiplier));
+        }
+        jsonObjectRequest.setShouldCache(false);
+        Contentstack.addToRequestQueue(SDKConstant.PROTOCOL, jsonObjectRequest, connection.getInfo());
+    }
+
+    @Override
+    public void cancelAll(String tag) {
+        if (Contentstack.requestQueue != null) {
+            Contentstack.requestQueue.cancelAll(tag);
+        }
+    }
+
+    private int getRequestId(SDKConstant.RequestMethod requestMethod) {
+        if (requestMethod == null) {
+            return 1;
+        }
+        switch (requestMethod) {
+            case GET:
+                return 0;
+            case POST:
+                return 1;
+            case PUT:
+                return 2;
+            case DELETE:
+                return 3;
+            default:
+                return 1;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of a {@link LocalStore} holding 50,000 entries of one content type, answered with the secondary
+ * indexes and, as the baseline, by scanning and sorting every entry. Run {@link #main(String[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalStoreBenchmark {
+
+    private static final int ENTRIES = 50000;
+    private static final String[] TAGS = {"home", "office", "garden", "kitchen", "sale"};
+
+    private File folder;
+    private LocalStore store;
+    private List<JSONObject> entries;
+    private JSONObject latest;
+    private JSONObject tagged;
+    private JSONObject priceRange;
+    private JSONObject typeahead;
+
+    @Setup
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("ContentstackStore").toFile();
+        store = new LocalStore(folder);
+        store.addIndex("product", "price");
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < ENTRIES; i++) {
+            JSONObject entry = new JSONObject()
+                    .put("uid", "blt" + i)
+                    .put("locale", "en-us")
+                    .put("title", "Product " + i + " " + TAGS[i % TAGS.length])
+                    .put("price", i % 1000)
+                    .put("tags", new JSONArray().put(TAGS[i % TAGS.length]).put(TAGS[(i / 7) % TAGS.length]))
+                    .put("updated_at", String.format("2024-01-01T00:00:00.%06dZ", (i * 7919) % ENTRIES));
+            items.put(new JSONObject().put("type", "entry_published").put("content_type_uid", "product").put("data", entry));
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject().put("items", items).put("sync_token", "token"));
+        store.apply(syncStack);
+        CacheWriter.getInstance().awaitIdle();
+
+        entries = new ArrayList<>();
+        JSONArray all = store.find("product", new JSONObject().put("limit", -1)).getJSONArray("entries");
+        for (int i = 0; i < all.length(); i++) {
+            entries.add(all.getJSONObject(i));
+        }
+        latest = new JSONObject().put("limit", 20);
+        tagged = new JSONObject().put("tags", "garden").put("query", new JSONObject().put("price", 500)).put("include_count", true);
+        priceRange = new JSONObject().put("query", new JSONObject().put("price", new JSONObject().put("$gte", 100).put("$lt", 110))).put("asc", "price");
+        typeahead = new JSONObject().put("typeahead", "product 4999");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        store.clear();
+        CacheWriter.getInstance().awaitIdle();
+        folder.delete();
+    }
+
+    @Benchmark
+    public JSONObject latestIndexed() {
+        return store.find("product", latest);
+    }
+
+    @Benchmark
+    public JSONObject latestScan() throws Exception {
+        return scan(latest);
+    }
+
+    @Benchmark
+    public JSONObject tagsIndexed() {
+        return store.find("product", tagged);
+    }
+
+    @Benchmark
+    public JSONObject tagsScan() throws Exception {
+        return scan(tagged);
+    }
+
+    @Benchmark
+    public JSONObject rangeIndexed() {
+        return store.find("product", priceRange);
+    }
+
+    @Benchmark
+    public JSONObject rangeScan() throws Exception {
+        return scan(priceRange);
+    }
+
+    @Benchmark
+    public JSONObject typeaheadIndexed() {
+        return store.find("product", typeahead);
+    }
+
+    @Benchmark
+    public JSONObject typeaheadScan() throws Exception {
+        return scan(typeahead);
+    }
+
+    /**
+     * The query answered without indexes, kept as the baseline.
+     */
+    private JSONObject scan(JSONObject urlQueries) throws Exception {
+        LocalQuery query = LocalQuery.parse(urlQueries);
+        List<JSONObject> matched = new ArrayList<>();
+        for (JSONObject entry : entries) {
+            if (query.matches(entry)) {
+                matched.add(entry);
+            }
+        }
+        Collections.sort(matched, query::compareEntries);
+        JSONArray page = new JSONArray();
+        for (int i = query.skip; i < Math.min(matched.size(), query.skip + query.limit); i++) {
+            page.put(matched.get(i));
+        }
+        JSONObject response = new JSONObject().put("entries", page);
+        return query.includeCount ? response.put("count", matched.size()) : response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LocalStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An app keeping the published entries of one content type out of a sync page of 10,000 items, a tenth of
+ * them, through {@link SyncStack#getSyncItems()} and, as the baseline, through the list of items
+ * <code>setJSON</code> used to copy. The <code>parse</code> benchmarks include parsing the page, as the
+ * transport does. Run {@link #main(String[])}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncStackBenchmark {
+
+    private static final int ITEMS = 10000;
+
+    private String body;
+    private JSONObject page;
+
+    @Setup
+    public void setUp() throws Exception {
+        JSONArray items = new JSONArray();
+        for (int i = 0; i < ITEMS; i++) {
+            JSONObject data = new JSONObject()
+                    .put("uid", "blt" + i)
+                    .put("title", "Product " + i)
+                    .put("price", i % 1000)
+                    .put("tags", new JSONArray().put("home").put("sale"))
+                    .put("publish_details", new JSONObject().put("locale", "en-us").put("time", "2024-03-02T08:30:00+0000"));
+            items.put(new JSONObject()
+                    .put("type", i % 5 == 0 ? "entry_unpublished" : "entry_published")
+                    .put("content_type_uid", i % 10 == 1 ? "product" : "category")
+                    .put("data", data));
+        }
+        page = new JSONObject().put("items", items).put("sync_token", "token");
+        body = page.toString();
+    }
+
+    @Benchmark
+    public int filterViews() {
+        return keepViews(page);
+    }
+
+    @Benchmark
+    public int filterCopiedList() {
+        return keepCopiedList(page);
+    }
+
+    @Benchmark
+    public int parseAndFilterViews() throws Exception {
+        return keepViews(new JSONObject(body));
+    }
+
+    @Benchmark
+    public int parseAndFilterCopiedList() throws Exception {
+        return keepCopiedList(new JSONObject(body));
+    }
+
+    private static int keepViews(JSONObject response) {
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(response);
+        int kept = 0;
+        for (SyncItem item : syncStack.getSyncItems()) {
+            if (item.isPublished() && "product".equals(item.getContentTypeUid())) {
+                kept += item.getData().length();
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * The items as <code>setJSON</code> copied them before they were read on demand, kept as the baseline.
+     */
+    private static int keepCopiedList(JSONObject response) {
+        JSONArray array = response.optJSONArray("items");
+        ArrayList<JSONObject> items = new ArrayList<>();
+        for (int position = 0; position < array.length(); position++) {
+            items.add(array.optJSONObject(position));
+        }
+        int kept = 0;
+        for (JSONObject item : items) {
+            if (item.optString("type").equals("entry_published") && "product".equals(item.optString("content_type_uid"))) {
+                kept += item.optJSONObject("data").length();
+            }
+        }
+        return kept;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SyncStackBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.contentstack.sdk;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for AssetStreamCallback.
+ */
+public class TestAssetStreamCallback {
+
+    private static class TestCallback extends AssetStreamCallback {
+
+        List<Asset> assets = new ArrayList<>();
+        ResponseType lastResponseType;
+        int lastCount = -1;
+        Error lastError;
+        boolean onCompletionCalled = false;
+
+        @Override
+        public void onAsset(Asset asset) {
+            assets.add(asset);
+        }
+
+        @Override
+        public void onCompletion(ResponseType responseType, int count, Error error) {
+            onCompletionCalled = true;
+            lastResponseType = responseType;
+            lastCount = count;
+            lastError = error;
+        }
+    }
+
+    @Test
+    public void testOnRequestItemCallsOnAsset() {
+        TestCallback callback = new TestCallback();
+        Asset asset = new Asset();
+
+        callback.onRequestItem(asset);
+
+        assertEquals(1, callback.assets.size());
+        assertSame(asset, callback.assets.get(0));
+        assertFalse(callback.onCompletionCalled);
+    }
+
+    @Test
+    public void testOnRequestFinishCallsOnCompletionWithNullError() {
+        TestCallback callback = new TestCallback();
+
+        callback.onRequestFinish(ResponseType.NETWORK, 5);
+
+        assertTrue(callback.onCompletionCalled);
+        assertEquals(ResponseType.NETWORK, callback.lastResponseType);
+        assertEquals(5, callback.lastCount);
+        assertNull(callback.lastError);
+    }
+
+    @Test
+    public void testOnRequestFailCallsOnCompletionWithError() {
+        TestCallback callback = new TestCallback();
+        Error error = new Error();
+
+        callback.onRequestFail(ResponseType.NETWORK, error);
+
+        assertTrue(callback.onCompletionCalled);
+        assertEquals(0, callback.lastCount);
+        assertSame(error, callback.lastError);
+    }
+}
@@ -0,0 +1,195 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TestCacheEvictor {
+
+    private File folder;
+    private CacheEvictor evictor;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("ContentstackCache").toFile();
+        evictor = new CacheEvictor(CacheEvictor.DEFAULT_MAX_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private CacheRecord writeRecord(String name, String contentTypeUid, long age) throws Exception {
+        return writeRecord(name, contentTypeUid, age, 0);
+    }
+
+    private CacheRecord writeRecord(String name, String contentTypeUid, long age, long ttl) throws Exception {
+        JSONObject cacheJSON = new JSONObject()
+                .put("url", "https://cdn.contentstack.io/v3/content_types/" + contentTypeUid + "/entries")
+                .put("timestamp", System.currentTimeMillis() - age)
+                .put("response", new JSONObject().put("entries", new JSONObject().put("title", "Entry " + name)))
+                .put("content_type_uid", contentTypeUid)
+                .put("ttl", ttl);
+        CacheRecord record = CacheRecord.fromJSON(cacheJSON);
+        record.write(new File(folder, name));
+        return record;
+    }
+
+    private File writePlainFile(String name, String content) throws IOException {
+        File file = new File(folder, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    @Test
+    public void testSweepDeletesFilesOlderThanDefaultTTL() throws Exception {
+        writeRecord("old", "product", TimeUnit.HOURS.toMillis(25));
+        writeRecord("recent", "product", TimeUnit.HOURS.toMillis(1));
+        File session = writePlainFile("Session", new JSONObject().put("timestamp", 1).toString());
+        File invalid = writePlainFile("invalid.json", "dummy");
+
+        evictor.sweep(folder);
+
+        assertFalse(new File(folder, "old").exists());
+        assertTrue(new File(folder, "recent").exists());
+        assertTrue(session.exists());
+        assertTrue(invalid.exists());
+        assertEquals(1, evictor.count());
+    }
+
+    @Test
+    public void testContentTypeTTL() throws Exception {
+        Map<String, Long> ttl = new HashMap<>();
+        ttl.put("news", TimeUnit.MINUTES.toMillis(5));
+        ttl.put("navigation", TimeUnit.DAYS.toMillis(7));
+        evictor.configure(CacheEvictor.DEFAULT_MAX_SIZE, CacheEvictor.DEFAULT_TTL, ttl);
+        writeRecord("news", "news", TimeUnit.MINUTES.toMillis(10));
+        writeRecord("navigation", "navigation", TimeUnit.DAYS.toMillis(3));
+
+        evictor.sweep(folder);
+
+        assertFalse(new File(folder, "news").exists());
+        assertTrue(new File(folder, "navigation").exists());
+        assertEquals(TimeUnit.HOURS.toMillis(24), evictor.getTTL("product"));
+    }
+
+    @Test
+    public void testCallTTLOverridesConfiguredTTL() throws Exception {
+        evictor.configure(CacheEvictor.DEFAULT_MAX_SIZE, TimeUnit.HOURS.toMillis(1), Collections.singletonMap("news", TimeUnit.DAYS.toMillis(1)));
+        writeRecord("short", "news", TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(5));
+        writeRecord("long", "product", TimeUnit.HOURS.toMillis(3), TimeUnit.DAYS.toMillis(7));
+        writeRecord("default", "product", TimeUnit.HOURS.toMillis(2));
+
+        evictor.sweep(folder);
+
+        assertFalse(new File(folder, "short").exists());
+        assertTrue(new File(folder, "long").exists());
+        assertFalse(new File(folder, "default").exists());
+    }
+
+    @Test
+    public void testWriteOverBudgetEvictsLeastRecentlyUsed() throws Exception {
+        File a = new File(folder, "a");
+        File b = new File(folder, "b");
+        File c = new File(folder, "c");
+        evictor.onWritten(a, writeRecord("a", "product", 0));
+        evictor.onWritten(b, writeRecord("b", "product", 0));
+        evictor.configure(a.length() + b.length(), CacheEvictor.DEFAULT_TTL, Collections.<String, Long>emptyMap());
+
+        evictor.onAccess(a);
+        evictor.onWritten(c, writeRecord("c", "product", 0));
+
+        assertTrue(a.exists());
+        assertFalse("b was used least recently", b.exists());
+        assertTrue(c.exists());
+        assertEquals(a.length() + c.length(), evictor.size());
+    }
+
+    @Test
+    public void testWriteEvictsExpiredFiles() throws Exception {
+        File expired = new File(folder, "expired");
+        File kept = new File(folder, "kept");
+        evictor.onWritten(kept, writeRecord("kept", "product", 0));
+        evictor.onWritten(expired, writeRecord("expired", "product", TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(5)));
+
+        evictor.onWritten(new File(folder, "c"), writeRecord("c", "product", 0));
+
+        assertFalse(expired.exists());
+        assertTrue(kept.exists());
+        assertEquals(2, evictor.count());
+    }
+
+    @Test
+    public void testAccessDoesNotWaitForTheIndex() throws Exception {
+        File a = new File(folder, "a");
+        evictor.onWritten(a, writeRecord("a", "product", 0));
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (evictor) {
+                held.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        Thread reader = new Thread(() -> evictor.onAccess(a));
+        reader.start();
+        reader.join(1000);
+
+        assertFalse("onAccess waited for the index", reader.isAlive());
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    public void testRewrittenFileIsCountedOnce() throws Exception {
+        File a = new File(folder, "a");
+        evictor.onWritten(a, writeRecord("a", "product", 0));
+        evictor.onWritten(a, writeRecord("a", "product", 0));
+
+        assertEquals(1, evictor.count());
+        assertEquals(a.length(), evictor.size());
+    }
+
+    @Test
+    public void testSweepMigratesKeptPlainJSONAndDropsStaleTempFiles() throws Exception {
+        File legacy = writePlainFile("legacy", new JSONObject()
+                .put("timestamp", System.currentTimeMillis())
+                .put("response", new JSONObject().put("entry", new JSONObject())).toString());
+        File temp = writePlainFile("a" + CacheRecord.TEMP_SUFFIX, "partial");
+        temp.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2));
+
+        evictor.sweep(folder);
+
+        assertTrue(CacheRecord.isRecord(legacy));
+        assertEquals(legacy.length(), evictor.size());
+        assertFalse(temp.exists());
+    }
+}
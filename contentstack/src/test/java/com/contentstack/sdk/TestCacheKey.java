@@ -0,0 +1,71 @@
+package com.contentstack.sdk;
+
+import android.util.ArrayMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestCacheKey {
+
+    private static final String URL = "/v3/content_types/product/entries";
+
+    private static Map<String, Object> headers(String... namesAndValues) {
+        ArrayMap<String, Object> headers = new ArrayMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            headers.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return headers;
+    }
+
+    @Test
+    public void testOrderDoesNotMatter() throws Exception {
+        JSONObject params = new JSONObject()
+                .put("locale", "en-us")
+                .put("include[]", new JSONArray().put("author").put("related"))
+                .put("query", new JSONObject().put("title", "Lamp").put("price", new JSONObject().put("$lt", 100).put("$gt", 10)));
+        JSONObject reordered = new JSONObject()
+                .put("query", new JSONObject().put("price", new JSONObject().put("$gt", 10).put("$lt", 100)).put("title", "Lamp"))
+                .put("include[]", new JSONArray().put("related").put("author"))
+                .put("locale", "en-us");
+
+        assertEquals(CacheKey.of(URL, params, headers("api_key", "key", "environment", "production")),
+                CacheKey.of(URL, reordered, headers("environment", "production", "api_key", "key")));
+    }
+
+    @Test
+    public void testValuesAreNormalized() throws Exception {
+        assertEquals(CacheKey.of(URL, new JSONObject().put("limit", 10).put("include_count", true), null),
+                CacheKey.of(URL, new JSONObject().put("limit", 10.0).put("include_count", "true"), null));
+        assertEquals(CacheKey.of(URL, new JSONObject().put("query", new JSONObject().put("price", 10L)), null),
+                CacheKey.of(URL, new JSONObject().put("query", new JSONObject().put("price", 10.0)), null));
+        assertNotEquals("the query is JSON, where a string is not a number",
+                CacheKey.of(URL, new JSONObject().put("query", new JSONObject().put("price", 10)), null),
+                CacheKey.of(URL, new JSONObject().put("query", new JSONObject().put("price", "10")), null));
+    }
+
+    @Test
+    public void testOnlyCacheRelevantHeaders() {
+        JSONObject params = new JSONObject();
+
+        assertEquals(CacheKey.of(URL, params, headers("api_key", "key", "access_token", "token1", "x-request-id", "1")),
+                CacheKey.of(URL, params, headers("api_key", "key", "access_token", "token2", "x-request-id", "2")));
+        assertNotEquals(CacheKey.of(URL, params, headers("api_key", "key", "branch", "main")),
+                CacheKey.of(URL, params, headers("api_key", "key", "branch", "development")));
+        assertNotEquals(CacheKey.of(URL, params, headers("api_key", "key")),
+                CacheKey.of(URL, params, headers("api_key", "key", "x-cs-variant-uid", "variant")));
+    }
+
+    @Test
+    public void testDifferentRequestsDiffer() throws Exception {
+        assertNotEquals(CacheKey.of(URL, new JSONObject().put("locale", "en-us"), null),
+                CacheKey.of(URL, new JSONObject().put("locale", "fr-fr"), null));
+        assertNotEquals(CacheKey.of(URL, null, null), CacheKey.of(URL + "/blt1", null, null));
+        assertNotEquals(CacheKey.of(URL, new JSONObject().put("a", "b&c=d"), null),
+                CacheKey.of(URL, new JSONObject().put("a", "b").put("c", "d"), null));
+    }
+}
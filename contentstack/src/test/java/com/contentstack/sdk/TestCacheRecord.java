@@ -0,0 +1,183 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class TestCacheRecord {
+
+    private File folder;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("ContentstackCache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private JSONObject cacheJSON(long timestamp) throws Exception {
+        return new JSONObject()
+                .put("url", "https://cdn.contentstack.io/v3/content_types/product/entries")
+                .put("timestamp", timestamp)
+                .put("params", new JSONObject())
+                .put("response", new JSONObject().put("entries", new JSONObject().put("uid", "blt01").put("title", "Lamp")))
+                .put("classUID", "QUERY")
+                .put("content_type_uid", "product")
+                .put("header", new JSONObject().put("api_key", "key"))
+                .put("etag", "\"v1\"");
+    }
+
+    private File writePlainJSON(String name, JSONObject json) throws IOException {
+        File file = new File(folder, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(json.toString());
+        }
+        return file;
+    }
+
+    @Test
+    public void testRecordRoundTrip() throws Exception {
+        JSONObject cacheJSON = cacheJSON(1700000000000L);
+        File file = new File(folder, "sha1");
+        CacheRecord.fromJSON(cacheJSON).write(file);
+
+        CacheRecord record = CacheRecord.read(file);
+
+        assertNotNull(record);
+        assertEquals(1700000000000L, record.timestamp);
+        assertEquals("\"v1\"", record.eTag);
+        assertNull(record.lastModified);
+        assertEquals("QUERY", record.classUID);
+        assertEquals("product", record.contentTypeUid);
+        assertFalse(record.payload.has("timestamp"));
+        assertEquals(cacheJSON.toString(), record.toJSON().toString());
+    }
+
+    @Test
+    public void testRecordIsSmallerThanPlainJSON() throws Exception {
+        JSONObject cacheJSON = cacheJSON(System.currentTimeMillis());
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            body.append("<p>Paragraph ").append(i).append("</p>");
+        }
+        cacheJSON.getJSONObject("response").getJSONObject("entries").put("body", body);
+        File plain = writePlainJSON("plain", cacheJSON);
+        File record = new File(folder, "record");
+        CacheRecord.fromJSON(cacheJSON).write(record);
+
+        assertTrue(record.length() < plain.length() / 2);
+    }
+
+    @Test
+    public void testTimestampIsReadFromBothFormats() throws Exception {
+        File record = new File(folder, "record");
+        CacheRecord.fromJSON(cacheJSON(1700000000000L)).write(record);
+        File plain = writePlainJSON("plain", cacheJSON(1600000000000L));
+
+        assertEquals(1700000000000L, CacheRecord.readTimestamp(record));
+        assertEquals(1600000000000L, CacheRecord.readTimestamp(plain));
+        assertEquals(-1, CacheRecord.readTimestamp(new File(folder, "missing")));
+    }
+
+    @Test
+    public void testPlainJSONIsStillRead() throws Exception {
+        JSONObject cacheJSON = cacheJSON(1600000000000L);
+        File plain = writePlainJSON("plain", cacheJSON);
+
+        assertFalse(CacheRecord.isRecord(plain));
+        assertEquals(cacheJSON.toString(), SDKUtil.getJsonFromCacheFile(plain).toString());
+    }
+
+    @Test
+    public void testMigrateRewritesPlainJSONOnce() throws Exception {
+        JSONObject cacheJSON = cacheJSON(1600000000000L);
+        File plain = writePlainJSON("plain", cacheJSON);
+
+        assertTrue(CacheRecord.migrate(plain));
+        assertTrue(CacheRecord.isRecord(plain));
+        assertEquals(cacheJSON.toString(), SDKUtil.getJsonFromCacheFile(plain).toString());
+        assertFalse(CacheRecord.migrate(plain));
+    }
+
+    @Test
+    public void testMigrateLeavesOtherFilesAlone() throws Exception {
+        File offlineCall = writePlainJSON("call", new JSONObject().put("url", "https://cdn.contentstack.io"));
+
+        assertFalse(CacheRecord.migrate(offlineCall));
+        assertFalse(CacheRecord.isRecord(offlineCall));
+    }
+
+    @Test
+    public void testCorruptPayloadIsNotRead() throws Exception {
+        File file = new File(folder, "sha1");
+        CacheRecord.fromJSON(cacheJSON(1700000000000L)).write(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        assertNull(CacheRecord.read(file));
+        assertNull(SDKUtil.getJsonFromCacheFile(file));
+    }
+
+    private JSONObject largeCacheJSON() throws Exception {
+        JSONObject cacheJSON = cacheJSON(1700000000000L);
+        JSONArray entries = new JSONArray();
+        for (int i = 0; i < 2000; i++) {
+            entries.put(new JSONObject().put("uid", "blt" + i).put("title", "Entry " + i).put("rank", i));
+        }
+        cacheJSON.put("response", new JSONObject().put("entries", entries).put("count", 2000));
+        return cacheJSON;
+    }
+
+    @Test
+    public void testLargeRecordIsReadFromMappedFile() throws Exception {
+        JSONObject cacheJSON = largeCacheJSON();
+        File file = new File(folder, "sha1");
+        CacheRecord.fromJSON(cacheJSON).write(file);
+        File plain = writePlainJSON("plain", cacheJSON);
+
+        assertTrue(CacheRecord.map(plain).isDirect());
+        assertEquals(cacheJSON.toString(), SDKUtil.getJsonFromCacheFile(file).toString());
+        assertEquals(cacheJSON.toString(), SDKUtil.getJsonFromCacheFile(plain).toString());
+    }
+
+    @Test
+    public void testSmallFileIsNotMapped() throws Exception {
+        File plain = writePlainJSON("plain", cacheJSON(1600000000000L));
+
+        assertFalse(CacheRecord.map(plain).isDirect());
+    }
+
+    @Test
+    public void testTruncatedRecordIsNotRead() throws Exception {
+        File file = new File(folder, "sha1");
+        CacheRecord.fromJSON(largeCacheJSON()).write(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() / 2);
+        }
+
+        assertNull(SDKUtil.getJsonFromCacheFile(file));
+    }
+}
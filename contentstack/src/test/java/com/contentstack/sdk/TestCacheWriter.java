@@ -0,0 +1,134 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestCacheWriter {
+
+    private File folder;
+    private CacheWriter writer;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("ContentstackCache").toFile();
+        writer = new CacheWriter();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        writer.awaitIdle();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private JSONObject cacheJSON(String title) throws Exception {
+        return new JSONObject()
+                .put("url", "https://cdn.contentstack.io/v3/content_types/product/entries/blt01")
+                .put("timestamp", System.currentTimeMillis())
+                .put("response", new JSONObject().put("entry", new JSONObject().put("uid", "blt01").put("title", title)));
+    }
+
+    private CountDownLatch blockWriter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer.write(new File(folder, "blocker"), cacheJSON("blocker"), () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    public void testWriteIsAtomicAndLeavesNoTempFile() throws Exception {
+        File file = new File(folder, "sha1");
+        AtomicInteger written = new AtomicInteger();
+        writer.write(file, cacheJSON("Lamp"), written::incrementAndGet);
+        writer.awaitIdle();
+
+        assertEquals(1, written.get());
+        assertTrue(CacheRecord.isRecord(file));
+        assertFalse(new File(folder, "sha1" + CacheRecord.TEMP_SUFFIX).exists());
+        assertNull(writer.getPending(file));
+    }
+
+    @Test
+    public void testQueuedWriteIsVisibleBeforeItIsOnDisk() throws Exception {
+        CountDownLatch release = blockWriter();
+        File file = new File(folder, "sha1");
+        JSONObject cacheJSON = cacheJSON("Lamp");
+
+        writer.write(file, cacheJSON, null);
+
+        assertFalse(file.exists());
+        assertSame(cacheJSON, writer.getPending(file));
+        release.countDown();
+        writer.awaitIdle();
+        assertEquals("Lamp", SDKUtil.getJsonFromCacheFile(file)
+                .getJSONObject("response").getJSONObject("entry").getString("title"));
+    }
+
+    @Test
+    public void testRepeatedWritesForSameFileAreCoalesced() throws Exception {
+        CountDownLatch release = blockWriter();
+        File file = new File(folder, "sha1");
+        AtomicInteger written = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            writer.write(file, cacheJSON("Lamp " + i), written::incrementAndGet);
+        }
+        release.countDown();
+        writer.awaitIdle();
+
+        assertEquals(1, written.get());
+        assertEquals("Lamp 9", CacheRecord.read(file).toJSON()
+                .getJSONObject("response").getJSONObject("entry").getString("title"));
+    }
+
+    @Test
+    public void testBurstNeverRunsOnCallerThread() throws Exception {
+        CountDownLatch release = blockWriter();
+        Thread caller = Thread.currentThread();
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        Runnable onWritten = () -> {
+            written.incrementAndGet();
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        };
+
+        for (int i = 0; i < 200; i++) {
+            writer.write(new File(folder, "queued" + i), cacheJSON("Lamp"), onWritten);
+            writer.submit(onWritten);
+        }
+
+        assertEquals(0, written.get());
+        assertFalse(new File(folder, "queued199").exists());
+        release.countDown();
+        writer.awaitIdle();
+        assertEquals(400, written.get());
+        assertEquals(0, ranOnCaller.get());
+        assertTrue(CacheRecord.isRecord(new File(folder, "queued199")));
+    }
+}
@@ -262,5 +262,74 @@ public class TestConfig {
         assertNotNull(config.getProxy());
         assertNotNull(config.connectionPool);
     }
-}
 
+    @Test
+    public void testTimeoutsDefaultAndSetters() {
+        assertEquals(SDKConstant.TimeOutDuration, config.getConnectTimeout());
+        assertEquals(SDKConstant.TimeOutDuration, config.getReadTimeout());
+        assertEquals(0, config.getCallTimeout());
+
+        config.setConnectTimeout(5, TimeUnit.SECONDS);
+        config.setReadTimeout(15, TimeUnit.SECONDS);
+        config.setCallTimeout(1, TimeUnit.MINUTES);
+
+        assertEquals(5000, config.getConnectTimeout());
+        assertEquals(15000, config.getReadTimeout());
+        assertEquals(60000, config.getCallTimeout());
+
+        config.setConnectTimeout(-1, TimeUnit.SECONDS);
+        config.setReadTimeout(-1, TimeUnit.SECONDS);
+        config.setCallTimeout(-1, TimeUnit.SECONDS);
+
+        assertEquals(0, config.getConnectTimeout());
+        assertEquals(0, config.getReadTimeout());
+        assertEquals(0, config.getCallTimeout());
+    }
+
+    @Test
+    public void testMaxConcurrentRequests() {
+        assertEquals(5, config.getMaxConcurrentRequests());
+        assertEquals(1, config.getMaxConcurrentRequests(RequestPriority.BACKGROUND));
+
+        config.setMaxConcurrentRequests(8);
+        config.setMaxConcurrentRequests(RequestPriority.BACKGROUND, 2);
+        config.setMaxConcurrentRequests(RequestPriority.LOW, 0);
+
+        assertEquals(8, config.getMaxConcurrentRequests());
+        assertEquals(2, config.getMaxConcurrentRequests(RequestPriority.BACKGROUND));
+        assertEquals(1, config.getMaxConcurrentRequests(RequestPriority.LOW));
+        assertEquals(5, config.getMaxConcurrentRequests(RequestPriority.HIGH));
+    }
+
+    @Test
+    public void testDiskCacheSizeAndContentTypeTTL() {
+        assertEquals(CacheEvictor.DEFAULT_MAX_SIZE, config.getDiskCacheSize());
+        assertEquals(TimeUnit.HOURS.toMillis(24), config.getCacheTTL("news"));
+
+        config.setDiskCacheSize(-1);
+        config.setCacheTTL("news", 5, TimeUnit.MINUTES);
+
+        assertEquals(0, config.getDiskCacheSize());
+        assertEquals(TimeUnit.MINUTES.toMillis(5), config.getCacheTTL("news"));
+        assertEquals(TimeUnit.HOURS.toMillis(24), config.getCacheTTL("navigation"));
+    }
+
+    @Test
+    public void testDefaultCacheTTL() {
+        assertEquals(TimeUnit.HOURS.toMillis(24), config.getCacheTTL());
+
+        config.setCacheTTL(1, TimeUnit.HOURS);
+        config.setCacheTTL("navigation", 7, TimeUnit.DAYS);
+
+        assertEquals(TimeUnit.HOURS.toMillis(1), config.getCacheTTL());
+        assertEquals(TimeUnit.HOURS.toMillis(1), config.getCacheTTL("news"));
+        assertEquals(TimeUnit.DAYS.toMillis(7), config.getCacheTTL("navigation"));
+    }
+
+    @Test
+    public void testLocalStoreIsDisabledByDefault() {
+        assertFalse(config.isLocalStore());
+        config.setLocalStore(true);
+        assertTrue(config.isLocalStore());
+    }
+}
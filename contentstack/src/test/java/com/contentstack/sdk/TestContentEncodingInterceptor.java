@@ -0,0 +1,130 @@
+package com.contentstack.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import static org.junit.Assert.*;
+
+public class TestContentEncodingInterceptor {
+
+    private static final String BODY = buildBody();
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private final List<TransferStats> reported = new ArrayList<>();
+
+    private static String buildBody() {
+        StringBuilder builder = new StringBuilder("{\"entries\":[");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"uid\":\"blt").append(i).append("\",\"title\":\"Sample entry title\",\"locale\":\"en-us\"}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static Buffer gzip(String value) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(value);
+        }
+        return buffer;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new ContentEncodingInterceptor(reported::add))
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private String get(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    @Test
+    public void testGzipResponseIsDecompressedAndCounted() throws Exception {
+        Buffer compressed = gzip(BODY);
+        long compressedSize = compressed.size();
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(compressed));
+
+        assertEquals(BODY, get(new Request.Builder().url(server.url("/v3/content_types/blog/entries")).build()));
+
+        assertEquals("gzip, br", server.takeRequest().getHeader("Accept-Encoding"));
+        assertEquals(1, reported.size());
+        TransferStats stats = reported.get(0);
+        assertEquals("gzip", stats.getContentEncoding());
+        assertEquals(compressedSize, stats.getCompressedBytes());
+        assertEquals(BODY.length(), stats.getUncompressedBytes());
+        assertTrue(stats.getCompressedBytes() < stats.getUncompressedBytes());
+        assertTrue(stats.getUrl().endsWith("/v3/content_types/blog/entries"));
+    }
+
+    @Test
+    public void testUncompressedResponseIsCounted() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"uid\":\"blt1\"}"));
+
+        assertEquals("{\"uid\":\"blt1\"}", get(new Request.Builder().url(server.url("/")).build()));
+
+        TransferStats stats = reported.get(0);
+        assertEquals("identity", stats.getContentEncoding());
+        assertEquals(14, stats.getCompressedBytes());
+        assertEquals(14, stats.getUncompressedBytes());
+    }
+
+    @Test
+    public void testCallerEncodingIsLeftAlone() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        get(new Request.Builder().url(server.url("/")).header("Accept-Encoding", "identity").build());
+
+        assertEquals("identity", server.takeRequest().getHeader("Accept-Encoding"));
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    public void testUnsupportedEncodingIsPassedThrough() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "zstd").setBody("raw"));
+
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertEquals("zstd", response.header("Content-Encoding"));
+            assertEquals("raw", response.body().string());
+        }
+        assertTrue(reported.isEmpty());
+    }
+
+    @Test
+    public void testNotModifiedIsNotCounted() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+            assertEquals(304, response.code());
+        }
+        assertTrue(reported.isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EntryStreamCallback and the streaming result of Query.
+ */
+public class TestEntryStreamCallback {
+
+    private static class TestCallback extends EntryStreamCallback {
+
+        List<Entry> entries = new ArrayList<>();
+        ResponseType lastResponseType;
+        QueryResult lastResult;
+        Error lastError;
+        boolean onCompletionCalled = false;
+
+        @Override
+        public void onEntry(Entry entry) {
+            entries.add(entry);
+        }
+
+        @Override
+        public void onCompletion(ResponseType responseType, QueryResult queryResult, Error error) {
+            onCompletionCalled = true;
+            lastResponseType = responseType;
+            lastResult = queryResult;
+            lastError = error;
+        }
+    }
+
+    @Test
+    public void testOnRequestItemCallsOnEntry() {
+        TestCallback callback = new TestCallback();
+        Entry entry = new Entry("blog");
+
+        callback.onRequestItem(entry);
+
+        assertEquals(1, callback.entries.size());
+        assertSame(entry, callback.entries.get(0));
+        assertFalse(callback.onCompletionCalled);
+    }
+
+    @Test
+    public void testOnRequestFailCallsOnCompletionWithError() {
+        TestCallback callback = new TestCallback();
+        Error error = new Error();
+
+        callback.onRequestFail(ResponseType.NETWORK, error);
+
+        assertTrue(callback.onCompletionCalled);
+        assertNull(callback.lastResult);
+        assertSame(error, callback.lastError);
+    }
+
+    @Test
+    public void testStreamResultUsesStreamedCountWithoutIncludeCount() throws Exception {
+        TestCallback callback = new TestCallback();
+        Query query = new Query("blog");
+
+        query.getStreamResult(new JSONObject("{\"schema\":[{\"uid\":\"title\"}]}"), 3, callback);
+
+        assertTrue(callback.onCompletionCalled);
+        assertEquals(ResponseType.NETWORK, callback.lastResponseType);
+        assertNull(callback.lastError);
+        assertEquals(3, callback.lastResult.getCount());
+        assertEquals(1, callback.lastResult.getSchema().length());
+        assertTrue(callback.lastResult.getResultObjects().isEmpty());
+    }
+
+    @Test
+    public void testStreamResultKeepsIncludeCountTotal() throws Exception {
+        TestCallback callback = new TestCallback();
+        Query query = new Query("blog");
+
+        query.getStreamResult(new JSONObject("{\"count\":250}"), 100, callback);
+
+        assertEquals(250, callback.lastResult.getCount());
+    }
+
+    @Test
+    public void testGetEntryCopiesModel() throws Exception {
+        Query query = new Query("blog");
+        EntryModel model = new EntryModel(new JSONObject("{\"uid\":\"blt1\",\"title\":\"Hello\",\"url\":\"/hello\",\"tags\":[\"a\"]}"),
+                null, true, false, false);
+
+        Entry entry = query.getEntry(model);
+
+        assertEquals("blt1", entry.getUid());
+        assertEquals("Hello", entry.getTitle());
+        assertEquals("/hello", entry.getURL());
+        assertEquals("a", entry.getTags()[0]);
+    }
+}
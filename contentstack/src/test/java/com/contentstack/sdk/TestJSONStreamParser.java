@@ -0,0 +1,96 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestJSONStreamParser {
+
+    private final List<JSONObject> items = new ArrayList<>();
+
+    private JSONObject parse(String key, String json) throws Exception {
+        return new JSONStreamParser(key, items::add).parse(new StringReader(json));
+    }
+
+    @Test
+    public void testItemsAreStreamedAndEnvelopeKept() throws Exception {
+        JSONObject envelope = parse("entries",
+                "{\"count\":2,\"entries\":[{\"uid\":\"a\",\"title\":\"A\"},{\"uid\":\"b\",\"title\":\"B\"}],"
+                        + "\"content_type\":{\"uid\":\"blog\"}}");
+
+        assertEquals(2, items.size());
+        assertEquals("a", items.get(0).getString("uid"));
+        assertEquals("B", items.get(1).getString("title"));
+        assertFalse(envelope.has("entries"));
+        assertEquals(2, envelope.getInt("count"));
+        assertEquals("blog", envelope.getJSONObject("content_type").getString("uid"));
+    }
+
+    @Test
+    public void testItemCount() throws Exception {
+        JSONStreamParser parser = new JSONStreamParser("assets", null);
+        parser.parse(new StringReader("{\"assets\":[{\"uid\":\"1\"},{\"uid\":\"2\"},{\"uid\":\"3\"}]}"));
+        assertEquals(3, parser.getItemCount());
+    }
+
+    @Test
+    public void testValuesMatchJSONObjectParsing() throws Exception {
+        String item = "{\"int\":7,\"long\":12345678901,\"double\":1.5,\"exp\":1e3,\"bool\":true,"
+                + "\"nil\":null,\"str\":\"x\",\"nested\":{\"tags\":[\"t1\",\"t2\"]},\"list\":[1,{\"k\":\"v\"}]}";
+        parse("entries", "{\"entries\":[" + item + "]}");
+
+        JSONObject streamed = items.get(0);
+        JSONObject expected = new JSONObject(item);
+        assertEquals(expected.get("int"), streamed.get("int"));
+        assertEquals(expected.get("long"), streamed.get("long"));
+        assertEquals(expected.getDouble("double"), streamed.getDouble("double"), 0);
+        assertEquals(expected.getDouble("exp"), streamed.getDouble("exp"), 0);
+        assertTrue(streamed.getBoolean("bool"));
+        assertTrue(streamed.isNull("nil"));
+        assertEquals("x", streamed.getString("str"));
+        JSONArray tags = streamed.getJSONObject("nested").getJSONArray("tags");
+        assertEquals("t2", tags.getString(1));
+        assertEquals("v", streamed.getJSONArray("list").getJSONObject(1).getString("k"));
+    }
+
+    @Test
+    public void testNonArrayStreamKeyStaysInEnvelope() throws Exception {
+        JSONObject envelope = parse("entries", "{\"entries\":null,\"count\":0}");
+        assertTrue(items.isEmpty());
+        assertTrue(envelope.isNull("entries"));
+    }
+
+    @Test
+    public void testNonObjectItemsAreSkipped() throws Exception {
+        parse("entries", "{\"entries\":[1,\"two\",{\"uid\":\"three\"}]}");
+        assertEquals(1, items.size());
+        assertEquals("three", items.get(0).getString("uid"));
+    }
+
+    @Test(expected = JSONException.class)
+    public void testMalformedJsonThrowsJSONException() throws Exception {
+        parse("entries", "{\"entries\":[{\"uid\":\"a\"},");
+    }
+
+    @Test(expected = JSONException.class)
+    public void testNonObjectBodyThrowsJSONException() throws Exception {
+        parse("entries", "[1,2,3]");
+    }
+
+    @Test
+    public void testItemsBeforeErrorAreDelivered() {
+        try {
+            parse("entries", "{\"entries\":[{\"uid\":\"a\"},{\"uid\":");
+            fail("Expected JSONException");
+        } catch (Exception e) {
+            assertEquals(1, items.size());
+        }
+    }
+}
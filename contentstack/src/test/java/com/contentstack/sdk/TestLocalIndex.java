@@ -0,0 +1,100 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestLocalIndex {
+
+    private LocalIndex price;
+    private LocalIndex tags;
+    private LocalIndex title;
+
+    private static JSONObject entry(Object price, String title, String... tags) throws Exception {
+        return new JSONObject().put("price", price).put("title", title).put("tags", new JSONArray(tags));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        price = new LocalIndex("price", false);
+        tags = new LocalIndex("tags", false);
+        title = new LocalIndex("title", true);
+        add("a", entry(10, "Desk lamp", "home", "office"));
+        add("b", entry(20.5, "Standing desk", "office"));
+        add("c", entry("30", "Lamp shade", "home"));
+    }
+
+    private void add(String key, JSONObject entry) {
+        price.add(key, entry);
+        tags.add(key, entry);
+        title.add(key, entry);
+    }
+
+    private static HashSet<String> keys(String... keys) {
+        return new HashSet<>(Arrays.asList(keys));
+    }
+
+    @Test
+    public void testEqualityAndIn() throws Exception {
+        assertEquals(keys("a"), price.lookup(10.0));
+        assertEquals(keys("c"), price.lookup("30"));
+        assertEquals(keys(), price.lookup(30));
+        assertEquals(keys("a", "b"), tags.lookup(new JSONObject().put("$in", new JSONArray().put("office"))));
+        assertEquals(keys("a", "b", "c"), tags.lookup(new JSONObject().put("$in", new JSONArray().put("office").put("home"))));
+    }
+
+    @Test
+    public void testRangeKeepsTypesApart() throws Exception {
+        assertEquals(keys("b"), price.lookup(new JSONObject().put("$gt", 10)));
+        assertEquals(keys("a", "b"), price.lookup(new JSONObject().put("$gte", 10).put("$lt", 21)));
+        assertEquals(keys("c"), price.lookup(new JSONObject().put("$gte", "1")));
+        assertEquals(keys(), price.lookup(new JSONObject().put("$gt", 20).put("$lt", 10)));
+        assertEquals(keys(), price.lookup(new JSONObject().put("$gt", 1).put("$lt", "40")));
+        assertNull("$ne is left to the scan", price.lookup(new JSONObject().put("$ne", 10)));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        JSONObject replaced = entry(10, "Desk lamp", "home", "office");
+        tags.remove("a", replaced);
+        tags.add("a", entry(10, "Desk lamp", "sale"));
+
+        assertEquals(keys("c"), tags.lookup("home"));
+        assertEquals(keys("a"), tags.lookup("sale"));
+        assertEquals(3, tags.size());
+    }
+
+    @Test
+    public void testSearchMatchesWordPrefixes() {
+        assertEquals(keys("a", "c"), title.search("lam"));
+        assertEquals(keys("a"), title.search("Lamp DESK"));
+        assertEquals(keys(), title.search("chair"));
+        assertNull(title.search("  "));
+    }
+
+    @Test
+    public void testOrderedOnlyForSingleValuedFieldsOfOneType() throws Exception {
+        assertNull("mixed numbers and strings", price.ordered(false, 3));
+        assertNull("multiple values", tags.ordered(false, 3));
+
+        LocalIndex updatedAt = new LocalIndex("updated_at", false);
+        updatedAt.add("a", new JSONObject().put("updated_at", "2024-01-02"));
+        updatedAt.add("b", new JSONObject().put("updated_at", "2024-01-03"));
+        updatedAt.add("c", new JSONObject().put("updated_at", "2024-01-01"));
+        List<String> ordered = new ArrayList<>();
+        for (String key : updatedAt.ordered(true, 3)) {
+            ordered.add(key);
+        }
+
+        assertEquals(Arrays.asList("b", "a", "c"), ordered);
+        assertNull("an entry without the field", updatedAt.ordered(true, 4));
+    }
+}
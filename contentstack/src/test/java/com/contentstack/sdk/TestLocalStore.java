@@ -0,0 +1,341 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class TestLocalStore {
+
+    private File folder;
+    private LocalStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("ContentstackStore").toFile();
+        store = new LocalStore(folder);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        CacheWriter.getInstance().awaitIdle();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private static JSONObject item(String type, String contentTypeUid, JSONObject data) throws Exception {
+        return new JSONObject().put("type", type).put("content_type_uid", contentTypeUid).put("data", data);
+    }
+
+    private static JSONObject product(String uid, String title, double price, String... tags) throws Exception {
+        return new JSONObject()
+                .put("uid", uid)
+                .put("locale", "en-us")
+                .put("title", title)
+                .put("price", price)
+                .put("tags", new JSONArray(tags))
+                .put("updated_at", "2024-01-0" + uid.charAt(uid.length() - 1) + "T00:00:00.000Z")
+                .put("details", new JSONObject().put("color", uid.equals("blt1") ? "red" : "blue"));
+    }
+
+    private static SyncStack page(String syncToken, JSONObject... items) throws Exception {
+        JSONObject response = new JSONObject().put("items", new JSONArray());
+        for (JSONObject item : items) {
+            response.getJSONArray("items").put(item);
+        }
+        if (syncToken != null) {
+            response.put("sync_token", syncToken);
+        } else {
+            response.put("pagination_token", "page2");
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(response);
+        return syncStack;
+    }
+
+    private void syncProducts() throws Exception {
+        store.apply(page("token1",
+                item("entry_published", "product", product("blt1", "Lamp", 20, "home")),
+                item("entry_published", "product", product("blt2", "Desk", 150, "office")),
+                item("entry_published", "product", product("blt3", "Chair", 80, "office", "home"))));
+    }
+
+    private static JSONArray entries(JSONObject response) throws Exception {
+        return response.getJSONArray("entries");
+    }
+
+    private static String titles(JSONObject response) throws Exception {
+        StringBuilder titles = new StringBuilder();
+        JSONArray entries = entries(response);
+        for (int i = 0; i < entries.length(); i++) {
+            titles.append(i > 0 ? "," : "").append(entries.getJSONObject(i).getString("title"));
+        }
+        return titles.toString();
+    }
+
+    @Test
+    public void testStoreIsNotUsedBeforeSyncCompletes() throws Exception {
+        store.apply(page(null, item("entry_published", "product", product("blt1", "Lamp", 20))));
+
+        assertNull(store.getSyncToken());
+        assertEquals(1, store.count("product"));
+        assertNull(store.find("product", new JSONObject()));
+    }
+
+    @Test
+    public void testSyncDeltasAreApplied() throws Exception {
+        syncProducts();
+        store.apply(page("token2",
+                item("entry_published", "product", product("blt1", "Table lamp", 25)),
+                item("entry_unpublished", "product", new JSONObject().put("uid", "blt2").put("locale", "en-us")),
+                item("entry_deleted", "product", new JSONObject().put("uid", "blt3")),
+                item("asset_published", null, new JSONObject().put("uid", "asset1"))));
+
+        assertEquals("token2", store.getSyncToken());
+        assertEquals(1, store.count("product"));
+        assertEquals("Table lamp", titles(store.find("product", new JSONObject())));
+
+        store.apply(page("token3", item("content_type_deleted", null, new JSONObject().put("uid", "product"))));
+        assertEquals(0, store.count("product"));
+    }
+
+    @Test
+    public void testOperators() throws Exception {
+        syncProducts();
+
+        assertEquals("Desk", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("title", "Desk")))));
+        assertEquals("Chair,Lamp", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("price", new JSONObject().put("$lt", 100))))));
+        assertEquals("Chair,Lamp", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("tags", new JSONObject().put("$in", new JSONArray().put("home")))))));
+        assertEquals("Desk", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("details.color", "blue").put("price", new JSONObject().put("$gte", 100))))));
+        assertEquals("Desk,Lamp", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("$or", new JSONArray()
+                        .put(new JSONObject().put("title", "Lamp"))
+                        .put(new JSONObject().put("price", new JSONObject().put("$gt", 100)))))
+                .put("desc", "price"))));
+        assertEquals("Desk", titles(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("tags", new JSONObject().put("$nin", new JSONArray().put("home")))))));
+    }
+
+    @Test
+    public void testSortSkipLimitAndCount() throws Exception {
+        syncProducts();
+
+        JSONObject response = store.find("product", new JSONObject()
+                .put("asc", "price").put("skip", 1).put("limit", 1).put("include_count", true));
+
+        assertEquals("Chair", titles(response));
+        assertEquals(3, response.getInt("count"));
+        assertEquals("Chair,Desk,Lamp", titles(store.find("product", new JSONObject().put("asc", "title"))));
+        assertEquals("Chair,Desk,Lamp", titles(store.find("product", new JSONObject())));
+    }
+
+    @Test
+    public void testUnsupportedQueriesAreLeftToTheNetwork() throws Exception {
+        syncProducts();
+
+        assertNull(store.find("product", new JSONObject().put("include[]", new JSONArray().put("author"))));
+        assertNull(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("title", new JSONObject().put("$regex", "^L")))));
+        assertNull(store.find("product", new JSONObject()
+                .put("query", new JSONObject().put("author", new JSONObject().put("$in_query", new JSONObject())))));
+    }
+
+    @Test
+    public void testLocales() throws Exception {
+        syncProducts();
+        store.apply(page("token2", item("entry_published", "product",
+                product("blt1", "Lampe", 20).put("locale", "fr-fr"))));
+
+        assertNull("the CDN answers unlocalized queries with the master locale", store.find("product", new JSONObject()));
+        assertEquals("Lampe", titles(store.find("product", new JSONObject().put("locale", "fr-fr"))));
+        assertEquals(3, entries(store.find("product", new JSONObject().put("locale", "en-us"))).length());
+    }
+
+    @Test
+    public void testTagsAndSearch() throws Exception {
+        syncProducts();
+
+        assertEquals("Chair,Desk", titles(store.find("product", new JSONObject().put("tags", "office").put("asc", "title"))));
+        assertEquals("Chair,Lamp", titles(store.find("product", new JSONObject().put("tags", "home,sale"))));
+        assertEquals("Lamp", titles(store.find("product", new JSONObject().put("typeahead", "la"))));
+        assertEquals("", titles(store.find("product", new JSONObject().put("typeahead", "lamp desk"))));
+    }
+
+    @Test
+    public void testIndexedQueriesMatchScan() throws Exception {
+        store.addIndex("product", "price");
+        JSONObject[] items = new JSONObject[200];
+        for (int i = 0; i < items.length; i++) {
+            JSONObject entry = product("blt" + i, "Product " + i, i % 50, i % 3 == 0 ? "sale" : "new")
+                    .put("updated_at", String.format("2024-01-01T00:00:%03dZ", (i * 7) % 200));
+            items[i] = item("entry_published", "product", entry);
+        }
+        store.apply(page("token1", items));
+        store.apply(page("token2",
+                item("entry_published", "product", product("blt5", "Product 5 updated", 49, "sale")
+                        .put("updated_at", "2024-02-01T00:00:000Z")),
+                item("entry_deleted", "product", new JSONObject().put("uid", "blt6").put("locale", "en-us"))));
+
+        JSONObject[] queries = {
+                new JSONObject(),
+                new JSONObject().put("include_count", true).put("skip", 10).put("limit", 5),
+                new JSONObject().put("query", new JSONObject().put("price", 49)),
+                new JSONObject().put("query", new JSONObject().put("price", new JSONObject().put("$gte", 10).put("$lt", 12))).put("asc", "uid"),
+                new JSONObject().put("query", new JSONObject().put("price", new JSONObject().put("$in", new JSONArray().put(1).put(2)))).put("asc", "title"),
+                new JSONObject().put("query", new JSONObject().put("price", new JSONObject().put("$ne", 0))).put("tags", "sale").put("include_count", true),
+                new JSONObject().put("typeahead", "product 1").put("asc", "updated_at").put("limit", 500),
+                new JSONObject().put("query", new JSONObject().put("updated_at", new JSONObject().put("$gt", "2024-01-01T00:00:150Z"))),
+        };
+        for (JSONObject query : queries) {
+            assertEquals(query.toString(), scan(query).toString(), store.find("product", query).toString());
+        }
+        assertEquals(199, store.count("product"));
+    }
+
+    /**
+     * The query run over every stored entry without indexes.
+     */
+    private JSONObject scan(JSONObject urlQueries) throws Exception {
+        LocalQuery query = LocalQuery.parse(urlQueries);
+        List<JSONObject> matched = new ArrayList<>();
+        JSONArray all = store.find("product", new JSONObject().put("limit", -1)).getJSONArray("entries");
+        for (int i = 0; i < all.length(); i++) {
+            if (query.matches(all.getJSONObject(i))) {
+                matched.add(all.getJSONObject(i));
+            }
+        }
+        Collections.sort(matched, query::compareEntries);
+        JSONArray page = new JSONArray();
+        int end = Math.min(matched.size(), query.skip + query.limit);
+        for (int i = query.skip; i < end; i++) {
+            page.put(matched.get(i));
+        }
+        JSONObject response = new JSONObject().put("entries", page);
+        return query.includeCount ? response.put("count", matched.size()) : response;
+    }
+
+    @Test
+    public void testStoreIsPersisted() throws Exception {
+        syncProducts();
+        CacheWriter.getInstance().awaitIdle();
+
+        LocalStore reloaded = new LocalStore(folder);
+
+        assertEquals("token1", reloaded.getSyncToken());
+        CacheWriter.getInstance().awaitIdle();
+        assertEquals(3, reloaded.count("product"));
+        assertEquals("Lamp", titles(reloaded.find("product", new JSONObject()
+                .put("query", new JSONObject().put("uid", "blt1")))));
+
+        reloaded.clear();
+        CacheWriter.getInstance().awaitIdle();
+        assertFalse(new File(folder, "product" + LocalStore.ENTRIES_SUFFIX).exists());
+        assertNull(new LocalStore(folder).getSyncToken());
+    }
+
+    @Test
+    public void testPagesAreWrittenAsDeltas() throws Exception {
+        for (int page = 0; page < 20; page++) {
+            JSONObject[] items = new JSONObject[100];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = item("entry_published", "product", product("blt" + (page * 100 + i), "Product", 1));
+            }
+            store.apply(page(page == 19 ? "token1" : null, items));
+            CacheWriter.getInstance().awaitIdle();
+        }
+        store.apply(page(null, item("entry_deleted", "product", product("blt5", "Product", 1))));
+        CacheWriter.getInstance().awaitIdle();
+
+        File[] deltas = folder.listFiles((dir, name) -> name.endsWith(LocalStore.DELTA_SUFFIX));
+        assertTrue(new File(folder, "product" + LocalStore.ENTRIES_SUFFIX).exists());
+        assertTrue("deltas are folded into the base as they grow", deltas.length > 0 && deltas.length < 20);
+
+        LocalStore reloaded = new LocalStore(folder);
+        assertEquals("token1", reloaded.getSyncToken());
+        CacheWriter.getInstance().awaitIdle();
+        assertEquals(1999, reloaded.count("product"));
+        assertEquals(0, entries(reloaded.find("product", new JSONObject()
+                .put("query", new JSONObject().put("uid", "blt5")))).length());
+    }
+
+    @Test
+    public void testQueriesWaitForTheStoreToBeRead() throws Exception {
+        syncProducts();
+        CacheWriter.getInstance().awaitIdle();
+
+        LocalStore reloaded = new LocalStore(folder);
+        assertNull("not read yet", reloaded.find("product", new JSONObject()));
+        CacheWriter.getInstance().awaitIdle();
+        assertEquals(3, entries(reloaded.find("product", new JSONObject())).length());
+        assertEquals(3, reloaded.count("product"));
+    }
+
+    @Test
+    public void testSyncTokenIsReadWithoutTheStore() throws Exception {
+        syncProducts();
+        CacheWriter.getInstance().awaitIdle();
+        LocalStore reloaded = new LocalStore(folder);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheWriter.getInstance().submit(() -> {
+            synchronized (reloaded) {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        reading.await();
+        try {
+            assertEquals("the store is locked and not read", "token1", reloaded.getSyncToken());
+            assertEquals(0, reloaded.count("product"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testChangesToFoundEntriesDoNotReachTheStore() throws Exception {
+        syncProducts();
+        JSONObject query = new JSONObject().put("tags", "office").put("asc", "title");
+        JSONObject found = entries(store.find("product", query)).getJSONObject(0);
+        found.put("title", "<p>Chair</p>");
+        found.getJSONArray("tags").put(0, "garden");
+
+        assertEquals("Chair,Desk", titles(store.find("product", query)));
+        store.apply(page("token2", item("entry_published", "product", product("blt3", "Stool", 40, "office"))));
+        assertEquals("Desk,Stool", titles(store.find("product", query)));
+        assertEquals("", titles(store.find("product", new JSONObject().put("tags", "garden"))));
+    }
+
+    @Test
+    public void testChangesToSyncedItemsDoNotReachTheStore() throws Exception {
+        JSONObject lamp = product("blt1", "Lamp", 20, "home");
+        store.apply(page("token1", item("entry_published", "product", lamp)));
+        lamp.put("title", "<p>Lamp</p>");
+
+        assertEquals("Lamp", titles(store.find("product", new JSONObject())));
+    }
+}
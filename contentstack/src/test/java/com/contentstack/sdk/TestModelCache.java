@@ -0,0 +1,204 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class TestModelCache {
+
+    private File folder;
+    private int modeled;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("ContentstackCache").toFile();
+        modeled = 0;
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private File writeCacheFile(String name, long timestamp, int padding) throws Exception {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < padding; i++) {
+            title.append('x');
+        }
+        JSONObject cacheJSON = new JSONObject()
+                .put("timestamp", timestamp)
+                .put("response", new JSONObject().put("entry", new JSONObject().put("uid", name).put("title", title)));
+        File file = new File(folder, name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(cacheJSON.toString());
+        }
+        return file;
+    }
+
+    private JSONObject load(ModelCache cache, File file) {
+        return cache.load(file, cacheJSON -> {
+            modeled++;
+            return cacheJSON.optJSONObject("response");
+        });
+    }
+
+    @Test
+    public void testRepeatedHitIsServedFromMemory() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        File file = writeCacheFile("sha1", System.currentTimeMillis(), 10);
+
+        JSONObject first = load(cache, file);
+        long length = file.length();
+        assertTrue(file.delete());
+        JSONObject second = load(cache, file);
+
+        assertEquals(first.toString(), second.toString());
+        assertEquals(2, modeled);
+        assertEquals(length, cache.size());
+    }
+
+    @Test
+    public void testRecordIsChargedItsUncompressedLength() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        File plain = writeCacheFile("sha1", System.currentTimeMillis(), 10000);
+        File record = new File(folder, "sha2");
+        CacheRecord.fromJSON(SDKUtil.getJsonFromCacheFile(plain)).write(record);
+
+        load(cache, record);
+
+        assertTrue("the record is deflated", record.length() * 10 < plain.length());
+        assertTrue(cache.size() > plain.length() - 100);
+    }
+
+    @Test
+    public void testChangesToAHitDoNotReachTheNextHit() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        File file = writeCacheFile("sha1", System.currentTimeMillis(), 10);
+        load(cache, file).getJSONObject("entry").put("title", "<p>rendered</p>");
+
+        JSONObject entry = load(cache, file).getJSONObject("entry");
+        entry.put("title", "<p>rendered again</p>");
+
+        assertEquals("xxxxxxxxxx", load(cache, file).getJSONObject("entry").getString("title"));
+    }
+
+    @Test
+    public void testCachedEntryIsNotChangedThroughItsModel() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        File file = writeCacheFile("sha1", System.currentTimeMillis(), 10);
+        Entry entry = new Entry("product");
+        EntryModel model = cache.load(file, cacheJSON -> new EntryModel(cacheJSON, null, false, true, false));
+        entry.configure(model.jsonObject);
+        entry.toJSON().put("title", "<p>rendered</p>");
+
+        EntryModel again = cache.load(file, cacheJSON -> new EntryModel(cacheJSON, null, false, true, false));
+
+        assertEquals("xxxxxxxxxx", again.jsonObject.getString("title"));
+    }
+
+    @Test
+    public void testRemovedEntryIsReadAgain() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        File file = writeCacheFile("sha1", System.currentTimeMillis(), 10);
+        load(cache, file);
+
+        cache.remove(file);
+        load(cache, file);
+
+        assertEquals(2, modeled);
+    }
+
+    @Test
+    public void testSizeIsBoundedInBytesWithLruOrder() throws Exception {
+        File a = writeCacheFile("a", System.currentTimeMillis(), 100);
+        File b = writeCacheFile("b", System.currentTimeMillis(), 100);
+        File c = writeCacheFile("c", System.currentTimeMillis(), 100);
+        ModelCache cache = new ModelCache(a.length() + b.length() + 10, Config.CacheEviction.LRU);
+        load(cache, a);
+        load(cache, b);
+        load(cache, a);
+        load(cache, c);
+
+        assertEquals(2, cache.count());
+        assertTrue(cache.size() <= a.length() + b.length() + 10);
+        assertTrue("a was read recently and must be kept", cache.contains(a));
+        assertFalse("b was the least recently read and must be evicted", cache.contains(b));
+    }
+
+    @Test
+    public void testFifoEvictsFirstCached() throws Exception {
+        File a = writeCacheFile("a", System.currentTimeMillis(), 100);
+        File b = writeCacheFile("b", System.currentTimeMillis(), 100);
+        File c = writeCacheFile("c", System.currentTimeMillis(), 100);
+        ModelCache cache = new ModelCache(a.length() + b.length() + 10, Config.CacheEviction.FIFO);
+        load(cache, a);
+        load(cache, b);
+        load(cache, a);
+        load(cache, c);
+
+        assertTrue(cache.contains(b));
+        assertFalse(cache.contains(a));
+    }
+
+    @Test
+    public void testEntryLargerThanCacheIsNotKept() throws Exception {
+        File file = writeCacheFile("big", System.currentTimeMillis(), 1000);
+        ModelCache cache = new ModelCache(100, Config.CacheEviction.LRU);
+
+        load(cache, file);
+
+        assertEquals(0, cache.count());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiryUsesTimestampInMemory() throws Exception {
+        long twoDaysAgo = System.currentTimeMillis() - 2 * 86400000L;
+        File file = writeCacheFile("sha1", twoDaysAgo, 10);
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+
+        assertTrue(cache.isExpired(file, 86400000));
+        load(cache, file);
+        assertTrue(cache.isExpired(file, 86400000));
+
+        cache.touch(file, System.currentTimeMillis());
+        assertFalse(cache.isExpired(file, 86400000));
+    }
+
+    @Test
+    public void testExpiryIsNotRoundedToMinutes() throws Exception {
+        File file = writeCacheFile("sha1", System.currentTimeMillis() - 40000, 10);
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+
+        assertTrue(cache.isExpired(file, 30000));
+        assertFalse(cache.isExpired(file, 60000));
+        assertFalse(SDKUtil.isExpired(System.currentTimeMillis() - 500, 1000));
+        assertTrue(SDKUtil.isExpired(System.currentTimeMillis() - 1500, 1000));
+    }
+
+    @Test
+    public void testConfigureShrinksCache() throws Exception {
+        ModelCache cache = new ModelCache(ModelCache.DEFAULT_MAX_SIZE, Config.CacheEviction.LRU);
+        load(cache, writeCacheFile("a", System.currentTimeMillis(), 10));
+        load(cache, writeCacheFile("b", System.currentTimeMillis(), 10));
+
+        cache.configure(0, Config.CacheEviction.FIFO);
+
+        assertEquals(0, cache.count());
+        assertEquals(0, cache.size());
+    }
+}
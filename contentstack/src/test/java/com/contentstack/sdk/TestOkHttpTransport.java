@@ -0,0 +1,306 @@
+package com.contentstack.sdk;
+
+import android.util.ArrayMap;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class TestOkHttpTransport {
+
+    private MockWebServer server;
+    private OkHttpTransport transport;
+    private CountDownLatch latch;
+    private CSHttpConnection finished;
+    private JSONObject failedResponse;
+    private int failedStatusCode;
+
+    private final IRequestModelHTTP requestModel = new IRequestModelHTTP() {
+        @Override
+        public void sendRequest() {
+        }
+
+        @Override
+        public void onRequestFinished(CSHttpConnection request) {
+            finished = request;
+            latch.countDown();
+        }
+
+        @Override
+        public void onRequestFailed(JSONObject response, int statusCode, ResultCallBack callBackObject) {
+            failedResponse = response;
+            failedStatusCode = statusCode;
+            latch.countDown();
+        }
+    };
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        transport = new OkHttpTransport(new OkHttpClient());
+        latch = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private CSHttpConnection newConnection(SDKConstant.RequestMethod method) {
+        CSHttpConnection connection = new CSHttpConnection(server.url("/v3/content_types/blog/entries").toString(), requestModel);
+        ArrayMap<String, Object> headers = new ArrayMap<>();
+        headers.put("api_key", "test_key");
+        headers.put("access_token", "test_token");
+        connection.setHeaders(headers);
+        connection.setInfo(SDKConstant.callController.QUERY.toString());
+        connection.setRequestMethod(method);
+        connection.setTransport(transport);
+        return connection;
+    }
+
+    @Test
+    public void testSuccessfulResponseIsDelivered() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"entries\":[{\"uid\":\"blt1\"}]}"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertSame(connection, finished);
+        assertEquals("blt1", connection.getResponse().getJSONArray("entries").getJSONObject(0).getString("uid"));
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("GET", request.getMethod());
+        assertEquals("test_key", request.getHeader("api_key"));
+        assertEquals("test_token", request.getHeader("access_token"));
+        assertTrue(request.getHeader("X-User-Agent").startsWith("contentstack-delivery-android/"));
+    }
+
+    @Test
+    public void testGetAppendsQueryParams() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("environment", "production");
+        connection.setFormParams(params);
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("production", server.takeRequest().getRequestUrl().queryParameter("environment"));
+    }
+
+    @Test
+    public void testPostSendsJsonBody() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.POST);
+        connection.setFormParamsPOST(new JSONObject().put("key", "value"));
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("value", new JSONObject(request.getBody().readUtf8()).getString("key"));
+    }
+
+    @Test
+    public void testErrorResponseBodyIsDelivered() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(422)
+                .setBody("{\"error_message\":\"Entry not found\",\"error_code\":141}"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertEquals(422, failedStatusCode);
+        assertEquals("Entry not found", failedResponse.getString("error_message"));
+        assertEquals(141, failedResponse.getInt("error_code"));
+    }
+
+    @Test
+    public void testMalformedBodyIsReportedAsParseError() throws Exception {
+        server.enqueue(new MockResponse().setBody("not json"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertEquals(SDKConstant.PARSING_ERROR, failedResponse.getString("error_message"));
+    }
+
+    @Test
+    public void testConnectionFailureIsReported() throws Exception {
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        server.shutdown();
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertEquals(0, failedStatusCode);
+        assertEquals(SDKConstant.CONNECTION_ERROR, failedResponse.getString("error_message"));
+    }
+
+    @Test
+    public void testCancelAllDropsPendingRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(2, TimeUnit.SECONDS));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+
+        connection.send();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        transport.cancelAll(SDKConstant.callController.QUERY.toString());
+
+        assertFalse(latch.await(3, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertNull(failedResponse);
+    }
+
+    @Test
+    public void testStreamedItemsAreDeliveredBeforeResponse() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"assets\":[{\"uid\":\"a1\"},{\"uid\":\"a2\"}],\"count\":2}"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        final List<String> uids = new ArrayList<>();
+        connection.setStreamListener("assets", item -> uids.add(item.optString("uid")));
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("a1", "a2"), uids);
+        assertFalse(connection.getResponse().has("assets"));
+        assertEquals(2, connection.getResponse().getInt("count"));
+    }
+
+    @Test
+    public void testNonStreamingTransportResponseIsSplit() throws Exception {
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        final List<String> uids = new ArrayList<>();
+        connection.setStreamListener("entries", item -> uids.add(item.optString("uid")));
+
+        connection.onTransportResponse(new JSONObject("{\"entries\":[{\"uid\":\"e1\"}],\"count\":1}"));
+
+        assertEquals(Collections.singletonList("e1"), uids);
+        assertSame(connection, finished);
+        assertFalse(connection.getResponse().has("entries"));
+    }
+
+    @Test
+    public void testExpiredDeadlineIsReportedAsTimeout() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(2, TimeUnit.SECONDS));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        connection.setDeadline(200);
+
+        connection.send();
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertEquals(SDKConstant.TRY_AGAIN, failedResponse.getString("error_message"));
+        assertEquals("TimeoutError", failedResponse.getJSONObject("errors").getString("errors"));
+    }
+
+    @Test
+    public void testDeadlineExpiredAfterHeadersIsReportedAsTimeout() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"entries\":[]}").setBodyDelay(2, TimeUnit.SECONDS));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        connection.setDeadline(300);
+        CountDownLatch completed = new CountDownLatch(1);
+        connection.setCompletionListener(completed::countDown);
+
+        connection.send();
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(completed.await(1, TimeUnit.SECONDS));
+        assertNull(finished);
+        assertEquals("TimeoutError", failedResponse.getJSONObject("errors").getString("errors"));
+    }
+
+    @Test
+    public void testCancelledCallIsCompletedWithoutNotifying() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(2, TimeUnit.SECONDS));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        CountDownLatch completed = new CountDownLatch(1);
+        connection.setCompletionListener(completed::countDown);
+
+        connection.send();
+        server.takeRequest();
+        transport.cancelAll(SDKConstant.callController.QUERY.toString());
+
+        assertTrue("the scheduler slot is released", completed.await(1, TimeUnit.SECONDS));
+        assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testResponseValidatorsAreRecorded() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}")
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Last-Modified", "Wed, 21 Oct 2026 07:28:00 GMT"));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(connection.isNotModified());
+        assertEquals("\"v1\"", connection.getETag());
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", connection.getLastModified());
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void testNotModifiedIsDeliveredWithoutBody() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(304));
+        CSHttpConnection connection = newConnection(SDKConstant.RequestMethod.GET);
+        connection.setValidators("\"v1\"", "Wed, 21 Oct 2026 07:28:00 GMT");
+
+        connection.send();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertSame(connection, finished);
+        assertTrue(connection.isNotModified());
+        assertNull(connection.getResponse());
+        assertEquals("\"v1\"", connection.getETag());
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("\"v1\"", request.getHeader("If-None-Match"));
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", request.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    public void testErrorTypeMapping() {
+        assertEquals("TimeoutError", OkHttpTransport.getErrorType(new SocketTimeoutException()));
+        assertEquals("TimeoutError", OkHttpTransport.getErrorType(new InterruptedIOException("timeout")));
+        assertEquals("NoConnectionError", OkHttpTransport.getErrorType(new UnknownHostException()));
+        assertEquals("NoConnectionError", OkHttpTransport.getErrorType(new ConnectException()));
+        assertEquals("NetworkError", OkHttpTransport.getErrorType(new IOException()));
+    }
+
+    @Test
+    public void testDefaultTransportIsShared() {
+        assertSame(OkHttpTransport.getDefault(), OkHttpTransport.getDefault());
+        CSHttpConnection connection = new CSHttpConnection("https://cdn.contentstack.io", requestModel);
+        assertSame(OkHttpTransport.getDefault(), connection.getTransport());
+    }
+}
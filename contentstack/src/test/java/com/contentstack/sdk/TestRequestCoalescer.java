@@ -0,0 +1,241 @@
+package com.contentstack.sdk;
+
+import android.util.ArrayMap;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestRequestCoalescer {
+
+    private final List<CSHttpConnection> executed = new ArrayList<>();
+    private final List<String> cancelledTags = new ArrayList<>();
+    private RequestCoalescer coalescer;
+
+    private static class RecordingRequest implements IRequestModelHTTP {
+        JSONObject finishedResponse;
+        JSONObject failedResponse;
+        int failedStatusCode;
+        boolean notModified;
+
+        @Override
+        public void sendRequest() {
+        }
+
+        @Override
+        public void onRequestFinished(CSHttpConnection request) {
+            finishedResponse = request.getResponse();
+            notModified = request.isNotModified();
+        }
+
+        @Override
+        public void onRequestFailed(JSONObject response, int statusCode, ResultCallBack callBackObject) {
+            failedResponse = response;
+            failedStatusCode = statusCode;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        coalescer = new RequestCoalescer(new IHttpTransport() {
+            @Override
+            public void execute(CSHttpConnection connection) {
+                executed.add(connection);
+            }
+
+            @Override
+            public void cancelAll(String tag) {
+                cancelledTags.add(tag);
+            }
+        });
+    }
+
+    private CSHttpConnection send(String url, SDKConstant.RequestMethod method, IRequestModelHTTP request) {
+        return send(url, method, request, SDKConstant.callController.QUERY.toString(), null);
+    }
+
+    private CSHttpConnection send(String url, SDKConstant.RequestMethod method, IRequestModelHTTP request, String tag, Runnable completionListener) {
+        CSHttpConnection connection = new CSHttpConnection(url, request);
+        ArrayMap<String, Object> headers = new ArrayMap<>();
+        headers.put("api_key", "test_key");
+        headers.put("environment", "production");
+        connection.setHeaders(headers);
+        connection.setInfo(tag);
+        connection.setRequestMethod(method);
+        connection.setTransport(coalescer);
+        connection.setCompletionListener(completionListener);
+        connection.send();
+        return connection;
+    }
+
+    @Test
+    public void testIdenticalRequestsShareOneCall() throws Exception {
+        RecordingRequest first = new RecordingRequest();
+        RecordingRequest second = new RecordingRequest();
+        CSHttpConnection leader = send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, first);
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, second);
+
+        assertEquals(1, executed.size());
+        assertSame(leader, executed.get(0));
+        assertEquals(1, coalescer.getInFlightCount());
+
+        leader.onTransportResponse(new JSONObject("{\"entries\":[{\"uid\":\"blt1\"}]}"));
+
+        assertEquals(0, coalescer.getInFlightCount());
+        assertNotNull(first.finishedResponse);
+        assertNotNull(second.finishedResponse);
+        assertNotSame(first.finishedResponse, second.finishedResponse);
+        assertEquals("blt1", second.finishedResponse.getJSONArray("entries").getJSONObject(0).getString("uid"));
+    }
+
+    @Test
+    public void testErrorIsSharedWithFollowers() throws Exception {
+        RecordingRequest first = new RecordingRequest();
+        RecordingRequest second = new RecordingRequest();
+        CSHttpConnection leader = send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, first);
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, second);
+
+        leader.generateBuiltError(404, "{\"error_message\":\"Not found\"}".getBytes("UTF-8"), null, null);
+
+        assertEquals(404, first.failedStatusCode);
+        assertEquals(404, second.failedStatusCode);
+        assertEquals("Not found", second.failedResponse.getString("error_message"));
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testNotModifiedIsSharedWithFollowers() {
+        RecordingRequest first = new RecordingRequest();
+        RecordingRequest second = new RecordingRequest();
+        CSHttpConnection leader = send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, first);
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, second);
+
+        leader.onTransportNotModified("\"v2\"", null);
+
+        assertTrue(first.notModified);
+        assertTrue(second.notModified);
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testDifferentRequestsAreNotShared() {
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        send("https://cdn.contentstack.io/v3/content_types/news/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void testCompletedRequestStartsNewCall() throws Exception {
+        CSHttpConnection leader = send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        leader.onTransportResponse(new JSONObject("{}"));
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void testPostAndStreamingRequestsAreNotShared() {
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.POST, new RecordingRequest());
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.POST, new RecordingRequest());
+        assertEquals(2, executed.size());
+
+        CSHttpConnection streaming = new CSHttpConnection("https://cdn.contentstack.io/v3/assets", new RecordingRequest());
+        streaming.setHeaders(new ArrayMap<String, Object>());
+        streaming.setRequestMethod(SDKConstant.RequestMethod.GET);
+        streaming.setStreamListener("assets", item -> { });
+        streaming.setTransport(coalescer);
+        streaming.send();
+        streaming.send();
+        assertEquals(4, executed.size());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testCancelAllDropsFlight() {
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        coalescer.cancelAll(SDKConstant.callController.QUERY.toString());
+
+        assertEquals(0, coalescer.getInFlightCount());
+        assertEquals(SDKConstant.callController.QUERY.toString(), cancelledTags.get(0));
+
+        send("https://cdn.contentstack.io/v3/content_types/blog/entries", SDKConstant.RequestMethod.GET, new RecordingRequest());
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void testCancelAllKeepsFollowersWithOtherTags() throws Exception {
+        String url = "https://cdn.contentstack.io/v3/content_types/blog/entries";
+        RecordingRequest other = new RecordingRequest();
+        send(url, SDKConstant.RequestMethod.GET, new RecordingRequest());
+        CSHttpConnection follower = send(url, SDKConstant.RequestMethod.GET, other, SDKConstant.callController.ENTRY.toString(), null);
+
+        coalescer.cancelAll(SDKConstant.callController.QUERY.toString());
+
+        assertEquals(2, executed.size());
+        assertSame(follower, executed.get(1));
+        assertEquals(1, coalescer.getInFlightCount());
+
+        follower.onTransportResponse(new JSONObject("{\"entries\":[]}"));
+        assertNotNull(other.finishedResponse);
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testCancelledFollowerIsCompletedWithoutNotifying() throws Exception {
+        String url = "https://cdn.contentstack.io/v3/content_types/blog/entries";
+        RecordingRequest first = new RecordingRequest();
+        RecordingRequest cancelled = new RecordingRequest();
+        boolean[] completed = new boolean[1];
+        CSHttpConnection leader = send(url, SDKConstant.RequestMethod.GET, first);
+        send(url, SDKConstant.RequestMethod.GET, cancelled, SDKConstant.callController.ENTRY.toString(), () -> completed[0] = true);
+
+        coalescer.cancelAll(SDKConstant.callController.ENTRY.toString());
+
+        assertTrue("the follower's slot is released", completed[0]);
+        assertEquals(1, coalescer.getInFlightCount());
+        leader.onTransportResponse(new JSONObject("{\"entries\":[]}"));
+        assertNotNull(first.finishedResponse);
+        assertNull(cancelled.finishedResponse);
+    }
+
+    @Test
+    public void testFollowersGetValidatorsOfTheResponse() throws Exception {
+        String url = "https://cdn.contentstack.io/v3/content_types/blog/entries";
+        CSHttpConnection leader = send(url, SDKConstant.RequestMethod.GET, new RecordingRequest());
+        CSHttpConnection follower = send(url, SDKConstant.RequestMethod.GET, new RecordingRequest());
+
+        leader.setResponseValidators("\"v1\"", "Wed, 21 Oct 2026 07:28:00 GMT");
+        leader.onTransportResponse(new JSONObject("{\"entries\":[]}"));
+
+        assertEquals("\"v1\"", follower.getETag());
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", follower.getLastModified());
+    }
+
+    @Test
+    public void testRequestKeyIgnoresHeaderOrder() {
+        CSHttpConnection first = new CSHttpConnection("https://cdn.contentstack.io/v3/assets", new RecordingRequest());
+        ArrayMap<String, Object> headers = new ArrayMap<>();
+        headers.put("api_key", "key");
+        headers.put("environment", "env");
+        first.setHeaders(headers);
+        first.setRequestMethod(SDKConstant.RequestMethod.GET);
+        first.setTransport(coalescer);
+        first.send();
+
+        CSHttpConnection second = new CSHttpConnection("https://cdn.contentstack.io/v3/assets", new RecordingRequest());
+        ArrayMap<String, Object> reversed = new ArrayMap<>();
+        reversed.put("environment", "env");
+        reversed.put("api_key", "key");
+        second.setHeaders(reversed);
+        second.setRequestMethod(SDKConstant.RequestMethod.GET);
+        second.setTransport(coalescer);
+        second.send();
+
+        assertEquals(first.getRequestKey(), second.getRequestKey());
+        assertEquals(1, executed.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestRequestScheduler {
+
+    private final List<CSHttpConnection> executed = new ArrayList<>();
+    private final List<String> cancelledTags = new ArrayList<>();
+
+    private final IHttpTransport transport = new IHttpTransport() {
+        @Override
+        public void execute(CSHttpConnection connection) {
+            executed.add(connection);
+        }
+
+        @Override
+        public void cancelAll(String tag) {
+            cancelledTags.add(tag);
+        }
+    };
+
+    private final IRequestModelHTTP requestModel = new IRequestModelHTTP() {
+        @Override
+        public void sendRequest() {
+        }
+
+        @Override
+        public void onRequestFinished(CSHttpConnection request) {
+        }
+
+        @Override
+        public void onRequestFailed(JSONObject response, int statusCode, ResultCallBack callBackObject) {
+        }
+    };
+
+    private RequestScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = newScheduler(5);
+    }
+
+    private RequestScheduler newScheduler(int maxConcurrent) {
+        int[] maxPerPriority = new int[RequestPriority.values().length];
+        for (RequestPriority priority : RequestPriority.values()) {
+            maxPerPriority[priority.ordinal()] = priority.getDefaultMaxConcurrent();
+        }
+        return new RequestScheduler(transport, maxConcurrent, maxPerPriority);
+    }
+
+    private CSHttpConnection send(String controller, String info) {
+        CSHttpConnection connection = new CSHttpConnection("https://cdn.contentstack.io/v3/" + controller, requestModel);
+        connection.setController(controller);
+        connection.setInfo(info);
+        scheduler.execute(connection);
+        return connection;
+    }
+
+    private void complete(CSHttpConnection connection) throws Exception {
+        connection.onTransportResponse(new JSONObject());
+    }
+
+    @Test
+    public void testPriorityOfControllers() {
+        assertEquals(RequestPriority.HIGH, RequestPriority.forController(SDKController.GET_ENTRY));
+        assertEquals(RequestPriority.HIGH, RequestPriority.forController(SDKController.GET_ASSETS));
+        assertEquals(RequestPriority.NORMAL, RequestPriority.forController(SDKController.GET_QUERY_ENTRIES));
+        assertEquals(RequestPriority.NORMAL, RequestPriority.forController(SDKController.GET_CONTENT_TYPES));
+        assertEquals(RequestPriority.LOW, RequestPriority.forController(SDKController.GET_ALL_ASSETS));
+        assertEquals(RequestPriority.BACKGROUND, RequestPriority.forController(SDKController.GET_SYNC));
+        assertEquals(RequestPriority.NORMAL, RequestPriority.forController(null));
+    }
+
+    @Test
+    public void testRequestsOverTheLimitWait() throws Exception {
+        scheduler = newScheduler(2);
+        CSHttpConnection first = send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        CSHttpConnection third = send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+
+        assertEquals(2, executed.size());
+        assertEquals(1, scheduler.getQueuedCount(RequestPriority.NORMAL));
+
+        complete(first);
+
+        assertEquals(3, executed.size());
+        assertSame(third, executed.get(2));
+        assertEquals(2, scheduler.getRunningCount(RequestPriority.NORMAL));
+    }
+
+    @Test
+    public void testMostUrgentRequestGoesFirst() throws Exception {
+        scheduler = newScheduler(1);
+        CSHttpConnection sync = send(SDKController.GET_SYNC, "SYNC");
+        CSHttpConnection assets = send(SDKController.GET_ALL_ASSETS, "ASSETLIBRARY");
+        CSHttpConnection query = send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        CSHttpConnection entry = send(SDKController.GET_ENTRY, "ENTRY");
+
+        complete(sync);
+        complete(entry);
+        complete(query);
+
+        assertEquals(Arrays.asList(sync, entry, query, assets), executed);
+    }
+
+    @Test
+    public void testBackgroundLimitDoesNotBlockOtherClasses() {
+        send(SDKController.GET_SYNC, "SYNC");
+        send(SDKController.GET_SYNC, "SYNC");
+        CSHttpConnection entry = send(SDKController.GET_ENTRY, "ENTRY");
+
+        assertEquals(1, scheduler.getRunningCount(RequestPriority.BACKGROUND));
+        assertEquals(1, scheduler.getQueuedCount(RequestPriority.BACKGROUND));
+        assertTrue(executed.contains(entry));
+    }
+
+    @Test
+    public void testWaitingRequestIsNotStarved() throws Exception {
+        scheduler = newScheduler(1);
+        CSHttpConnection running = send(SDKController.GET_ENTRY, "ENTRY");
+        CSHttpConnection sync = send(SDKController.GET_SYNC, "SYNC");
+        for (int i = 0; i < 20; i++) {
+            send(SDKController.GET_ENTRY, "ENTRY");
+        }
+
+        int dispatchedBeforeSync = 0;
+        while (!executed.contains(sync)) {
+            complete(running);
+            running = executed.get(executed.size() - 1);
+            dispatchedBeforeSync++;
+        }
+
+        assertEquals(RequestScheduler.FAIRNESS_SKIPS + 1, dispatchedBeforeSync);
+    }
+
+    @Test
+    public void testErrorReleasesSlot() {
+        scheduler = newScheduler(1);
+        CSHttpConnection first = send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+
+        first.generateBuiltError(500, null, "ServerError", null);
+
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void testCancelAllDropsQueuedAndReleasesRunning() throws Exception {
+        scheduler = newScheduler(1);
+        send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        send(SDKController.GET_QUERY_ENTRIES, "QUERY");
+        CSHttpConnection entry = send(SDKController.GET_ENTRY, "ENTRY");
+
+        scheduler.cancelAll("QUERY");
+
+        assertEquals(Arrays.asList("QUERY"), cancelledTags);
+        assertEquals(0, scheduler.getQueuedCount(RequestPriority.NORMAL));
+        assertEquals(0, scheduler.getRunningCount(RequestPriority.NORMAL));
+        assertSame(entry, executed.get(executed.size() - 1));
+
+        // a late delivery of the cancelled call must not release a second slot
+        complete(executed.get(0));
+        assertEquals(1, scheduler.getRunningCount(RequestPriority.HIGH));
+    }
+}
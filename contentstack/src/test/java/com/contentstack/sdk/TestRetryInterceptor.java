@@ -0,0 +1,129 @@
+package com.contentstack.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+public class TestRetryInterceptor {
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        RetryPolicy policy = new RetryPolicy().setMaxAttempts(3).setBaseDelay(10, TimeUnit.MILLISECONDS);
+        client = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(policy)).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private Response get() throws IOException {
+        return client.newCall(new Request.Builder().url(server.url("/v3/content_types")).build()).execute();
+    }
+
+    @Test
+    public void testRetriesServerErrorUntilSuccess() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        try (Response response = get()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testStopsAtMaxAttempts() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        try (Response response = get()) {
+            assertEquals(500, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testDoesNotRetryClientError() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try (Response response = get()) {
+            assertEquals(404, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testHonorsRetryAfter() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        long start = System.currentTimeMillis();
+        try (Response response = get()) {
+            assertEquals(200, response.code());
+        }
+        assertTrue(System.currentTimeMillis() - start >= 900);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testRetriesConnectionFailure() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        try (Response response = get()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void testDoesNotRetryPost() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        Request request = new Request.Builder().url(server.url("/v3/content_types"))
+                .post(RequestBody.create("{}", MediaType.get("application/json"))).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testRetryAfterParsing() {
+        Request request = new Request.Builder().url("https://cdn.contentstack.io").build();
+        Response seconds = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+                .code(429).message("Too Many Requests").header("Retry-After", "3").build();
+        Response missing = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+                .code(429).message("Too Many Requests").build();
+        Response invalid = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1)
+                .code(429).message("Too Many Requests").header("Retry-After", "soon").build();
+
+        assertEquals(3000, RetryInterceptor.getRetryAfterMillis(seconds));
+        assertEquals(-1, RetryInterceptor.getRetryAfterMillis(missing));
+        assertEquals(-1, RetryInterceptor.getRetryAfterMillis(invalid));
+    }
+}
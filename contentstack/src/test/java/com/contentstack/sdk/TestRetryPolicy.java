@@ -0,0 +1,77 @@
+package com.contentstack.sdk;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TestRetryPolicy {
+
+    @Test
+    public void testDefaults() {
+        RetryPolicy policy = new RetryPolicy();
+        assertEquals(3, policy.getMaxAttempts());
+        assertTrue(policy.isRetryable(429));
+        assertTrue(policy.isRetryable(503));
+        assertFalse(policy.isRetryable(404));
+        assertFalse(policy.isRetryable(200));
+        assertTrue(policy.isRetryAfterHonored());
+        assertTrue(policy.isRetryOnConnectionFailure());
+    }
+
+    @Test
+    public void testSettersClampValues() {
+        RetryPolicy policy = new RetryPolicy().setMaxAttempts(0).setJitter(2).setBaseDelay(-5, TimeUnit.SECONDS);
+        assertEquals(1, policy.getMaxAttempts());
+        assertEquals(1.0, policy.getJitter(), 0);
+        assertEquals(0, policy.getBaseDelayMillis());
+    }
+
+    @Test
+    public void testExponentialBackoffWithoutJitter() {
+        RetryPolicy policy = new RetryPolicy().setJitter(0)
+                .setBaseDelay(100, TimeUnit.MILLISECONDS).setMaxDelay(1, TimeUnit.SECONDS);
+        assertEquals(100, policy.getDelayMillis(1, -1));
+        assertEquals(200, policy.getDelayMillis(2, -1));
+        assertEquals(400, policy.getDelayMillis(3, -1));
+        assertEquals(1000, policy.getDelayMillis(5, -1));
+        assertEquals(1000, policy.getDelayMillis(64, -1));
+    }
+
+    @Test
+    public void testJitterStaysWithinDelay() {
+        RetryPolicy policy = new RetryPolicy().setJitter(0.5).setBaseDelay(1000, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getDelayMillis(1, -1);
+            assertTrue(delay >= 500 && delay <= 1000);
+        }
+    }
+
+    @Test
+    public void testRetryAfterIsHonoredAndCapped() {
+        RetryPolicy policy = new RetryPolicy().setMaxDelay(5, TimeUnit.SECONDS);
+        assertEquals(2000, policy.getDelayMillis(1, 2000));
+        assertEquals(5000, policy.getDelayMillis(1, 60000));
+
+        policy.setRetryAfterHonored(false).setJitter(0).setBaseDelay(100, TimeUnit.MILLISECONDS);
+        assertEquals(100, policy.getDelayMillis(1, 2000));
+    }
+
+    @Test
+    public void testCustomStatusCodes() {
+        RetryPolicy policy = new RetryPolicy().setRetryStatusCodes(408, 503);
+        assertTrue(policy.isRetryable(408));
+        assertFalse(policy.isRetryable(500));
+        assertEquals(2, policy.getRetryStatusCodes().size());
+    }
+
+    @Test
+    public void testConfigRetryPolicy() {
+        Config config = new Config();
+        assertNull(config.getRetryPolicy());
+        RetryPolicy policy = new RetryPolicy();
+        config.setRetryPolicy(policy);
+        assertSame(policy, config.getRetryPolicy());
+    }
+}
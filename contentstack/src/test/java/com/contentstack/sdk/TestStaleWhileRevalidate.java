@@ -0,0 +1,235 @@
+package com.contentstack.sdk;
+
+import android.util.ArrayMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestStaleWhileRevalidate {
+
+    private static final String URL = "https://cdn.contentstack.io/v3/content_types/product/entries/blt01";
+
+    private final List<CSHttpConnection> executed = new ArrayList<>();
+    private final List<ResponseType> updates = new ArrayList<>();
+    private File folder;
+    private File cacheFile;
+
+    private final EntryResultCallBack listener = new EntryResultCallBack() {
+        @Override
+        public void onCompletion(ResponseType responseType, Error error) {
+            updates.add(error == null ? responseType : ResponseType.UNKNOWN);
+        }
+    };
+
+    private final IHttpTransport transport = new IHttpTransport() {
+        @Override
+        public void execute(CSHttpConnection connection) {
+            executed.add(connection);
+        }
+
+        @Override
+        public void cancelAll(String tag) {
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("ContentstackCache").toFile();
+        cacheFile = new File(folder, "sha1");
+        JSONObject cacheJSON = new JSONObject()
+                .put("url", URL)
+                .put("timestamp", System.currentTimeMillis())
+                .put("response", entryResponse("Lamp"))
+                .put("etag", "\"v1\"");
+        CacheRecord.fromJSON(cacheJSON).write(cacheFile);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        CacheWriter.getInstance().awaitIdle();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private static JSONObject entryResponse(String title) throws Exception {
+        return new JSONObject().put("entry", new JSONObject().put("uid", "blt01").put("title", title));
+    }
+
+    private CSHttpConnection revalidate(Entry entry) {
+        entry.revalidating = true;
+        try {
+            CSConnectionRequest request = new CSConnectionRequest(entry);
+            request.setTransport(transport);
+            ArrayMap<String, Object> headers = new ArrayMap<>();
+            headers.put("api_key", "test_key");
+            request.setParams(URL, SDKConstant.RequestMethod.GET, SDKController.GET_ENTRY, new JSONObject(), headers,
+                    cacheFile.getPath(), SDKConstant.callController.ENTRY.toString(), listener);
+        } finally {
+            entry.revalidating = false;
+        }
+        return executed.get(executed.size() - 1);
+    }
+
+    @Test
+    public void testChangedResponseNotifiesListener() throws Exception {
+        Entry entry = new Entry("product");
+        CSHttpConnection connection = revalidate(entry);
+
+        connection.onTransportResponse(entryResponse("Desk lamp"));
+
+        assertEquals(1, updates.size());
+        assertEquals(ResponseType.NETWORK, updates.get(0));
+        assertEquals("Desk lamp", entry.getTitle());
+        CacheWriter.getInstance().awaitIdle();
+        assertEquals("Desk lamp", SDKUtil.getJsonFromCacheFile(cacheFile)
+                .getJSONObject("response").getJSONObject("entry").getString("title"));
+    }
+
+    @Test
+    public void testSameResponseDoesNotNotifyListener() throws Exception {
+        long cachedAt = CacheRecord.readTimestamp(cacheFile);
+        Thread.sleep(5);
+        CSHttpConnection connection = revalidate(new Entry("product"));
+
+        connection.onTransportResponse(entryResponse("Lamp"));
+
+        assertTrue(updates.isEmpty());
+        CacheWriter.getInstance().awaitIdle();
+        assertTrue("the cache is marked fresh again", CacheRecord.readTimestamp(cacheFile) > cachedAt);
+    }
+
+    @Test
+    public void testNotModifiedDoesNotNotifyListener() {
+        CSHttpConnection connection = revalidate(new Entry("product"));
+
+        connection.onTransportNotModified("\"v1\"", null);
+
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    public void testFailureIsNotReported() throws Exception {
+        CSHttpConnection connection = revalidate(new Entry("product"));
+
+        connection.generateBuiltError(500, "{\"error_message\":\"Internal\"}".getBytes("UTF-8"), null, null);
+
+        assertTrue(updates.isEmpty());
+        assertEquals("Lamp", SDKUtil.getJsonFromCacheFile(cacheFile)
+                .getJSONObject("response").getJSONObject("entry").getString("title"));
+    }
+
+    @Test
+    public void testQueryResultsGoToTheRequestTheyAnswer() throws Exception {
+        String cacheFolder = SDKConstant.cacheFolderName;
+        SDKConstant.cacheFolderName = folder.getPath();
+        try {
+            Stack stack = new Stack("test_key") {
+                @Override
+                protected IHttpTransport getTransport() {
+                    return transport;
+                }
+            };
+            Query query = stack.contentType("product").query();
+            List<String> found = new ArrayList<>();
+            List<String> foundOne = new ArrayList<>();
+            QueryResultsCallBack findCallback = new QueryResultsCallBack() {
+                @Override
+                public void onCompletion(ResponseType responseType, QueryResult queryResult, Error error) {
+                    found.add(responseType + " " + queryResult.getResultObjects().get(0).getTitle());
+                }
+            };
+            SingleQueryResultCallback findOneCallback = new SingleQueryResultCallback() {
+                @Override
+                public void onCompletion(ResponseType responseType, Entry entry, Error error) {
+                    foundOne.add(responseType + " " + entry.getTitle());
+                }
+            };
+
+            query.setCachePolicy(CachePolicy.NETWORK_ONLY);
+            query.findOne(findOneCallback);
+            executed.get(0).onTransportResponse(entriesResponse("Lamp"));
+            CacheWriter.getInstance().awaitIdle();
+            query.find(findCallback);
+            query.setCachePolicy(CachePolicy.STALE_WHILE_REVALIDATE);
+            query.findOne(findOneCallback);
+
+            assertEquals(3, executed.size());
+            executed.get(1).onTransportResponse(entriesResponse("Desk"));
+            executed.get(2).onTransportResponse(entriesResponse("Chair"));
+
+            assertEquals("the find still in flight gets its own result", "[NETWORK Desk]", found.toString());
+            assertEquals("the revalidation has no update listener to notify", "[NETWORK Lamp, CACHE Lamp]", foundOne.toString());
+        } finally {
+            SDKConstant.cacheFolderName = cacheFolder;
+        }
+    }
+
+    @Test
+    public void testAssetLibraryResultsGoToTheRequestTheyAnswer() throws Exception {
+        String cacheFolder = SDKConstant.cacheFolderName;
+        SDKConstant.cacheFolderName = folder.getPath();
+        try {
+            Stack stack = new Stack("test_key") {
+                @Override
+                protected IHttpTransport getTransport() {
+                    return transport;
+                }
+            };
+            AssetLibrary assetLibrary = stack.assetLibrary();
+            List<String> fetched = new ArrayList<>();
+            List<String> fetchedAgain = new ArrayList<>();
+            FetchAssetsCallback fetchCallback = new FetchAssetsCallback() {
+                @Override
+                public void onCompletion(ResponseType responseType, List<Asset> assets, Error error) {
+                    fetched.add(responseType + " " + assets.get(0).getFileName());
+                }
+            };
+            FetchAssetsCallback fetchAgainCallback = new FetchAssetsCallback() {
+                @Override
+                public void onCompletion(ResponseType responseType, List<Asset> assets, Error error) {
+                    fetchedAgain.add(responseType + " " + assets.get(0).getFileName());
+                }
+            };
+
+            assetLibrary.setCachePolicy(CachePolicy.NETWORK_ONLY);
+            assetLibrary.fetchAll(fetchCallback);
+            executed.get(0).onTransportResponse(assetsResponse("lamp.png"));
+            CacheWriter.getInstance().awaitIdle();
+            assetLibrary.fetchAll(fetchCallback);
+            assetLibrary.setCachePolicy(CachePolicy.STALE_WHILE_REVALIDATE);
+            assetLibrary.fetchAll(fetchAgainCallback);
+
+            assertEquals(3, executed.size());
+            executed.get(1).onTransportResponse(assetsResponse("desk.png"));
+            executed.get(2).onTransportResponse(assetsResponse("chair.png"));
+
+            assertEquals("the fetch still in flight gets its own result", "[NETWORK lamp.png, NETWORK desk.png]", fetched.toString());
+            assertEquals("the revalidation has no update listener to notify", "[CACHE lamp.png]", fetchedAgain.toString());
+        } finally {
+            SDKConstant.cacheFolderName = cacheFolder;
+        }
+    }
+
+    private static JSONObject assetsResponse(String filename) throws Exception {
+        return new JSONObject().put("assets", new JSONArray().put(new JSONObject().put("uid", "blt02").put("filename", filename)));
+    }
+
+    private static JSONObject entriesResponse(String title) throws Exception {
+        return new JSONObject().put("entries", new JSONArray().put(new JSONObject().put("uid", "blt01").put("title", title)));
+    }
+}
@@ -0,0 +1,231 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TestSyncAll {
+
+    private final List<JSONObject> requests = Collections.synchronizedList(new ArrayList<JSONObject>());
+    private final List<SyncResultCallBack> pending = Collections.synchronizedList(new ArrayList<SyncResultCallBack>());
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicInteger inPage = new AtomicInteger();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile boolean overlapped = false;
+    private volatile String syncTokens;
+    private volatile Error error;
+    private Stack stack;
+
+    private final SyncPipelineCallback callback = new SyncPipelineCallback() {
+        @Override
+        public void onPage(SyncStack syncStack) {
+            if (inPage.incrementAndGet() > 1) {
+                overlapped = true;
+            }
+            delivered.add(syncStack.getJSONResponse().optString("page"));
+            inPage.decrementAndGet();
+        }
+
+        @Override
+        public void onCompletion(String syncTokens, Error error) {
+            TestSyncAll.this.syncTokens = syncTokens;
+            TestSyncAll.this.error = error;
+            completed.countDown();
+        }
+    };
+
+    @Before
+    public void setUp() {
+        stack = new Stack("api_key") {
+            @Override
+            void requestSyncPage(JSONObject params, SyncResultCallBack callback) {
+                synchronized (requests) {
+                    requests.add(params);
+                    pending.add(callback);
+                }
+            }
+        };
+    }
+
+    private static SyncStack page(String name, String paginationToken, String syncToken) throws Exception {
+        JSONObject response = new JSONObject().put("page", name).put("items", new JSONArray());
+        if (paginationToken != null) {
+            response.put("pagination_token", paginationToken);
+        }
+        if (syncToken != null) {
+            response.put("sync_token", syncToken);
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(response);
+        return syncStack;
+    }
+
+    private int requestOf(String key, String value) {
+        synchronized (requests) {
+            for (int i = 0; i < requests.size(); i++) {
+                if (value.equals(requests.get(i).optString(key, null))) {
+                    return i;
+                }
+            }
+        }
+        fail("no request with " + key + "=" + value);
+        return -1;
+    }
+
+    private void respond(int request, SyncStack syncStack) {
+        pending.get(request).onCompletion(syncStack, null);
+    }
+
+    private static void waitFor(String what, Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.holds()) {
+            assertTrue("timed out waiting for " + what, System.currentTimeMillis() < deadline);
+            Thread.sleep(2);
+        }
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    @Test
+    public void testPartitionsPerContentTypeAndLocale() throws Exception {
+        List<SyncAll.Partition> partitions = SyncAll.partitions(Arrays.asList("product", "category"), Arrays.asList("en-us", "fr-fr"));
+
+        assertEquals(5, partitions.size());
+        assertEquals("content_type_uid=product&locale=en-us", partitions.get(0).key);
+        assertEquals("fr-fr", partitions.get(3).params.getString("locale"));
+        assertEquals("type=" + SyncAll.ASSET_TYPES, partitions.get(4).key);
+        assertTrue(partitions.get(4).params.getBoolean("init"));
+
+        assertEquals(3, SyncAll.partitions(Arrays.asList("product", "category"), null).size());
+    }
+
+    @Test
+    public void testParallelismIsCapped() throws Exception {
+        stack.setSyncParallelism(2);
+        SyncAll syncAll = stack.syncAll(Arrays.asList("product", "category"), null, callback);
+
+        assertEquals(2, requests.size());
+        assertEquals(2, syncAll.getRunningPartitions());
+        respond(requestOf("content_type_uid", "product"), page("product", null, "t1"));
+        waitFor("the asset partition to start", () -> requests.size() == 3);
+
+        respond(requestOf("content_type_uid", "category"), page("category", null, "t2"));
+        respond(requestOf("type", SyncAll.ASSET_TYPES), page("assets", null, "t3"));
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertNull(error);
+        assertEquals(3, delivered.size());
+        assertTrue(syncAll.isDone());
+    }
+
+    @Test
+    public void testPagesMergeIntoOneStreamAndTokenSet() throws Exception {
+        SyncAll syncAll = stack.syncAll(Arrays.asList("product", "category"), null, callback);
+        assertEquals(3, requests.size());
+
+        respond(requestOf("content_type_uid", "product"), page("product 1", "pp2", null));
+        respond(requestOf("content_type_uid", "category"), page("category 1", "pc2", null));
+        waitFor("the second pages to be requested", () -> requests.size() == 5);
+        respond(requestOf("pagination_token", "pp2"), page("product 2", null, "tp"));
+        respond(requestOf("pagination_token", "pc2"), page("category 2", null, "tc"));
+        respond(requestOf("type", SyncAll.ASSET_TYPES), page("assets", null, "ta"));
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertNull(error);
+        assertFalse("pages are delivered one at a time", overlapped);
+        assertEquals(5, delivered.size());
+        assertTrue(delivered.indexOf("product 1") < delivered.indexOf("product 2"));
+        assertTrue(delivered.indexOf("category 1") < delivered.indexOf("category 2"));
+        assertEquals(0, syncAll.getRunningPartitions());
+
+        JSONObject tokens = new JSONObject(syncTokens);
+        assertEquals("tp", tokens.getString("content_type_uid=product"));
+        assertEquals("ta", tokens.getString("type=" + SyncAll.ASSET_TYPES));
+
+        requests.clear();
+        pending.clear();
+        stack.syncAll(syncTokens, callback);
+        assertEquals(3, requests.size());
+        assertEquals("tc", requests.get(requestOf("sync_token", "tc")).getString("sync_token"));
+        assertFalse(requests.get(0).has("init"));
+    }
+
+    @Test
+    public void testFailedPartitionIsReportedAfterRunningOnes() throws Exception {
+        stack.setSyncParallelism(2);
+        stack.syncAll(Arrays.asList("product", "category"), null, callback);
+        Error failure = new Error();
+        failure.setErrorMessage("timeout");
+        pending.get(requestOf("content_type_uid", "product")).onCompletion(null, failure);
+
+        assertFalse(completed.await(50, TimeUnit.MILLISECONDS));
+        assertEquals("no partition starts after a failure", 2, requests.size());
+
+        respond(requestOf("content_type_uid", "category"), page("category", null, "t2"));
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertNull(syncTokens);
+        assertEquals("timeout", error.getErrorMessage());
+    }
+
+    @Test
+    public void testContentTypesAreListedPageByPage() throws Exception {
+        final List<JSONObject> listed = new ArrayList<>();
+        Stack stack = new Stack("api_key") {
+            @Override
+            public void getContentTypes(JSONObject params, ContentTypesCallback callback) {
+                listed.add(params);
+                int skip = params.optInt("skip");
+                JSONArray contentTypes = new JSONArray();
+                ContentTypesModel model = new ContentTypesModel();
+                try {
+                    for (int i = skip; i < Math.min(skip + params.optInt("limit"), 150); i++) {
+                        contentTypes.put(new JSONObject().put("uid", "type" + i));
+                    }
+                    model.setJSON(new JSONObject().put("content_types", contentTypes).put("count", 150));
+                } catch (JSONException e) {
+                    throw new AssertionError(e);
+                }
+                callback.onCompletion(model, null);
+            }
+
+            @Override
+            void requestSyncPage(JSONObject params, SyncResultCallBack callback) {
+                requests.add(params);
+                pending.add(callback);
+            }
+        };
+        stack.setSyncParallelism(200);
+        stack.syncAll(null, null, callback);
+
+        assertEquals(2, listed.size());
+        assertEquals(100, listed.get(1).getInt("skip"));
+        assertTrue(listed.get(0).getBoolean("include_count"));
+        assertEquals("every content type and the assets", 151, requests.size());
+        requestOf("content_type_uid", "type149");
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        SyncAll syncAll = stack.syncAll(Arrays.asList("product"), null, callback);
+        syncAll.cancel();
+        respond(0, page("product", null, "t1"));
+
+        assertFalse(completed.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(delivered.isEmpty());
+        assertTrue(syncAll.isDone());
+    }
+}
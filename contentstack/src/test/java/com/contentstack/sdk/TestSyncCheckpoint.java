@@ -0,0 +1,156 @@
+package com.contentstack.sdk;
+
+import android.util.ArrayMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestSyncCheckpoint {
+
+    private File folder;
+    private ArrayMap<String, Object> headers;
+    private SyncCheckpoint checkpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("ContentstackSync").toFile();
+        headers = new ArrayMap<>();
+        headers.put("api_key", "key");
+        headers.put("environment", "production");
+        checkpoint = new SyncCheckpoint(folder, headers);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        CacheWriter.getInstance().awaitIdle();
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        folder.delete();
+    }
+
+    private static SyncStack page(String paginationToken, String syncToken) throws Exception {
+        JSONObject response = new JSONObject().put("items", new JSONArray());
+        if (paginationToken != null) {
+            response.put("pagination_token", paginationToken);
+        }
+        if (syncToken != null) {
+            response.put("sync_token", syncToken);
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(response);
+        return syncStack;
+    }
+
+    private static JSONObject init(String contentTypeUid) throws Exception {
+        return new JSONObject().put("init", true).put("content_type_uid", contentTypeUid);
+    }
+
+    private static Error error(int statusCode) {
+        Error error = new Error();
+        error.setStatusCode(statusCode);
+        return error;
+    }
+
+    @Test
+    public void testInterruptedSyncResumesPerScope() throws Exception {
+        checkpoint.save(init("product"), page("p2", null));
+        CacheWriter.getInstance().awaitIdle();
+        SyncCheckpoint reloaded = new SyncCheckpoint(folder, headers);
+
+        assertEquals("{\"pagination_token\":\"p2\"}", reloaded.resume(init("product")).toString());
+        assertTrue(reloaded.resume(init("category")).has("init"));
+        assertTrue("a sync from a token is another sync",
+                reloaded.resume(new JSONObject().put("sync_token", "t1").put("content_type_uid", "product")).has("sync_token"));
+
+        headers.put("environment", "staging");
+        assertTrue(reloaded.resume(init("product")).has("init"));
+    }
+
+    @Test
+    public void testCompletedSyncStartsOver() throws Exception {
+        JSONObject params = new JSONObject().put("sync_token", "t1");
+        checkpoint.save(params, page("p2", null));
+        assertEquals("p2", checkpoint.resume(params).getString("pagination_token"));
+
+        checkpoint.save(params, page(null, "t2"));
+        assertSame(params, checkpoint.resume(params));
+    }
+
+    @Test
+    public void testSyncsFromDifferentTokensKeepTheirOwnCheckpoints() throws Exception {
+        JSONObject product = new JSONObject().put("sync_token", "tp");
+        JSONObject category = new JSONObject().put("sync_token", "tc");
+        checkpoint.save(product, page("pp2", null));
+        checkpoint.save(category, page("pc2", null));
+        CacheWriter.getInstance().awaitIdle();
+
+        assertEquals("pp2", checkpoint.resume(product).getString("pagination_token"));
+        assertEquals("pc2", checkpoint.resume(category).getString("pagination_token"));
+
+        checkpoint.save(product, page(null, "tp2"));
+        CacheWriter.getInstance().awaitIdle();
+        assertEquals("a completed sync leaves no checkpoint", 1, folder.listFiles().length);
+        assertEquals("pc2", checkpoint.resume(category).getString("pagination_token"));
+    }
+
+    @Test
+    public void testRefusedTokenDropsCheckpoint() throws Exception {
+        checkpoint.save(init("product"), page("p2", null));
+
+        checkpoint.failed(init("product"), error(0));
+        checkpoint.failed(init("product"), error(503));
+        checkpoint.failed(init("product"), error(429));
+        CacheWriter.getInstance().awaitIdle();
+        assertTrue(checkpoint.resume(init("product")).has("pagination_token"));
+
+        checkpoint.failed(init("product"), error(422));
+        CacheWriter.getInstance().awaitIdle();
+        assertTrue(checkpoint.resume(init("product")).has("init"));
+    }
+
+    @Test
+    public void testStackSyncResumesFromCheckpoint() throws Exception {
+        final List<JSONObject> requests = new ArrayList<>();
+        final List<SyncResultCallBack> pending = new ArrayList<>();
+        Stack stack = new Stack("key") {
+            @Override
+            void requestSyncPage(JSONObject params, SyncResultCallBack callback) {
+                requests.add(params);
+                pending.add(callback);
+            }
+        };
+        stack.syncCheckpoint = checkpoint;
+        SyncResultCallBack callback = new SyncResultCallBack() {
+            @Override
+            public void onCompletion(SyncStack syncStack, Error error) {
+            }
+        };
+
+        stack.syncContentType("product", callback);
+        pending.get(0).onCompletion(page("p2", null), null);
+        assertEquals("p2", requests.get(1).getString("pagination_token"));
+        // the process dies before page 2 arrives
+
+        stack.syncContentType("product", callback);
+        assertEquals(3, requests.size());
+        assertEquals("p2", requests.get(2).getString("pagination_token"));
+        pending.get(2).onCompletion(page(null, "t1"), null);
+
+        stack.syncContentType("product", callback);
+        assertTrue(requests.get(3).getBoolean("init"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+public class TestSyncItem {
+
+    private static SyncItem item(String type, String contentTypeUid, JSONObject data) throws Exception {
+        JSONObject item = new JSONObject().put("type", type).put("event_at", "2024-03-01T10:00:00.000Z").put("data", data);
+        if (contentTypeUid != null) {
+            item.put("content_type_uid", contentTypeUid);
+        }
+        return new SyncItem(item);
+    }
+
+    @Test
+    public void testEntryFields() throws Exception {
+        JSONObject data = new JSONObject().put("uid", "blt1").put("title", "Shoe")
+                .put("publish_details", new JSONObject().put("locale", "fr-fr").put("time", "2024-03-02T08:30:00.000Z"));
+        SyncItem item = item("entry_published", "product", data);
+
+        assertEquals(Stack.PublishType.ENTRY_PUBLISHED, item.getType());
+        assertTrue(item.isEntry());
+        assertTrue(item.isPublished());
+        assertFalse(item.isRemoved());
+        assertEquals("blt1", item.getUid());
+        assertEquals("product", item.getContentTypeUid());
+        assertEquals("fr-fr", item.getLocale());
+        Calendar publishTime = item.getPublishTime();
+        assertNotNull(publishTime);
+        assertEquals(2, publishTime.get(Calendar.DAY_OF_MONTH));
+        assertSame(publishTime, item.getPublishTime());
+        assertSame(data, item.getData());
+    }
+
+    @Test
+    public void testAssetAndFallbacks() throws Exception {
+        SyncItem asset = item("asset_deleted", null, new JSONObject().put("uid", "blt2").put("locale", "en-us"));
+        assertTrue(asset.isAsset());
+        assertTrue(asset.isRemoved());
+        assertNull(asset.getContentTypeUid());
+        assertEquals("en-us", asset.getLocale());
+        assertEquals("the event time without a publish time", 1, asset.getPublishTime().get(Calendar.DAY_OF_MONTH));
+        assertNull(asset.toEntry(new Stack("key")));
+
+        SyncItem entry = item("entry_deleted", null, new JSONObject().put("uid", "blt3").put("_content_type_uid", "product"));
+        assertEquals("product", entry.getContentTypeUid());
+        assertNull(entry.getLocale());
+    }
+
+    @Test
+    public void testUnknownType() throws Exception {
+        SyncItem item = item("entry_archived", "product", new JSONObject().put("uid", "blt1"));
+        assertNull(item.getType());
+        assertFalse(item.isEntry());
+        assertFalse(item.isRemoved());
+
+        assertEquals(Stack.PublishType.ENTRY_PUBLISHED, item("ENTRY_PUBLISHED", "product", new JSONObject()).getType());
+        assertNull(new SyncItem(null).getType());
+        assertNull(new SyncItem(null).getUid());
+    }
+}
@@ -0,0 +1,236 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TestSyncPipeline {
+
+    private final List<JSONObject> requests = Collections.synchronizedList(new ArrayList<JSONObject>());
+    private final List<SyncResultCallBack> pending = Collections.synchronizedList(new ArrayList<SyncResultCallBack>());
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<String>());
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final Semaphore applied = new Semaphore(Integer.MAX_VALUE);
+    private volatile String syncToken;
+    private volatile Error error;
+    private Stack stack;
+
+    private final SyncPipelineCallback callback = new SyncPipelineCallback() {
+        @Override
+        public void onPage(SyncStack syncStack) {
+            applied.acquireUninterruptibly();
+            String page = syncStack.getJSONResponse().optString("page");
+            if (page.equals("fail")) {
+                throw new IllegalStateException("cannot apply");
+            }
+            delivered.add(page);
+        }
+
+        @Override
+        public void onCompletion(String syncToken, Error error) {
+            TestSyncPipeline.this.syncToken = syncToken;
+            TestSyncPipeline.this.error = error;
+            completed.countDown();
+        }
+    };
+
+    @Before
+    public void setUp() {
+        stack = new Stack("api_key") {
+            @Override
+            void requestSyncPage(JSONObject params, SyncResultCallBack callback) {
+                requests.add(params);
+                pending.add(callback);
+            }
+        };
+    }
+
+    private static SyncStack page(String name, String paginationToken, String syncToken) throws Exception {
+        JSONObject response = new JSONObject().put("page", name).put("items", new JSONArray());
+        if (paginationToken != null) {
+            response.put("pagination_token", paginationToken);
+        }
+        if (syncToken != null) {
+            response.put("sync_token", syncToken);
+        }
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(response);
+        return syncStack;
+    }
+
+    private void respond(int request, SyncStack syncStack) {
+        pending.get(request).onCompletion(syncStack, null);
+    }
+
+    private static void waitFor(String what, Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.holds()) {
+            assertTrue("timed out waiting for " + what, System.currentTimeMillis() < deadline);
+            Thread.sleep(2);
+        }
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    @Test
+    public void testPagesArePrefetchedUpToTheWindow() throws Exception {
+        applied.drainPermits();
+        SyncPipeline pipeline = new SyncPipeline(stack, 2, callback);
+        pipeline.start(new JSONObject().put("init", true));
+        assertEquals(1, requests.size());
+
+        respond(0, page("1", "p2", null));
+        assertEquals("the next page is requested before the first is applied", 2, requests.size());
+        assertEquals("p2", requests.get(1).getString("pagination_token"));
+        waitFor("page 1 to be taken by the consumer", () -> pipeline.getBufferedPages() == 0);
+
+        respond(1, page("2", "p3", null));
+        waitFor("page 2 to be buffered", () -> pipeline.getBufferedPages() == 1);
+        assertEquals(3, requests.size());
+
+        respond(2, page("3", "p4", null));
+        assertEquals("the window is full", 3, requests.size());
+
+        applied.release(Integer.MAX_VALUE / 2);
+        waitFor("the consumer to catch up", () -> requests.size() == 4);
+        respond(3, page("4", null, "token"));
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("token", syncToken);
+        assertNull(error);
+        assertEquals("[1, 2, 3, 4]", delivered.toString());
+        assertTrue(pipeline.isDone());
+    }
+
+    @Test
+    public void testErrorEndsSyncAfterDeliveredPages() throws Exception {
+        SyncPipeline pipeline = new SyncPipeline(stack, 2, callback);
+        pipeline.start(new JSONObject().put("init", true));
+        respond(0, page("1", "p2", null));
+        Error failure = new Error();
+        failure.setErrorMessage("timeout");
+        pending.get(1).onCompletion(null, failure);
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("[1]", delivered.toString());
+        assertNull(syncToken);
+        assertEquals("timeout", error.getErrorMessage());
+    }
+
+    @Test
+    public void testConsumerFailureStopsSync() throws Exception {
+        SyncPipeline pipeline = new SyncPipeline(stack, 1, callback);
+        pipeline.start(new JSONObject().put("init", true));
+        respond(0, page("fail", "p2", null));
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("cannot apply", error.getErrorMessage());
+        assertTrue(delivered.isEmpty());
+        assertEquals("the failed page was still in the window", 1, requests.size());
+    }
+
+    @Test
+    public void testConsumerFailureWithPageInFlight() throws Exception {
+        SyncPipeline pipeline = new SyncPipeline(stack, 2, callback);
+        pipeline.start(new JSONObject().put("init", true));
+        applied.drainPermits();
+        respond(0, page("fail", "p2", null));
+        assertEquals("page 2 is in flight", 2, requests.size());
+        applied.release(Integer.MAX_VALUE / 2);
+        waitFor("the consumer to take the page", () -> applied.availablePermits() < Integer.MAX_VALUE / 2);
+        assertFalse("the sync waits for the page in flight", completed.await(50, TimeUnit.MILLISECONDS));
+
+        respond(1, page("2", null, "token"));
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("cannot apply", error.getErrorMessage());
+        assertNull(syncToken);
+        assertTrue(delivered.isEmpty());
+        assertEquals(2, requests.size());
+        assertTrue(pipeline.isDone());
+    }
+
+    @Test
+    public void testPauseAndResume() throws Exception {
+        SyncPipeline pipeline = new SyncPipeline(stack, 2, callback);
+        pipeline.start(new JSONObject().put("sync_token", "token1"));
+        pipeline.pause();
+        respond(0, page("1", "p2", null));
+
+        assertEquals(1, requests.size());
+        assertEquals(1, pipeline.getBufferedPages());
+
+        pipeline.resume();
+        waitFor("the next request", () -> requests.size() == 2);
+        respond(1, page("2", null, "token2"));
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("[1, 2]", delivered.toString());
+        assertEquals("token2", syncToken);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        SyncPipeline pipeline = new SyncPipeline(stack, 2, callback);
+        pipeline.start(new JSONObject().put("init", true));
+        pipeline.cancel();
+        respond(0, page("1", "p2", null));
+
+        assertFalse(completed.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(delivered.isEmpty());
+        assertEquals(1, requests.size());
+        assertTrue(pipeline.isDone());
+    }
+
+    @Test
+    public void testCompactionJoinsBufferedPages() throws Exception {
+        stack.setSyncCompaction(true);
+        final List<Integer> sizes = Collections.synchronizedList(new ArrayList<Integer>());
+        applied.drainPermits();
+        SyncPipeline pipeline = new SyncPipeline(stack, 3, new SyncPipelineCallback() {
+            @Override
+            public void onPage(SyncStack syncStack) {
+                applied.acquireUninterruptibly();
+                sizes.add(syncStack.getSyncItems().size());
+            }
+
+            @Override
+            public void onCompletion(String syncToken, Error error) {
+                callback.onCompletion(syncToken, error);
+            }
+        });
+        pipeline.start(new JSONObject().put("init", true));
+        respond(0, churn("p2", null));
+        waitFor("page 1 to be taken by the consumer", () -> pipeline.getBufferedPages() == 0);
+        respond(1, churn("p3", null));
+        respond(2, churn(null, "token"));
+        waitFor("pages 2 and 3 to be buffered", () -> pipeline.getBufferedPages() == 2);
+
+        applied.release(Integer.MAX_VALUE / 2);
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals("token", syncToken);
+        assertEquals("pages 2 and 3 come as one page with one event per entry", "[2, 2]", sizes.toString());
+    }
+
+    private static SyncStack churn(String paginationToken, String syncToken) throws Exception {
+        SyncStack syncStack = page("churn", paginationToken, syncToken);
+        JSONArray items = syncStack.getJSONResponse().getJSONArray("items");
+        for (String uid : new String[]{"a", "b", "a", "b"}) {
+            items.put(new JSONObject().put("type", "entry_published").put("content_type_uid", "product")
+                    .put("data", new JSONObject().put("uid", uid).put("locale", "en-us")));
+        }
+        syncStack.setJSON(syncStack.getJSONResponse());
+        return syncStack;
+    }
+}
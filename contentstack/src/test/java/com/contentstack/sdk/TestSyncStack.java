@@ -5,6 +5,8 @@ import org.json.JSONObject;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -111,4 +113,148 @@ public class TestSyncStack {
         assertNull(syncStack.getSyncToken());
         assertNull(syncStack.getItems());
     }
+
+    private static JSONObject syncItem(String type, String contentTypeUid, String uid) throws Exception {
+        JSONObject item = new JSONObject().put("type", type).put("data", new JSONObject().put("uid", uid));
+        if (contentTypeUid != null) {
+            item.put("content_type_uid", contentTypeUid);
+        }
+        return item;
+    }
+
+    @Test
+    public void testSyncItemsAreReadOnDemand() throws Exception {
+        JSONArray items = new JSONArray()
+                .put(syncItem("entry_published", "product", "1"))
+                .put(syncItem("asset_published", null, "2"));
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject().put("items", items));
+
+        List<SyncItem> syncItems = syncStack.getSyncItems();
+        assertEquals(2, syncItems.size());
+        assertSame(syncItems.get(1), syncItems.get(1));
+        assertEquals("2", syncItems.get(1).getUid());
+        assertSame(items.getJSONObject(0), syncItems.get(0).toJSON());
+        assertEquals(Stack.PublishType.ENTRY_PUBLISHED, syncItems.get(0).getType());
+
+        assertTrue(new SyncStack().getSyncItems().isEmpty());
+    }
+
+    @Test
+    public void testApplyBatchesRunsInOrder() throws Exception {
+        JSONArray items = new JSONArray()
+                .put(syncItem("entry_published", "product", "1"))
+                .put(syncItem("entry_published", "product", "2"))
+                .put(syncItem("entry_published", "category", "3"))
+                .put(syncItem("entry_deleted", "category", "4"))
+                .put(syncItem("entry_unpublished", "category", "5"))
+                .put(syncItem("entry_archived", "category", "6"))
+                .put(syncItem("content_type_deleted", "brand", "brand"))
+                .put(syncItem("asset_published", null, "7"))
+                .put(syncItem("asset_published", null, "8"))
+                .put(syncItem("entry_published", "product", "1"));
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject().put("items", items));
+
+        final List<String> batches = new ArrayList<>();
+        syncStack.apply(new SyncItemHandler() {
+            @Override
+            public void onPublished(String contentTypeUid, List<SyncItem> items) {
+                batches.add("published " + contentTypeUid + uids(items));
+            }
+
+            @Override
+            public void onRemoved(String contentTypeUid, List<SyncItem> items) {
+                batches.add("removed " + contentTypeUid + uids(items));
+            }
+
+            @Override
+            public void onContentTypeDeleted(String contentTypeUid) {
+                batches.add("deleted " + contentTypeUid);
+            }
+        });
+
+        assertEquals("[published product[1, 2], published category[3], removed category[4, 5], deleted brand, "
+                + "published null[7, 8], published product[1]]", batches.toString());
+    }
+
+    private static List<String> uids(List<SyncItem> items) {
+        List<String> uids = new ArrayList<>();
+        for (SyncItem item : items) {
+            uids.add(item.getUid());
+        }
+        return uids;
+    }
+
+    private static JSONObject localized(String type, String contentTypeUid, String uid, String locale) throws Exception {
+        JSONObject item = syncItem(type, contentTypeUid, uid);
+        if (locale != null) {
+            item.getJSONObject("data").put("locale", locale);
+        }
+        return item;
+    }
+
+    private static String events(SyncStack syncStack) {
+        List<String> events = new ArrayList<>();
+        for (SyncItem item : syncStack.getSyncItems()) {
+            events.add(item.toJSON().optString("type") + " " + item.getUid() + (item.getLocale() != null ? "/" + item.getLocale() : ""));
+        }
+        return events.toString();
+    }
+
+    @Test
+    public void testCompactKeepsLastEventPerEntryAndLocale() throws Exception {
+        JSONArray items = new JSONArray()
+                .put(localized("entry_published", "product", "1", "en-us"))
+                .put(localized("entry_published", "product", "1", "fr-fr"))
+                .put(localized("entry_unpublished", "product", "1", "en-us"))
+                .put(localized("asset_published", null, "1", "en-us"))
+                .put(localized("entry_published", "product", "2", "en-us"))
+                .put(localized("entry_published", "product", "1", "en-us"))
+                .put(localized("entry_deleted", "product", "2", "en-us"))
+                .put(localized("entry_archived", "product", "3", "en-us"));
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject().put("items", items).put("sync_token", "t1").put("total_count", 8));
+
+        SyncStack compacted = syncStack.compact();
+        assertEquals("[entry_published 1/fr-fr, asset_published 1/en-us, entry_published 1/en-us, "
+                + "entry_deleted 2/en-us, entry_archived 3/en-us]", events(compacted));
+        assertEquals("t1", compacted.getSyncToken());
+        assertEquals(8, compacted.getCount());
+        assertEquals("the page itself is left as it was", 8, syncStack.getSyncItems().size());
+        assertSame(compacted, compacted.compact());
+    }
+
+    @Test
+    public void testCompactDeletesWithoutLocaleAndContentTypes() throws Exception {
+        JSONArray items = new JSONArray()
+                .put(localized("entry_published", "product", "1", "en-us"))
+                .put(localized("entry_published", "product", "1", "fr-fr"))
+                .put(localized("entry_deleted", "product", "1", null))
+                .put(localized("entry_published", "product", "1", "fr-fr"))
+                .put(localized("entry_published", "category", "4", "en-us"))
+                .put(localized("content_type_deleted", null, "category", null))
+                .put(localized("entry_published", "category", "5", "en-us"));
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject().put("items", items));
+
+        assertEquals("[entry_deleted 1, entry_published 1/fr-fr, content_type_deleted category, entry_published 5/en-us]",
+                events(syncStack.compact()));
+    }
+
+    @Test
+    public void testMergeKeepsTokensOfLastPage() throws Exception {
+        SyncStack first = new SyncStack();
+        first.setJSON(new JSONObject().put("items", new JSONArray().put(localized("entry_published", "product", "1", "en-us")))
+                .put("pagination_token", "p2"));
+        SyncStack second = new SyncStack();
+        second.setJSON(new JSONObject().put("items", new JSONArray().put(localized("entry_deleted", "product", "1", "en-us")))
+                .put("sync_token", "t1"));
+
+        SyncStack merged = SyncStack.merge(Arrays.asList(first, second));
+        assertEquals(2, merged.getSyncItems().size());
+        assertNull(merged.getPaginationToken());
+        assertEquals("t1", merged.getSyncToken());
+        assertEquals("[entry_deleted 1/en-us]", events(merged.compact()));
+    }
 }
@@ -0,0 +1,78 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class TestUrlBuilder {
+
+    @Test
+    public void testEncodingMatchesURLEncoder() throws Exception {
+        String[] values = {
+                "plain", "with space", "a&b=c?d", "{\"title\":{\"$regex\":\"^Hello\"}}", "*._-~+%/",
+                "héllo wörld", "日本語", "emoji 😀", "unpaired \uD800 surrogate", ""
+        };
+        for (String value : values) {
+            assertEquals(value, URLEncoder.encode(value, "UTF-8"), UrlBuilder.encode(value));
+        }
+    }
+
+    @Test
+    public void testFirstParamStartsQuery() {
+        String url = new UrlBuilder("https://cdn.contentstack.io/v3/content_types")
+                .append("include_count", true)
+                .append("limit", 10)
+                .append("environment", "production")
+                .build();
+        assertEquals("https://cdn.contentstack.io/v3/content_types?include_count=true&limit=10&environment=production", url);
+    }
+
+    @Test
+    public void testExistingQueryIsContinued() {
+        assertEquals("https://images.contentstack.io/a.jpg?v=1&width=100",
+                new UrlBuilder("https://images.contentstack.io/a.jpg?v=1").append("width", 100).build());
+        assertEquals("https://images.contentstack.io/a.jpg?width=100",
+                new UrlBuilder("https://images.contentstack.io/a.jpg?").append("width", 100).build());
+    }
+
+    @Test
+    public void testEmptyBuilder() {
+        UrlBuilder builder = new UrlBuilder("");
+        assertTrue(builder.isEmpty());
+        assertEquals("", builder.build());
+        assertFalse(builder.append("a", "b").isEmpty());
+    }
+
+    @Test
+    public void testQueryParamsAreExpandedAndEncoded() throws Exception {
+        CSHttpConnection connection = new CSHttpConnection("https://cdn.contentstack.io/v3/content_types/blog/entries", null);
+        connection.setInfo(SDKConstant.callController.QUERY.name());
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("include[]", new JSONArray().put("author").put("related.blog"));
+        params.put("only", new JSONObject().put("BASE", new JSONArray().put("title")));
+        params.put("query", new JSONObject().put("title", "Hello world"));
+
+        String query = connection.setFormParamsGET(params);
+
+        assertTrue(query.startsWith("?"));
+        assertTrue(query.contains("include%5B%5D=author"));
+        assertTrue(query.contains("include%5B%5D=related.blog"));
+        assertTrue(query.contains("only%5BBASE%5D%5B%5D=title"));
+        assertTrue(query.contains("query=" + URLEncoder.encode("{\"title\":\"Hello world\"}", "UTF-8")));
+    }
+
+    @Test
+    public void testOtherControllerValuesAreEncoded() {
+        CSHttpConnection connection = new CSHttpConnection("https://cdn.contentstack.io/v3/stacks/sync", null);
+        connection.setInfo(SDKConstant.callController.SYNC.name());
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("start_from", "2026-01-01T00:00:00.000Z");
+
+        assertEquals("?start_from=2026-01-01T00%3A00%3A00.000Z", connection.setFormParamsGET(params));
+    }
+}
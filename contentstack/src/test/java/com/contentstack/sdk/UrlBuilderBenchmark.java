@@ -0,0 +1,104 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URLEncoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query string building for a 50 parameter query, comparing the former string concatenation with
+ * {@link UrlBuilder}. Run {@link #main(String[])}; the <code>gc.alloc.rate.norm</code> column of the
+ * GC profiler gives the bytes allocated per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBuilderBenchmark {
+
+    private HashMap<String, Object> params;
+    private CSHttpConnection connection;
+
+    @Setup
+    public void setUp() throws Exception {
+        params = new HashMap<>();
+        for (int i = 0; i < 45; i++) {
+            params.put("param_" + i, "value " + i + " & more");
+        }
+        params.put("include[]", new JSONArray().put("author").put("related.blog").put("categories"));
+        params.put("only", new JSONObject().put("BASE", new JSONArray().put("title").put("url")));
+        params.put("query", new JSONObject().put("title", "Hello world").put("tags", new JSONObject().put("$in", new JSONArray().put("news").put("sports"))));
+        params.put("environment", "production");
+        params.put("locale", "en-us");
+        connection = new CSHttpConnection("https://cdn.contentstack.io/v3/content_types/blog/entries", null);
+        connection.setInfo(SDKConstant.callController.QUERY.name());
+    }
+
+    @Benchmark
+    public String concatenation() throws Exception {
+        return concatenate(params);
+    }
+
+    @Benchmark
+    public String urlBuilder() {
+        return connection.setFormParamsGET(params);
+    }
+
+    /**
+     * The query string building {@link UrlBuilder} replaced, kept as the baseline.
+     */
+    private static String concatenate(HashMap<String, Object> params) throws Exception {
+        String urlParams = "?";
+        for (Map.Entry<String, Object> e : params.entrySet()) {
+            String key = e.getKey();
+            Object value = e.getValue();
+            if (key.equalsIgnoreCase("include[]")) {
+                key = URLEncoder.encode(key, "UTF-8");
+                JSONArray array = (JSONArray) value;
+                for (int i = 0; i < array.length(); i++) {
+                    urlParams += urlParams.equals("?") ? key + "=" + array.opt(i) : "&" + key + "=" + array.opt(i);
+                }
+            } else if (key.equalsIgnoreCase("only")) {
+                JSONObject onlyJSON = (JSONObject) value;
+                for (String innerKey : onlyJSON.keySet()) {
+                    JSONArray array = onlyJSON.optJSONArray(innerKey);
+                    String encodedKey = URLEncoder.encode("only[" + innerKey + "][]", "UTF-8");
+                    for (int i = 0; i < array.length(); i++) {
+                        urlParams += urlParams.equals("?") ? encodedKey + "=" + array.opt(i) : "&" + encodedKey + "=" + array.opt(i);
+                    }
+                }
+            } else if (key.equalsIgnoreCase("query")) {
+                urlParams += urlParams.equals("?") ? key + "=" + URLEncoder.encode(value.toString(), "UTF-8") : "&" + key + "=" + URLEncoder.encode(value.toString(), "UTF-8");
+            } else {
+                urlParams += urlParams.equals("?") ? key + "=" + value : "&" + key + "=" + value;
+            }
+        }
+        return urlParams;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UrlBuilderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}